@@ -0,0 +1,84 @@
+package yapchit;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares two JMH result files written in CSV format, such as those of two releases.
+ * Prints every benchmark and secondary result, including the allocation rates of the GC profiler,
+ * with its change in score.
+ */
+public class BenchmarkDiff {
+
+    /**
+     * Prints the comparison.
+     *
+     * @param args path of the baseline results, then path of the current results.
+     * @throws IOException if a file cannot be read.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.out.println("Usage: BenchmarkDiff <baseline.csv> <current.csv>");
+            return;
+        }
+
+        Map<String, String[]> baseline = read(Path.of(args[0]));
+        Map<String, String[]> current = read(Path.of(args[1]));
+        System.out.printf("%-80s %14s %14s %9s  %s%n", "Benchmark", "Baseline", "Current", "Change", "Unit");
+        for (Map.Entry<String, String[]> entry : current.entrySet()) {
+            String[] now = entry.getValue();
+            String[] before = baseline.get(entry.getKey());
+            double score = Double.parseDouble(now[4]);
+            if (before == null) {
+                System.out.printf("%-80s %14s %14.3f %9s  %s%n", entry.getKey(), "-", score, "new", now[6]);
+                continue;
+            }
+
+            double old = Double.parseDouble(before[4]);
+            String change = old == 0 ? "-" : String.format("%+.1f%%", (score - old) / old * 100);
+            System.out.printf("%-80s %14.3f %14.3f %9s  %s%n", entry.getKey(), old, score, change, now[6]);
+        }
+    }
+
+    /**
+     * Reads the results, keyed by benchmark name, mode and parameters.
+     */
+    private static Map<String, String[]> read(Path file) throws IOException {
+        List<String> lines = Files.readAllLines(file);
+        Map<String, String[]> results = new LinkedHashMap<>();
+        String[] header = splitCsv(lines.get(0));
+        for (String line : lines.subList(1, lines.size())) {
+            String[] fields = splitCsv(line);
+            StringBuilder key = new StringBuilder(fields[0]).append(" ").append(fields[1]);
+            for (int i = 7; i < fields.length && i < header.length; i++) {
+                key.append(" ").append(header[i].replace("Param: ", "")).append("=").append(fields[i]);
+            }
+            results.put(key.toString(), fields);
+        }
+        return results;
+    }
+
+    private static String[] splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean isQuoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                isQuoted = !isQuoted;
+            } else if (c == ',' && !isQuoted) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields.toArray(new String[0]);
+    }
+}
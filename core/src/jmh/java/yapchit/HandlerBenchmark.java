@@ -0,0 +1,69 @@
+package yapchit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import yapchit.yapchitbackend.Handler;
+import yapchit.yapchitbackend.Parser;
+import yapchit.yapchitbackend.TaskList;
+import yapchit.yapchitbackend.Ui;
+import yapchit.yapchitbackend.YapchitBackend;
+import yapchit.yapchitbackend.tasks.Task;
+import yapchit.yapchitbackend.tasks.ToDo;
+import yapchit.yapchitexceptions.YapchitException;
+
+/**
+ * Benchmarks each branch of {@link Handler#handleOperation} on a list of 1,000 tasks.
+ * Commands that add or delete a task are undone after each call, so every call sees the same list.
+ */
+@State(Scope.Thread)
+public class HandlerBenchmark {
+
+    private static final int LIST_SIZE = 1_000;
+
+    @Param({"list", "mark 500", "unmark 500", "deadline return book /by 2024-02-15",
+        "event camp /from mon /to fri", "todo read book", "delete 1", "find 42", "update 500 read book 500"})
+    public String command;
+
+    private final Handler handler = new Handler();
+    private final Parser parser = new Parser();
+    private final Ui ui = new Ui();
+    private TaskList tasks;
+    private YapchitBackend.Operations op;
+    private Task first;
+
+    /**
+     * Fills the list and parses the command once, so only its handling is measured.
+     *
+     * @throws YapchitException if the command is invalid.
+     */
+    @Setup
+    public void setUp() throws YapchitException {
+        tasks = new TaskList();
+        for (int i = 0; i < LIST_SIZE; i++) {
+            tasks.addTask(new ToDo("read book " + i));
+        }
+        first = tasks.getItem(0);
+        op = parser.parseInputOperation(command);
+    }
+
+    @Benchmark
+    public String handleOperation() throws YapchitException {
+        String response = handler.handleOperation(command, op, tasks, ui, parser, true);
+        switch (op) {
+        case TODO:
+        case DEADLINE:
+        case EVENT:
+            tasks.delete(tasks.getListSize() - 1);
+            break;
+        case DELETE:
+            tasks.addTask(0, first);
+            break;
+        default:
+            break;
+        }
+        return response;
+    }
+}
@@ -0,0 +1,33 @@
+package yapchit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import yapchit.yapchitbackend.Parser;
+import yapchit.yapchitbackend.YapchitBackend;
+import yapchit.yapchitexceptions.YapchitException;
+
+import java.time.LocalDate;
+
+/**
+ * Benchmarks parsing of commands and dates, which happens for every command and every stored deadline.
+ */
+@State(Scope.Thread)
+public class ParserBenchmark {
+
+    @Param({"list", "todo read book", "deadline return book /by 2024-02-15", "event camp /from mon /to fri"})
+    public String input;
+
+    private final Parser parser = new Parser();
+
+    @Benchmark
+    public YapchitBackend.Operations parseInputOperation() throws YapchitException {
+        return parser.parseInputOperation(input);
+    }
+
+    @Benchmark
+    public LocalDate parseTimestamp() throws YapchitException {
+        return parser.parseTimestamp("2024-02-15");
+    }
+}
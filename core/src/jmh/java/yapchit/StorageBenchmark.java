@@ -0,0 +1,60 @@
+package yapchit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import yapchit.yapchitbackend.Handler;
+import yapchit.yapchitbackend.Parser;
+import yapchit.yapchitbackend.Storage;
+import yapchit.yapchitbackend.TaskList;
+import yapchit.yapchitbackend.Ui;
+import yapchit.yapchitbackend.tasks.ToDo;
+import yapchit.yapchitexceptions.YapchitException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+
+/**
+ * Benchmarks loading and saving the data file, including taking the store lock.
+ */
+@State(Scope.Thread)
+public class StorageBenchmark {
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    private final Storage storage = new Storage();
+    private final Ui ui = new Ui();
+    private final Handler handler = new Handler();
+    private final Parser parser = new Parser();
+    private String filePath;
+    private TaskList tasks;
+
+    /**
+     * Writes a data file of the benchmarked size to a temporary directory.
+     *
+     * @throws IOException if the directory cannot be created.
+     * @throws YapchitException if the file cannot be written.
+     */
+    @Setup
+    public void setUp() throws IOException, YapchitException {
+        filePath = Files.createTempDirectory("yapchit-jmh").resolve("dataStore.txt").toString();
+        tasks = new TaskList();
+        for (int i = 0; i < size; i++) {
+            tasks.addTask(new ToDo("read book " + i));
+        }
+        storage.updateFile(filePath, tasks, null);
+    }
+
+    @Benchmark
+    public TaskList importFromFile() throws YapchitException {
+        return storage.importFromFile(filePath, ui, handler, parser);
+    }
+
+    @Benchmark
+    public void updateFile() throws YapchitException {
+        storage.updateFile(filePath, tasks, null);
+    }
+}
@@ -0,0 +1,37 @@
+package yapchit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import yapchit.yapchitbackend.TaskList;
+import yapchit.yapchitbackend.tasks.ToDo;
+
+/**
+ * Benchmarks searching the task list, where one task in a hundred matches.
+ */
+@State(Scope.Benchmark)
+public class TaskListBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private TaskList tasks;
+
+    /**
+     * Fills the list.
+     */
+    @Setup
+    public void setUp() {
+        tasks = new TaskList();
+        for (int i = 0; i < size; i++) {
+            tasks.addTask(new ToDo(i % 100 == 0 ? "return library book " + i : "write essay " + i));
+        }
+    }
+
+    @Benchmark
+    public TaskList findSublist() {
+        return tasks.findSublist("book");
+    }
+}
@@ -0,0 +1,52 @@
+package yapchit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import yapchit.yapchitbackend.TaskList;
+import yapchit.yapchitbackend.Ui;
+import yapchit.yapchitbackend.tasks.Deadline;
+import yapchit.yapchitbackend.tasks.ToDo;
+
+import java.time.LocalDate;
+
+/**
+ * Benchmarks rendering the task list as text, in full and one page at a time.
+ */
+@State(Scope.Benchmark)
+public class UiBenchmark {
+
+    @Param({"100", "10000"})
+    public int size;
+
+    private final Ui ui = new Ui();
+    private TaskList tasks;
+
+    /**
+     * Fills the list with a mix of short and wrapped tasks.
+     */
+    @Setup
+    public void setUp() {
+        tasks = new TaskList();
+        for (int i = 0; i < size; i++) {
+            if (i % 2 == 0) {
+                tasks.addTask(new ToDo("read book " + i));
+            } else {
+                tasks.addTask(new Deadline("submit the final report for the module " + i,
+                        LocalDate.parse("2024-02-15")));
+            }
+        }
+    }
+
+    @Benchmark
+    public String printList() {
+        return ui.printList(tasks, "Here are the tasks in your list:");
+    }
+
+    @Benchmark
+    public String printListPage() {
+        return ui.printListPage(tasks, "Here are the tasks in your list:", 1, Ui.DEFAULT_PAGE_SIZE);
+    }
+}
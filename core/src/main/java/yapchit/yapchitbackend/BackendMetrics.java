@@ -0,0 +1,220 @@
+package yapchit.yapchitbackend;
+
+import yapchit.yapchitexceptions.YapchitException;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Counts and times the commands run by a backend, and exposes the results as an MBean.
+ *
+ * Recording only updates atomic counters and {@link ConcurrentHistogram}s, so it takes no locks, and
+ * allocates nothing once a command's phase has been recorded before. Each histogram is created the first
+ * time its command and phase are recorded, so a backend that only ever runs a few kinds of commands, such
+ * as one of many tenants, only pays for those. Percentiles are only worked out when the MBean is read.
+ */
+public class BackendMetrics implements BackendMetricsMXBean {
+
+    /**
+     * Phases of running a command that are timed separately.
+     */
+    public enum Phase {
+        /** Working out which command was entered. */
+        PARSE,
+        /** Changing or searching the task list. */
+        HANDLE,
+        /** Writing lists of tasks into the response. */
+        RENDER,
+        /** Saving the data file. */
+        PERSIST;
+    }
+
+    private static final YapchitBackend.Operations[] OPERATIONS = YapchitBackend.Operations.values();
+    /** Slot of commands whose kind could not be parsed. */
+    private static final int UNKNOWN = OPERATIONS.length;
+    private static final Phase[] PHASES = Phase.values();
+
+    private final AtomicLongArray calls = new AtomicLongArray(OPERATIONS.length + 1);
+    private final AtomicLongArray errors = new AtomicLongArray(OPERATIONS.length + 1);
+    private final AtomicReferenceArray<ConcurrentHistogram> latencies =
+            new AtomicReferenceArray<>((OPERATIONS.length + 1) * PHASES.length);
+    private final Map<String, AtomicLong> errorsByType = new ConcurrentHashMap<>();
+    private final ClassValue<AtomicLong> errorCounters = new ClassValue<>() {
+        @Override
+        protected AtomicLong computeValue(Class<?> type) {
+            return errorsByType.computeIfAbsent(type.getSimpleName(), name -> new AtomicLong());
+        }
+    };
+
+    private volatile int taskCount;
+    private volatile long dataFileSize;
+    private volatile long lastSaveNanos;
+    private ObjectName registeredName;
+
+    /**
+     * Creates empty metrics.
+     */
+    public BackendMetrics() {
+    }
+
+    /**
+     * Records the duration of one phase of a command.
+     *
+     * @param op kind of command, or null if it could not be parsed.
+     * @param phase phase that was timed.
+     * @param nanos duration in nanoseconds.
+     */
+    public void recordPhase(YapchitBackend.Operations op, Phase phase, long nanos) {
+        int i = slot(op) * PHASES.length + phase.ordinal();
+        ConcurrentHistogram h = latencies.get(i);
+        if (h == null) {
+            // Threads recording the first value at the same time all use the histogram set first.
+            latencies.compareAndSet(i, null, new ConcurrentHistogram());
+            h = latencies.get(i);
+        }
+        h.record(nanos);
+    }
+
+    /**
+     * Records that a command finished, successfully or not.
+     *
+     * @param op kind of command, or null if it could not be parsed.
+     * @param error the error the command failed with, or null if it succeeded.
+     * @param tasksAfter number of tasks in the list after the command.
+     */
+    public void recordCall(YapchitBackend.Operations op, YapchitException error, int tasksAfter) {
+        calls.incrementAndGet(slot(op));
+        if (error != null) {
+            errors.incrementAndGet(slot(op));
+            errorCounters.get(error.getClass()).incrementAndGet();
+        }
+        taskCount = tasksAfter;
+    }
+
+    /**
+     * Records that the data file was saved.
+     *
+     * @param op kind of command that saved it.
+     * @param nanos time taken in nanoseconds.
+     * @param fileSize size of the file in bytes.
+     */
+    public void recordSave(YapchitBackend.Operations op, long nanos, long fileSize) {
+        recordPhase(op, Phase.PERSIST, nanos);
+        lastSaveNanos = nanos;
+        dataFileSize = fileSize;
+    }
+
+    private static int slot(YapchitBackend.Operations op) {
+        return op == null ? UNKNOWN : op.ordinal();
+    }
+
+    private static String nameOf(int slot) {
+        return slot == UNKNOWN ? "unknown" : OPERATIONS[slot].name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Registers the metrics with the platform MBean server, as {@code yapchit:type=Backend,name=<name>}.
+     * An earlier backend registered under the same name is replaced.
+     *
+     * @param name name telling this backend apart from others in the same process.
+     */
+    public synchronized void register(String name) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = ObjectName.getInstance("yapchit:type=Backend,name=" + ObjectName.quote(name));
+            try {
+                server.registerMBean(this, objectName);
+            } catch (InstanceAlreadyExistsException e) {
+                server.unregisterMBean(objectName);
+                server.registerMBean(this, objectName);
+            }
+            registeredName = objectName;
+        } catch (JMException e) {
+            Ui.print("Metrics could not be registered. " + e.getMessage());
+        }
+    }
+
+    /**
+     * Removes the metrics from the platform MBean server, if they were registered.
+     */
+    public synchronized void unregister() {
+        if (registeredName == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(registeredName);
+        } catch (JMException e) {
+            // Already removed.
+        }
+        registeredName = null;
+    }
+
+    @Override
+    public Map<String, Long> getCalls() {
+        return toMap(calls);
+    }
+
+    @Override
+    public Map<String, Long> getErrors() {
+        return toMap(errors);
+    }
+
+    private static Map<String, Long> toMap(AtomicLongArray counts) {
+        Map<String, Long> map = new LinkedHashMap<>();
+        for (int i = 0; i < counts.length(); i++) {
+            map.put(nameOf(i), counts.get(i));
+        }
+        return map;
+    }
+
+    @Override
+    public Map<String, Long> getErrorsByType() {
+        Map<String, Long> map = new TreeMap<>();
+        errorsByType.forEach((type, count) -> map.put(type, count.get()));
+        return map;
+    }
+
+    @Override
+    public List<LatencySummary> getLatencies() {
+        List<LatencySummary> summaries = new ArrayList<>();
+        for (int i = 0; i < latencies.length(); i++) {
+            ConcurrentHistogram h = latencies.get(i);
+            if (h == null || h.getCount() == 0) {
+                continue;
+            }
+            summaries.add(new LatencySummary(nameOf(i / PHASES.length),
+                    PHASES[i % PHASES.length].name().toLowerCase(Locale.ROOT), h.getCount(), h.getMean() / 1000,
+                    h.getPercentile(0.5) / 1000.0, h.getPercentile(0.99) / 1000.0,
+                    h.getPercentile(0.999) / 1000.0, h.getMax() / 1000.0));
+        }
+        return summaries;
+    }
+
+    @Override
+    public int getTaskCount() {
+        return this.taskCount;
+    }
+
+    @Override
+    public long getDataFileSize() {
+        return this.dataFileSize;
+    }
+
+    @Override
+    public double getLastSaveMillis() {
+        return this.lastSaveNanos / 1e6;
+    }
+}
@@ -0,0 +1,59 @@
+package yapchit.yapchitbackend;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Management interface of {@link BackendMetrics}, readable with JConsole, VisualVM or any JMX client.
+ */
+public interface BackendMetricsMXBean {
+
+    /**
+     * Returns the number of commands run, by kind of command.
+     *
+     * @return Map from kind of command to count.
+     */
+    Map<String, Long> getCalls();
+
+    /**
+     * Returns the number of commands that failed, by kind of command.
+     *
+     * @return Map from kind of command to count.
+     */
+    Map<String, Long> getErrors();
+
+    /**
+     * Returns the number of commands that failed, by type of error.
+     *
+     * @return Map from simple name of the exception class to count.
+     */
+    Map<String, Long> getErrorsByType();
+
+    /**
+     * Returns latency percentiles of the parse, handle, render and persist phases of each kind of command.
+     *
+     * @return List of summaries, for the phases that were recorded.
+     */
+    List<LatencySummary> getLatencies();
+
+    /**
+     * Returns the number of tasks in the list after the last command.
+     *
+     * @return int number of tasks.
+     */
+    int getTaskCount();
+
+    /**
+     * Returns the size of the data file after it was last saved.
+     *
+     * @return long size in bytes.
+     */
+    long getDataFileSize();
+
+    /**
+     * Returns how long the data file took to save the last time.
+     *
+     * @return double duration in milliseconds.
+     */
+    double getLastSaveMillis();
+}
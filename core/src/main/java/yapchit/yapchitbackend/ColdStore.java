@@ -0,0 +1,309 @@
+package yapchit.yapchitbackend;
+
+import yapchit.yapchitbackend.tasks.Task;
+import yapchit.yapchitexceptions.ArchiveException;
+import yapchit.yapchitexceptions.FileListParseException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cold tier of the task list, holding archived tasks in a file of their own next to the data file.
+ *
+ * Archived tasks are only ever appended, in the same record format as the data file, so saving the task list
+ * never rewrites them. Archiving a task only stages its record; the record is appended when the task list is
+ * saved, under the lock of the data file, just before the data file is written. A save that finds the file
+ * changed by another process therefore writes neither file, and the command run again on top of the other
+ * process's changes archives each task once.
+ *
+ * Archived tasks are searched through an index of the three-character sequences in their names, which points
+ * at the records that may match; only those records are read back from the file.
+ * The index is built the first time the archive is searched, and records appended since, by this or another
+ * Yapchit process, are added to it before each search.
+ */
+public class ColdStore {
+
+    /** Extension added to the data file path for the archive file. */
+    public static final String ARCHIVE_SUFFIX = ".archive";
+
+    /** Length of the character sequences indexed. Shorter search terms are checked against every record. */
+    private static final int GRAM_LENGTH = 3;
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    private final String archivePath;
+    private final Ui ui = new Ui();
+    private final Handler handler = new Handler();
+    private final Parser parser = new Parser();
+
+    /** Records of archived tasks not yet written to the file. */
+    private final StringBuilder pending = new StringBuilder();
+
+    /** Start of each indexed record in the file, followed by the end of the last one. */
+    private long[] offsets = new long[] {0};
+    private int recordCount;
+    private final Map<Long, Postings> index = new HashMap<>();
+
+    /**
+     * Record numbers containing one character sequence, in increasing order.
+     */
+    private static final class Postings {
+        private int[] records = new int[2];
+        private int size;
+
+        void add(int record) {
+            if (size > 0 && records[size - 1] == record) {
+                return;
+            }
+            if (size == records.length) {
+                records = Arrays.copyOf(records, size * 2);
+            }
+            records[size++] = record;
+        }
+    }
+
+    /**
+     * Creates the cold tier of the task list stored at the given path.
+     *
+     * @param dataFilePath path of the data file; archived tasks are stored next to it.
+     */
+    public ColdStore(String dataFilePath) {
+        this.archivePath = dataFilePath + ARCHIVE_SUFFIX;
+    }
+
+    /**
+     * Returns the path of the archive file.
+     *
+     * @return String file path.
+     */
+    public String getArchivePath() {
+        return this.archivePath;
+    }
+
+    /**
+     * Moves the selected tasks from the list to the archive. The tasks are written to the end of the archive
+     * file by {@link #writePending()} when the list is saved, so until then they are only in memory.
+     *
+     * @param tasks list to archive tasks from.
+     * @param selection indices of the tasks to archive.
+     * @return TaskList containing the archived tasks, in list order.
+     */
+    public synchronized TaskList archive(TaskList tasks, BitSet selection) {
+        for (int i = selection.nextSetBit(0); i >= 0 && i < tasks.getListSize(); i = selection.nextSetBit(i + 1)) {
+            pending.append(Storage.getTaskWriteString(tasks.getItem(i)));
+        }
+        return tasks.deleteAll(selection);
+    }
+
+    /**
+     * Appends the records of the tasks archived since the last save to the archive file and flushes them to
+     * disk. Called by {@link Storage#updateFile} under the exclusive lock of the data file, before the data
+     * file is written, so a task is never lost between the two files. The records stay staged until they are
+     * discarded once the data file is written, or taken back out of the file if it cannot be.
+     *
+     * @return long length of the archive file before the records were appended, or -1 if there were none.
+     * @throws ArchiveException if the archive file cannot be written, in which case the records stay staged.
+     */
+    synchronized long writePending() throws ArchiveException {
+        if (pending.length() == 0) {
+            return -1;
+        }
+
+        try (FileChannel channel = FileChannel.open(Path.of(archivePath), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            long length = channel.size();
+            ByteBuffer bytes = StandardCharsets.UTF_8.encode(pending.toString());
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            channel.force(false);
+            return length;
+        } catch (IOException e) {
+            throw new ArchiveException("Could not write to the archive. " + e.getMessage());
+        }
+    }
+
+    /**
+     * Takes the records appended by {@link #writePending()} back out of the archive file, as the data file
+     * they were taken from could not be written.
+     *
+     * @param length length of the archive file before the records were appended.
+     * @throws ArchiveException if the archive file cannot be cut back.
+     */
+    synchronized void removeWritten(long length) throws ArchiveException {
+        try (FileChannel channel = FileChannel.open(Path.of(archivePath), StandardOpenOption.WRITE)) {
+            channel.truncate(length);
+            channel.force(false);
+        } catch (IOException e) {
+            throw new ArchiveException("Could not take archived tasks back out of the archive. " + e.getMessage());
+        }
+    }
+
+    /**
+     * Drops the records of the tasks archived since the last save, once they are written or as the task list
+     * they were taken from is loaded again from the data file.
+     */
+    public synchronized void discardPending() {
+        pending.setLength(0);
+    }
+
+    /**
+     * Finds the archived tasks with names containing the search term.
+     *
+     * @param term search term.
+     * @return List of matching archived tasks, in the order they were archived.
+     * @throws ArchiveException if the archive file cannot be read.
+     */
+    public synchronized List<Task> find(String term) throws ArchiveException {
+        List<Task> found = new ArrayList<>();
+        if (!Files.exists(Path.of(archivePath))) {
+            return found;
+        }
+
+        try (RandomAccessFile file = new RandomAccessFile(archivePath, "r")) {
+            indexNewRecords(file);
+
+            for (int record : getCandidates(term)) {
+                Task t = readRecord(file, record);
+                if (t.getName().contains(term)) {
+                    found.add(t);
+                }
+            }
+        } catch (IOException | FileListParseException e) {
+            throw new ArchiveException("Could not read the archive. " + e.getMessage());
+        }
+        return found;
+    }
+
+    /**
+     * Returns the number of archived tasks indexed so far.
+     *
+     * @return int number of indexed records.
+     */
+    public synchronized int getIndexedCount() {
+        return recordCount;
+    }
+
+    /**
+     * Adds the complete records written to the file since it was last indexed. The file only ever grows,
+     * so if it is shorter than what was indexed it was replaced, and is indexed again from the start.
+     */
+    private void indexNewRecords(RandomAccessFile file) throws IOException, FileListParseException {
+        long indexed = offsets[recordCount];
+        if (file.length() < indexed) {
+            offsets = new long[] {0};
+            recordCount = 0;
+            index.clear();
+            indexed = 0;
+        }
+        if (file.length() == indexed) {
+            return;
+        }
+
+        file.seek(indexed);
+        byte[] buffer = new byte[READ_BUFFER_SIZE];
+        ByteArrayOutputStream partial = new ByteArrayOutputStream();
+        long position = indexed;
+        int read;
+        while ((read = file.read(buffer)) > 0) {
+            int start = 0;
+            for (int end = 0; end < read; end++) {
+                if (buffer[end] != '\n') {
+                    continue;
+                }
+                partial.write(buffer, start, end - start);
+                addToIndex(parse(partial.toString(StandardCharsets.UTF_8)).getName(), recordCount);
+                partial.reset();
+
+                if (recordCount + 1 == offsets.length) {
+                    offsets = Arrays.copyOf(offsets, offsets.length * 2);
+                }
+                offsets[++recordCount] = position + end + 1;
+                start = end + 1;
+            }
+            // A record still being written by another process is indexed once it is complete.
+            partial.write(buffer, start, read - start);
+            position += read;
+        }
+    }
+
+    private void addToIndex(String name, int record) {
+        for (int i = 0; i + GRAM_LENGTH <= name.length(); i++) {
+            index.computeIfAbsent(getGram(name, i), k -> new Postings()).add(record);
+        }
+    }
+
+    private static long getGram(String s, int start) {
+        return (long) s.charAt(start) << 32 | (long) s.charAt(start + 1) << 16 | s.charAt(start + 2);
+    }
+
+    /**
+     * Returns the records whose names contain every character sequence of the term, in increasing order.
+     */
+    private int[] getCandidates(String term) {
+        if (term.length() < GRAM_LENGTH) {
+            int[] all = new int[recordCount];
+            Arrays.setAll(all, i -> i);
+            return all;
+        }
+
+        int[] candidates = null;
+        int size = 0;
+        for (int i = 0; i + GRAM_LENGTH <= term.length(); i++) {
+            Postings p = index.get(getGram(term, i));
+            if (p == null) {
+                return new int[0];
+            }
+            if (candidates == null) {
+                candidates = Arrays.copyOf(p.records, p.size);
+                size = p.size;
+            } else {
+                size = intersect(candidates, size, p);
+            }
+        }
+        return Arrays.copyOf(candidates, size);
+    }
+
+    /**
+     * Keeps the first size candidates that are also in the postings, and returns how many are kept.
+     */
+    private static int intersect(int[] candidates, int size, Postings p) {
+        int kept = 0;
+        int j = 0;
+        for (int i = 0; i < size; i++) {
+            while (j < p.size && p.records[j] < candidates[i]) {
+                j++;
+            }
+            if (j < p.size && p.records[j] == candidates[i]) {
+                candidates[kept++] = candidates[i];
+            }
+        }
+        return kept;
+    }
+
+    private Task readRecord(RandomAccessFile file, int record) throws IOException, FileListParseException {
+        byte[] bytes = new byte[(int) (offsets[record + 1] - offsets[record] - 1)];
+        file.seek(offsets[record]);
+        file.readFully(bytes);
+        return parse(new String(bytes, StandardCharsets.UTF_8));
+    }
+
+    private Task parse(String record) throws FileListParseException {
+        TaskList parsed = new TaskList();
+        Storage.parseRecord(record, parsed, ui, handler, parser);
+        return parsed.getItem(0);
+    }
+}
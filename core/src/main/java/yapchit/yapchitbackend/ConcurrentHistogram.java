@@ -0,0 +1,99 @@
+package yapchit.yapchitbackend;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogram of durations that many threads can record into without locking or allocating.
+ * Values are counted in 8 buckets per power of two, so reported percentiles are within 12.5% of the
+ * recorded values. Reading takes a snapshot that may miss values recorded at the same time.
+ */
+public class ConcurrentHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int HALF = SUB_BUCKETS / 2;
+    private static final int BUCKET_COUNT = SUB_BUCKETS + (64 - SUB_BUCKET_BITS) * HALF;
+
+    /** Counts per bucket, followed by the total count, the sum and the maximum of the recorded values. */
+    private final AtomicLongArray cells = new AtomicLongArray(BUCKET_COUNT + 3);
+
+    /**
+     * Records one value.
+     *
+     * @param value value to record, such as a duration in nanoseconds. Negative values count as 0.
+     */
+    public void record(long value) {
+        long v = Math.max(0, value);
+        cells.incrementAndGet(indexOf(v));
+        cells.incrementAndGet(BUCKET_COUNT);
+        cells.addAndGet(BUCKET_COUNT + 1, v);
+        long max;
+        while (v > (max = cells.get(BUCKET_COUNT + 2)) && !cells.compareAndSet(BUCKET_COUNT + 2, max, v)) {
+            // Another thread raised the maximum first; check again.
+        }
+    }
+
+    public long getCount() {
+        return cells.get(BUCKET_COUNT);
+    }
+
+    public long getMax() {
+        return cells.get(BUCKET_COUNT + 2);
+    }
+
+    /**
+     * Returns the mean of the recorded values.
+     *
+     * @return double mean, or 0 if nothing was recorded.
+     */
+    public double getMean() {
+        long count = getCount();
+        return count == 0 ? 0 : (double) cells.get(BUCKET_COUNT + 1) / count;
+    }
+
+    /**
+     * Returns the value below or at which the given fraction of recorded values fall.
+     *
+     * @param fraction fraction between 0 and 1, such as 0.99 for the 99th percentile.
+     * @return long percentile value, or 0 if nothing was recorded.
+     */
+    public long getPercentile(double fraction) {
+        long[] counts = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = cells.get(i);
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        long target = Math.max(1, (long) Math.ceil(fraction * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return Math.min(getMax(), highestValueAt(i));
+            }
+        }
+        return getMax();
+    }
+
+    private static int indexOf(long v) {
+        if (v < SUB_BUCKETS) {
+            return (int) v;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(v) - (SUB_BUCKET_BITS - 1);
+        int sub = (int) (v >>> shift);
+        return SUB_BUCKETS + (shift - 1) * HALF + (sub - HALF);
+    }
+
+    private static long highestValueAt(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKETS) / HALF + 1;
+        long sub = (index - SUB_BUCKETS) % HALF + HALF;
+        return ((sub + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,93 @@
+package yapchit.yapchitbackend;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches a data file for changes made by other programs, such as editors or file-sync clients.
+ * The callback runs on the watcher thread, and should hand the reload over to the thread that runs
+ * commands, for example with {@link YapchitBackend#reloadIfChanged()}.
+ *
+ * Changes made by Yapchit itself are reported too; reloading then finds nothing to do.
+ */
+public class DataFileWatcher implements AutoCloseable {
+
+    /** Events arriving this soon after each other are reported once, as editors often write in steps. */
+    private static final long SETTLE_MILLIS = 50;
+
+    private final Path file;
+    private final Runnable onChange;
+    private final WatchService watchService;
+    private final Thread thread;
+
+    /**
+     * Creates a watcher for the given file. The file's directory is created if needed.
+     *
+     * @param filePath path of the file to watch.
+     * @param onChange called after the file was created or changed.
+     * @throws IOException if the directory cannot be watched.
+     */
+    public DataFileWatcher(String filePath, Runnable onChange) throws IOException {
+        this.file = Path.of(filePath).toAbsolutePath().normalize();
+        this.onChange = onChange;
+        this.watchService = FileSystems.getDefault().newWatchService();
+        Files.createDirectories(file.getParent());
+        file.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY);
+        this.thread = new Thread(this::watch, "yapchit-file-watcher");
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Starts watching in the background.
+     */
+    public void start() {
+        thread.start();
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean isChanged = isFileEvent(key);
+                while ((key = watchService.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    isChanged |= isFileEvent(key);
+                }
+                if (isChanged) {
+                    onChange.run();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Closed.
+        }
+    }
+
+    private boolean isFileEvent(WatchKey key) {
+        boolean isFileEvent = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW
+                    || file.getFileName().equals(event.context())) {
+                isFileEvent = true;
+            }
+        }
+        key.reset();
+        return isFileEvent;
+    }
+
+    /**
+     * Stops watching the file.
+     */
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+        thread.interrupt();
+    }
+}
@@ -0,0 +1,179 @@
+package yapchit.yapchitbackend;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import jdk.jfr.Timespan;
+
+/**
+ * Java Flight Recorder events emitted while running commands and reading or writing the data file,
+ * so a recording of a slow or frozen session shows which command and which phase took the time.
+ *
+ * All events are disabled unless a recording turns them on, for example with the settings in
+ * {@code config/jfr/yapchit.jfc}. A disabled event is never committed, and its fields are only filled in
+ * after {@link Event#shouldCommit()} says it will be, so the cost is a few checks per command.
+ */
+final class FlightEvents {
+
+    private FlightEvents() {
+    }
+
+    /**
+     * One command run by a backend, from parsing it to saving the data file.
+     */
+    @Name("yapchit.Command")
+    @Label("Command")
+    @Category("Yapchit")
+    @Description("A command run by a Yapchit backend")
+    @Enabled(false)
+    @Threshold("100 ms")
+    @StackTrace(false)
+    static final class Command extends Event {
+        @Label("Operation")
+        String operation;
+
+        @Label("Task Number")
+        @Description("Number of the task the command added or changed, or 0 if it used a selection or none")
+        int taskNumber;
+
+        @Label("List Size")
+        @Description("Number of tasks after the command")
+        int listSize;
+
+        @Label("Error")
+        @Description("Type of the error the command failed with, if any")
+        String error;
+
+        @Label("Parse Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long parseTime;
+
+        @Label("Handle Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long handleTime;
+
+        @Label("Render Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long renderTime;
+
+        @Label("Persist Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long persistTime;
+    }
+
+    /**
+     * Handling of one command by the {@link Handler}, including records read from the data file.
+     */
+    @Name("yapchit.Handle")
+    @Label("Handle Operation")
+    @Category("Yapchit")
+    @Description("A command or data file record handled by the task list")
+    @Enabled(false)
+    @Threshold("50 ms")
+    @StackTrace(false)
+    static final class Handle extends Event {
+        @Label("Operation")
+        String operation;
+
+        @Label("Task Number")
+        @Description("Number of the task the command added or changed, or 0 if it used a selection or none")
+        int taskNumber;
+
+        @Label("List Size")
+        @Description("Number of tasks after the command")
+        int listSize;
+
+        @Label("From File")
+        @Description("Whether the command was a record read from the data file")
+        boolean isFromFile;
+    }
+
+    /**
+     * Reading of the data file, either in full or only the records another program changed.
+     */
+    @Name("yapchit.StorageLoad")
+    @Label("Storage Load")
+    @Category({"Yapchit", "Storage"})
+    @Description("Tasks read from the data file")
+    @Enabled(false)
+    @Threshold("0 ms")
+    @StackTrace(false)
+    static final class Load extends Event {
+        @Label("Path")
+        String path;
+
+        @Label("Records")
+        @Description("Number of records parsed")
+        int records;
+
+        @Label("Bytes Read")
+        @DataAmount
+        long bytesRead;
+
+        @Label("Changed Records Only")
+        boolean isReload;
+    }
+
+    /**
+     * Writing of the data file.
+     */
+    @Name("yapchit.StorageSave")
+    @Label("Storage Save")
+    @Category({"Yapchit", "Storage"})
+    @Description("Task list written to the data file")
+    @Enabled(false)
+    @Threshold("20 ms")
+    @StackTrace(false)
+    static final class Save extends Event {
+        @Label("Path")
+        String path;
+
+        @Label("Records")
+        int records;
+
+        @Label("Bytes Written")
+        @DataAmount
+        long bytesWritten;
+
+        @Label("Outcome")
+        @Description("saved, stale if another Yapchit process wrote the file first, or conflict")
+        String outcome;
+    }
+
+    /**
+     * Returns the number of the task a command added or changed.
+     *
+     * @param op kind of command.
+     * @param parts the command split into parts.
+     * @param listSize number of tasks after the command.
+     * @return int 1-based task number, or 0 if the command used a selection or names no task.
+     */
+    static int getTaskNumber(YapchitBackend.Operations op, String[] parts, int listSize) {
+        switch (op) {
+        case TODO:
+        case DEADLINE:
+        case EVENT:
+        case RECUR:
+            return listSize;
+
+        case MARK:
+        case UNMARK:
+        case DELETE:
+        case UPDATE:
+            try {
+                return parts.length > 1 ? Integer.parseInt(parts[1]) : 0;
+            } catch (NumberFormatException e) {
+                return 0;
+            }
+
+        default:
+            return 0;
+        }
+    }
+}
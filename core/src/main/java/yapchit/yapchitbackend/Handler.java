@@ -0,0 +1,754 @@
+package yapchit.yapchitbackend;
+
+import yapchit.yapchitbackend.tasks.Deadline;
+import yapchit.yapchitbackend.tasks.Event;
+import yapchit.yapchitbackend.tasks.Occurrence;
+import yapchit.yapchitbackend.tasks.Recurrence;
+import yapchit.yapchitbackend.tasks.RecurringTask;
+import yapchit.yapchitbackend.tasks.Task;
+import yapchit.yapchitbackend.tasks.ToDo;
+import yapchit.yapchitexceptions.InvalidDetailException;
+import yapchit.yapchitexceptions.InvalidKeywordException;
+import yapchit.yapchitexceptions.YapchitException;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Class that acts as the 'brains' of the Yapchit program and handles all operations.
+ */
+public class Handler {
+
+    /** Cold tier that done tasks are archived to, or null if the task list has none. */
+    private final ColdStore archive;
+
+    /**
+     * Creates new handler instance.
+     */
+    public Handler() {
+        this(null);
+    }
+
+    /**
+     * Creates new handler instance archiving done tasks to the given cold tier.
+     *
+     * @param archive cold tier of the task list.
+     */
+    public Handler(ColdStore archive) {
+        this.archive = archive;
+    }
+
+    /**
+     * Accepts an input and operation and redirects it to appropriate handler function.
+     *
+     * @param input user input.
+     * @param op parsed operation from parser.
+     * @param tasks the full tasklist.
+     * @param ui the ui to interact with user.
+     * @param parser the parser to perform additional parsing.
+     * @param isNewTask determines whether task is created for the first time or imported from file.
+     * @return String containing handled response.
+     * @throws YapchitException if there is conflict in terms of user input and operation to perform.
+     */
+    public String handleOperation(String input, YapchitBackend.Operations op, TaskList tasks,
+                                  Ui ui, Parser parser, boolean isNewTask) throws YapchitException {
+        FlightEvents.Handle event = new FlightEvents.Handle();
+        event.begin();
+        String[] parts = parser.parseInputParts(input);
+        String output = "";
+        switch (op) {
+        case LIST:
+            output = handleList(parts, tasks, ui, parser);
+            break;
+
+        case MARK:
+            output = handleMark(parts, tasks, ui, parser, true);
+            break;
+
+        case UNMARK:
+            output = handleMark(parts, tasks, ui, parser, false);
+            break;
+
+        case DELETE:
+            output = handleDelete(parts, tasks, ui, parser);
+            break;
+
+        case FIND:
+            output = handleFind(parts, tasks, ui, parser);
+            break;
+
+        case DEADLINE:
+            output = handleDeadline(input, isNewTask, tasks, ui, parser);
+            break;
+
+        case EVENT:
+            output = handleEvent(input, isNewTask, tasks, ui);
+            break;
+
+        case TODO:
+            output = handleTodo(input, isNewTask, tasks, ui);
+            break;
+
+        case UPDATE:
+            output = handleUpdate(parts, tasks, ui, parser);
+            break;
+
+        case RECUR:
+            output = handleRecur(input, isNewTask, tasks, ui, parser);
+            break;
+
+        case ARCHIVE:
+            output = handleArchive(parts, tasks, ui, parser);
+            break;
+
+        default:
+            throw new InvalidKeywordException("You have entered an invalid keyword.");
+        }
+
+        if (event.shouldCommit()) {
+            event.operation = op.name();
+            event.listSize = tasks.getListSize();
+            event.taskNumber = FlightEvents.getTaskNumber(op, parts, event.listSize);
+            event.isFromFile = !isNewTask;
+            event.commit();
+        }
+        return output;
+    }
+
+    /**
+     * Creates a new event object based on details in provided input.
+     *
+     * @param inputParam containing details of the event.
+     * @param isNewTask boolean which identifies if this is a task being added to list for the first time.
+     * @param tasks list of tasks.
+     * @param ui ui object to interact with the user.
+     * @return String containing handled response.
+     * @throws InvalidDetailException in case of mismatch in input and task detail requirements.
+     */
+    public String handleEvent(
+            String inputParam, boolean isNewTask, TaskList tasks, Ui ui) throws InvalidDetailException {
+        String input = inputParam;
+        char isDone = getIsDone(input,isNewTask);
+        input = getUpdatedInput(input, isNewTask);
+
+
+        Event newEventObj = new Event("*", null, null);
+        Task t = interpretAndUpdateEvent(newEventObj, input);
+        tasks.addTask(t);
+
+        String output = getTaskOutput(t, tasks, ui, isDone, isNewTask);
+        return output;
+    }
+
+    private Event interpretAndUpdateEvent(Event t, String input) throws InvalidDetailException {
+
+        int fromStart = input.indexOf("/from");
+        int toStart = input.indexOf("/to");
+        if (fromStart == -1 || toStart == -1 || fromStart >= toStart) {
+            throw new InvalidDetailException("invalid /from and /to parameters.");
+        }
+
+        if (6 == fromStart || fromStart + 6 == toStart || toStart + 4 >= input.length()) {
+            throw new InvalidDetailException("Event description/parameters error");
+        }
+
+        String desc = input.substring(6, fromStart).strip();
+        if (!desc.equals("*")) {
+            t.setName(desc);
+        }
+
+        String from = input.substring(fromStart + 6, toStart).strip();
+        if (!from.equals("*")) {
+            t.setFrom(from);
+        }
+
+        String to = input.substring(toStart + 4).strip();
+        if (!to.equals("*")) {
+            t.setTo(to);
+        }
+
+        if (desc.length() == 0 || from.length() == 0 || to.length() == 0) {
+            throw new InvalidDetailException("Event description or parameters cannot be empty");
+        }
+
+        return t;
+    }
+
+    /**
+     * Creates a new deadline object based on details in provided input.
+     *
+     * @param inputParam containing details of the deadline.
+     * @param isNewTask boolean which identifies if this is a task being added to list for the first time.
+     * @param tasks list of tasks.
+     * @param ui ui object to interact with the user.
+     * @param parser parser object to parse input.
+     * @return String containing handled response.
+     * @throws InvalidDetailException in case of mismatch in input and task detail requirements.
+     */
+    public String handleDeadline(
+            String inputParam, boolean isNewTask, TaskList tasks, Ui ui, Parser parser) throws InvalidDetailException {
+        String input = inputParam;
+        char isDone = getIsDone(input,isNewTask);
+        input = getUpdatedInput(input, isNewTask);
+
+
+        Deadline newDeadlineObj = new Deadline("*", null);
+        Task t = interpretAndUpdateDeadline(newDeadlineObj, input, parser);
+        tasks.addTask(t);
+        String output = getTaskOutput(t, tasks, ui, isDone, isNewTask);
+
+        return output;
+    }
+
+    private Deadline interpretAndUpdateDeadline(
+            Deadline t, String input, Parser parser) throws InvalidDetailException {
+
+        int byStart = input.indexOf("/by");
+        if (byStart == -1) {
+            throw new InvalidDetailException("Missing 'by' parameter in deadline detail");
+        }
+
+        if (9 == byStart || byStart + 4 >= input.length()) {
+            throw new InvalidDetailException("Deadline description/parameter issue");
+        }
+        String desc = input.substring(9, byStart).strip();
+        if (!desc.equals("*")) {
+            t.setName(desc);
+        }
+
+        String dateString = input.substring(byStart + 4).strip();
+
+        LocalDate by = t.getBy();
+        if (!dateString.equals("*")) {
+            by = parser.parseTimestamp(dateString);
+            t.setBy(by);
+        }
+
+        if (desc.length() == 0 || by == null) {
+            throw new InvalidDetailException("Invalid or empty deadline description or parameter");
+        }
+
+        return t;
+    }
+
+    /**
+     * Creates a new recurring task based on details in provided input.
+     * Only the rule is stored; its occurrences are worked out from it when they are looked at.
+     *
+     * @param inputParam containing details of the recurring task.
+     * @param isNewTask boolean which identifies if this is a task being added to list for the first time.
+     * @param tasks list of tasks.
+     * @param ui ui object to interact with the user.
+     * @param parser parser object to parse input.
+     * @return String containing handled response.
+     * @throws InvalidDetailException in case of mismatch in input and task detail requirements.
+     */
+    public String handleRecur(
+            String inputParam, boolean isNewTask, TaskList tasks, Ui ui, Parser parser) throws InvalidDetailException {
+        // The done flag at the end of a stored record is ignored, as the /done detail says which occurrences are done.
+        String input = getUpdatedInput(inputParam, isNewTask);
+        if (input.length() <= 6) {
+            throw new InvalidDetailException("Recurring task description cannot be empty. Please retry");
+        }
+
+        Map<String, String> details = parseRecurringDetails(input.substring(6));
+        String done = details.remove("done");
+        if (done != null && isNewTask) {
+            throw new InvalidDetailException("Unknown recurring task detail '/done'");
+        }
+
+        RecurringTask t = interpretAndUpdateRecurring(null, details, parser);
+        if (done != null) {
+            try {
+                t.restoreDone(done);
+            } catch (IllegalArgumentException e) {
+                throw new InvalidDetailException("Invalid done occurrences '" + done + "'");
+            }
+        }
+        tasks.addTask(t);
+
+        return isNewTask ? ui.printTaskAdd(t, tasks.getListSize()) : "";
+    }
+
+    private Map<String, String> parseRecurringDetails(String input) throws InvalidDetailException {
+        String[] fields = (" " + input).split(" /");
+        Map<String, String> details = new LinkedHashMap<>();
+        details.put("name", fields[0].strip());
+
+        for (int i = 1; i < fields.length; i++) {
+            int space = fields[i].indexOf(' ');
+            String key = space == -1 ? fields[i] : fields[i].substring(0, space);
+            String value = space == -1 ? "" : fields[i].substring(space + 1).strip();
+            if (!key.equals("by") && !key.equals("on") && !key.equals("every")
+                    && !key.equals("until") && !key.equals("done")) {
+                throw new InvalidDetailException("Unknown recurring task detail '/" + key + "'");
+            }
+            if (value.isEmpty() || details.put(key, value) != null) {
+                throw new InvalidDetailException("Recurring task detail '/" + key + "' is empty or repeated");
+            }
+        }
+
+        return details;
+    }
+
+    private RecurringTask interpretAndUpdateRecurring(
+            RecurringTask t, Map<String, String> details, Parser parser) throws InvalidDetailException {
+        String desc = details.get("name");
+        if (desc.isEmpty() || (t == null && desc.equals("*"))) {
+            throw new InvalidDetailException("Recurring task description cannot be empty. Please retry");
+        }
+        if (details.containsKey("by") && details.containsKey("on")) {
+            throw new InvalidDetailException("Use either /by for a recurring deadline or /on for a recurring event");
+        }
+
+        boolean isEvent = details.containsKey("on");
+        String dateString = details.get(isEvent ? "on" : "by");
+        String every = details.get("every");
+        String until = details.get("until");
+
+        if (t == null && (isKept(dateString) || isKept(every))) {
+            throw new InvalidDetailException("Recurring tasks need a /by or /on date and an /every parameter");
+        }
+        if (t != null && dateString != null && isEvent != t.isEvent()) {
+            throw new InvalidDetailException("Use /on for recurring events and /by for recurring deadlines");
+        }
+
+        LocalDate start = isKept(dateString) ? t.getStart() : parser.parseTimestamp(dateString);
+        Recurrence recurrence = isKept(every) ? t.getRecurrence() : Recurrence.fromKeyword(every);
+        if (recurrence == null) {
+            throw new InvalidDetailException("Recurring tasks repeat every 'week' or every 'month'");
+        }
+
+        LocalDate end;
+        if (isKept(until)) {
+            end = t == null ? null : t.getUntil();
+        } else if (until.equalsIgnoreCase("never")) {
+            end = null;
+        } else {
+            end = parser.parseTimestamp(until);
+        }
+        if (end != null && end.isBefore(start)) {
+            throw new InvalidDetailException("The /until date cannot be before the first date");
+        }
+
+        if (t == null) {
+            return new RecurringTask(desc, isEvent, start, recurrence, end);
+        }
+
+        if (!desc.equals("*")) {
+            t.setName(desc);
+        }
+        t.setSchedule(start, recurrence, end);
+        return t;
+    }
+
+    private boolean isKept(String detail) {
+        return detail == null || detail.equals("*");
+    }
+
+    /**
+     * Creates a new todo object based on details in provided input.
+     *
+     * @param inputParam containing details of the todo.
+     * @param isNewTask boolean which identifies if this is a task being added to list for the first time.
+     * @param tasks list of tasks.
+     * @param ui ui object to interact with the user.
+     * @return String containing handled response.
+     * @throws InvalidDetailException in case of mismatch in input and task detail requirements.
+     */
+    public String handleTodo(
+            String inputParam, boolean isNewTask, TaskList tasks, Ui ui) throws InvalidDetailException {
+
+        String input = inputParam;
+        char isDone = getIsDone(input,isNewTask);
+        input = getUpdatedInput(input, isNewTask);
+
+        Task t = interpretAndUpdateTodo(new ToDo("*"), input);
+        tasks.addTask(t);
+
+        String output = getTaskOutput(t, tasks, ui, isDone, isNewTask);
+        return output;
+    }
+
+    private ToDo interpretAndUpdateTodo(ToDo task, String input) throws InvalidDetailException {
+
+        if (5 >= input.length()) {
+            throw new InvalidDetailException("todo description cannot be empty. Please retry");
+        }
+
+        String desc = input.substring(5).strip();
+        if (desc.length() == 0) {
+            throw new InvalidDetailException("todo description cannot be empty. Please retry");
+        }
+
+        if (!desc.equals("*")) {
+            task.setName(desc);
+        }
+
+        return task;
+    }
+
+    /**
+     * Handles finding of objects in list by calling the findSublist function of list instance.
+     * Results can be paged with trailing 'page N' and 'size M' options.
+     * With '--all' before the search term, archived tasks are searched too and listed after the others.
+     *
+     * @param parts String array of parts of the input.
+     * @param tasks list of tasks.
+     * @param ui ui instance.
+     * @param parser the parser to parse list options.
+     * @return String with handled response.
+     * @throws YapchitException if detail after command is invalid or the archive cannot be read.
+     */
+    public String handleFind(String[] parts, TaskList tasks, Ui ui, Parser parser) throws YapchitException {
+        if (parts.length >= 2 && parts[1].equals("--all")) {
+            return handleFindAll(parts, tasks, ui, parser);
+        }
+
+        if (parts.length < 2) {
+            throw new InvalidDetailException("Invalid detail after keyword. Please retry");
+        }
+
+        String output = "";
+        assert parts[1] != null : "search term cannot be null";
+        String term = parts[1];
+        TaskList due = findDue(parts, 2, tasks, t -> t.getName().contains(term), parser);
+        if (due != null) {
+            return printPage(parts, 2, due, "Here are the matching tasks due in that time:", ui, parser);
+        }
+
+        output = printPage(parts, 2, tasks.findSublist(term), "Here are the matching tasks in your list:",
+                ui, parser);
+        return output;
+
+    }
+
+    private String handleFindAll(String[] parts, TaskList tasks, Ui ui, Parser parser) throws YapchitException {
+        if (parts.length < 3) {
+            throw new InvalidDetailException("Invalid detail after find --all. Please retry");
+        }
+
+        // Options are checked before the archive is read.
+        parser.parseListOption(parts, 3, "page", 1);
+        String term = parts[2];
+        TaskList found = tasks.findSublist(term);
+        if (archive != null) {
+            for (Task t : archive.find(term)) {
+                found.addTask(t);
+            }
+        }
+
+        TaskList due = findDue(parts, 3, found, t -> true, parser);
+        if (due != null) {
+            return printPage(parts, 3, due, "Here are the matching tasks due in that time, archived ones included:",
+                    ui, parser);
+        }
+        return printPage(parts, 3, found, "Here are the matching tasks in your list, then in your archive:",
+                ui, parser);
+    }
+
+    /**
+     * Moves done tasks out of the task list into the archive, where they are no longer listed or saved with
+     * the other tasks but can still be found with 'find --all'.
+     * Without details every done task is archived; otherwise accepts the same selections as 'mark'.
+     *
+     * @param parts The user input split into parts.
+     * @param tasks the list of tasks to archive from.
+     * @param ui the ui object to interact with the user.
+     * @param parser the parser to parse task selections.
+     * @return String containing handled response.
+     * @throws YapchitException if a selected task is not done.
+     */
+    public String handleArchive(String[] parts, TaskList tasks, Ui ui, Parser parser) throws YapchitException {
+        if (archive == null) {
+            throw new InvalidDetailException("Tasks can only be archived when they are stored in a file");
+        }
+
+        BitSet selection = parts.length < 2 ? tasks.findIndices(t -> t.getDone()) : getSelection(parts, tasks, parser);
+        for (int i = selection.nextSetBit(0); i >= 0; i = selection.nextSetBit(i + 1)) {
+            if (!tasks.getItem(i).getDone()) {
+                throw new InvalidDetailException("Only done tasks can be archived, but task " + (i + 1)
+                        + " is not done");
+            }
+        }
+
+        TaskList archived = archive.archive(tasks, selection);
+        return ui.printTasksArchive(archived, tasks.getListSize());
+    }
+
+    /**
+     * Handles the printing of the tasks in the tasks list.
+     * Long lists are printed one page at a time, chosen with trailing 'page N' and 'size M' options.
+     * With 'from DATE' and 'to DATE' options, only deadlines and occurrences of recurring tasks due in that
+     * time are printed, in date order.
+     *
+     * @param parts The user input split into parts.
+     * @param tasks the list of tasks to print.
+     * @param ui the ui object to interact with the user.
+     * @param parser the parser to parse list options.
+     * @return String containing handled response.
+     * @throws InvalidDetailException if the input does not provide the necessary details.
+     */
+    public String handleList(String[] parts, TaskList tasks, Ui ui, Parser parser) throws InvalidDetailException {
+        String output = "";
+        TaskList due = findDue(parts, 1, tasks, t -> true, parser);
+        if (due != null) {
+            return printPage(parts, 1, due, "Here are the tasks due in that time:", ui, parser);
+        }
+
+        output = printPage(parts, 1, tasks, "Here are the tasks in your list:", ui, parser);
+
+        return output;
+    }
+
+    /**
+     * Returns the tasks due between the dates given with 'from' and 'to' options, or null if neither is given.
+     */
+    private TaskList findDue(String[] parts, int optionStart, TaskList tasks, Predicate<Task> predicate,
+                             Parser parser) throws InvalidDetailException {
+        LocalDate from = parser.parseDateOption(parts, optionStart, "from");
+        LocalDate to = parser.parseDateOption(parts, optionStart, "to");
+        if (from == null && to == null) {
+            return null;
+        }
+
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new InvalidDetailException("Please give both a 'from' date and a 'to' date that is not before it");
+        }
+        return tasks.findDue(from, to, predicate);
+    }
+
+    private String printPage(String[] parts, int optionStart, TaskList tasks, String message, Ui ui, Parser parser)
+            throws InvalidDetailException {
+        int page = parser.parseListOption(parts, optionStart, "page", 1);
+        int pageSize = parser.parseListOption(parts, optionStart, "size", Ui.DEFAULT_PAGE_SIZE);
+
+        int pageCount = Ui.getPageCount(tasks.getListSize(), pageSize);
+        if (page > pageCount) {
+            String temp = pageCount == 1 ? "page" : "pages";
+            throw new InvalidDetailException("Page " + page + " does not exist, there are only "
+                    + pageCount + " " + temp);
+        }
+
+        return ui.printListPage(tasks, message, page, pageSize);
+    }
+
+    /**
+     * Handles the deleting of the tasks in the tasks list.
+     * Accepts a single task number, a selection such as '3,7,9-12', 'done', 'undone' or 'where find:term'.
+     * Multiple deletions are applied in one pass over the list.
+     *
+     * @param parts The user input split into parts.
+     * @param tasks the list of tasks to delete from.
+     * @param ui the ui object to interact with the user.
+     * @param parser the parser to parse task selections.
+     * @return String containing handled response.
+     * @throws InvalidDetailException if the input does not provide the necessary details.
+     */
+    public String handleDelete(String[] parts, TaskList tasks, Ui ui, Parser parser) throws InvalidDetailException {
+        String output = "";
+        if (parts.length < 2) {
+            throw new InvalidDetailException("Invalid detail after delete. Please retry");
+        }
+
+        if (!isSingleIndex(parts)) {
+            BitSet selection = getSelection(parts, tasks, parser);
+            TaskList deleted = tasks.deleteAll(selection);
+            return ui.printTasksDelete(deleted, tasks.getListSize());
+        }
+
+        try {
+            assert parts[1] != null : "delete index cannot be null";
+            int num = Integer.parseInt(parts[1]);
+            Task t = tasks.getItem(num - 1);
+            tasks.delete(num - 1);
+            output = ui.printTaskDelete(t, tasks.getListSize());
+        } catch (Exception e) {
+            throw new InvalidDetailException("Invalid detail after delete. Please retry");
+        }
+
+        return output;
+    }
+
+    /**
+     * Handles the marking of the tasks in the tasks list.
+     * Accepts a single task number, a selection such as '1-500', 'done', 'undone' or 'where find:term'.
+     * A single occurrence of a recurring task is chosen with its number and '/on DATE'; without a date,
+     * marking a recurring task marks its next occurrence and unmarking it unmarks its last done one.
+     * A trailing '/at DATE' gives the date the tasks are done on, which is otherwise today.
+     *
+     * @param parts The user input split into parts.
+     * @param tasks the list of tasks to mark from.
+     * @param ui the ui object to interact with the user.
+     * @param parser the parser to parse task selections.
+     * @return String containing handled response.
+     * @throws InvalidDetailException if the input does not provide the necessary details.
+     */
+    public String handleMark(String[] parts, TaskList tasks, Ui ui, Parser parser, boolean isDone)
+            throws InvalidDetailException {
+
+        if (parts.length < 2) {
+            throw new InvalidDetailException("Invalid detail after mark. Please retry");
+        }
+
+        LocalDate doneDate = LocalDate.now();
+        if (parts.length >= 4 && parts[parts.length - 2].equals("/at")) {
+            doneDate = parser.parseTimestamp(parts[parts.length - 1]);
+            parts = Arrays.copyOf(parts, parts.length - 2);
+        }
+
+        if (parts.length == 4 && parts[2].equals("/on") && isSingleIndex(new String[] {parts[0], parts[1]})) {
+            LocalDate date = parser.parseTimestamp(parts[3]);
+            Occurrence marked = tasks.markOccurrence(Integer.parseInt(parts[1]) - 1, date, isDone);
+            return ui.printTaskMark(marked, isDone);
+        }
+
+        if (!isSingleIndex(parts)) {
+            BitSet selection = getSelection(parts, tasks, parser);
+            TaskList marked = tasks.markAll(selection, isDone, doneDate);
+            return ui.printTasksMark(marked, isDone);
+        }
+
+        String output = "";
+        try {
+            assert parts[1] != null : "mark index cannot be null";
+            int idx = Integer.parseInt(parts[1]);
+            tasks.mark(idx - 1, isDone, doneDate);
+            output = ui.printTaskMark(tasks.getItem(idx - 1), isDone);
+        } catch (Exception e) {
+            throw new InvalidDetailException("Invalid detail after mark. Please retry");
+        }
+
+        return output;
+    }
+
+    /**
+     * Handles update of tasks. Update format is in readme. '*' is reserved keyword.
+     *
+     * @param parts String[] of parts of the input.
+     * @param tasks list of tasks.
+     * @param ui ui instance.
+     * @return String containing handled response.
+     * @throws InvalidDetailException if detail after keyword is invalid.
+     */
+    public String handleUpdate(String[] parts, TaskList tasks, Ui ui, Parser parser) throws InvalidDetailException {
+        if (parts.length < 3) {
+            throw new InvalidDetailException("Invalid detail after update. Please retry");
+        }
+
+        int taskIdx = Integer.parseInt(parts[1]);
+        Task task = tasks.getItem(taskIdx - 1);
+        String input = partsToString(parts, 2, parts.length);
+
+        if (task instanceof ToDo) {
+            ToDo temp = (ToDo) task;
+            interpretAndUpdateTodo(temp, "todo " + input);
+        }
+
+        if (task instanceof Event) {
+            Event temp = (Event) task;
+            interpretAndUpdateEvent(temp, "event " + input);
+        }
+
+        if (task instanceof Deadline) {
+            Deadline temp = (Deadline) task;
+            interpretAndUpdateDeadline(temp, "deadline " + input, parser);
+        }
+
+        if (task instanceof RecurringTask) {
+            Map<String, String> details = parseRecurringDetails(input.strip());
+            if (details.containsKey("done")) {
+                throw new InvalidDetailException("Unknown recurring task detail '/done'");
+            }
+            interpretAndUpdateRecurring((RecurringTask) task, details, parser);
+        }
+
+        tasks.notifyUpdated(taskIdx - 1);
+        String output = ui.printTaskUpdate(task);
+        return output;
+    }
+
+    /**
+     * Checks if the user input is equivalent to 'bye'.
+     *
+     * @param input user input.
+     * @return boolean indicating if input is 'bye' or not.
+     */
+    public boolean checkIsBye(String input) {
+        String testStr = input.strip();
+        return testStr.toLowerCase().equals("bye");
+    }
+
+    private String getTaskOutput(Task t, TaskList tasks, Ui ui, char isDone, boolean isNewTask) {
+        String output = "";
+        if (isNewTask) {
+            output = ui.printTaskAdd(t, tasks.getListSize());
+        } else {
+            t.setDone(isDone == '1' ? true : false);
+        }
+
+        return output;
+    }
+
+    private char getIsDone(String input, boolean isNewTask) {
+        char isDone = '0';
+        if (!isNewTask) {
+            isDone = input.charAt(input.length() - 1);
+        }
+        assert isDone == '0' || isDone == '1' : "isDone must be '0' or '1'";
+        return isDone;
+    }
+
+    private String getUpdatedInput(String input, boolean isNewTask) {
+        assert input != "" : "input cannot be empty";
+        return isNewTask ? input : input.substring(0, input.length() - 1);
+    }
+
+    private boolean isSingleIndex(String[] parts) {
+        if (parts.length != 2 || parts[1].isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < parts[1].length(); i++) {
+            if (!Character.isDigit(parts[1].charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private BitSet getSelection(String[] parts, TaskList tasks, Parser parser) throws InvalidDetailException {
+        String spec = partsToString(parts, 1, parts.length).strip();
+
+        if (spec.equals("done")) {
+            return tasks.findIndices(t -> t.getDone());
+        }
+
+        if (spec.equals("undone")) {
+            return tasks.findIndices(t -> !t.getDone());
+        }
+
+        if (spec.startsWith("where find:")) {
+            String term = spec.substring("where find:".length()).strip();
+            if (term.isEmpty()) {
+                throw new InvalidDetailException("Search term after 'where find:' cannot be empty");
+            }
+            return tasks.findIndices(t -> t.getName().contains(term));
+        }
+
+        return parser.parseIndexSelection(spec, tasks.getListSize());
+    }
+
+    private String partsToString(String[] parts, int start, int end) {
+        String temp = "";
+
+        for (int i = start; i < end; i++) {
+            temp = temp + " " + parts[i];
+        }
+
+        return temp;
+    }
+}
@@ -0,0 +1,76 @@
+package yapchit.yapchitbackend;
+
+import javax.management.ConstructorParameters;
+
+/**
+ * Latency of one phase of one kind of command, as reported over JMX.
+ */
+public class LatencySummary {
+
+    private final String operation;
+    private final String phase;
+    private final long count;
+    private final double meanMicros;
+    private final double p50Micros;
+    private final double p99Micros;
+    private final double p999Micros;
+    private final double maxMicros;
+
+    /**
+     * Creates a summary.
+     *
+     * @param operation kind of command, such as {@code todo}.
+     * @param phase phase of the command, such as {@code persist}.
+     * @param count number of recorded commands.
+     * @param meanMicros mean latency in microseconds.
+     * @param p50Micros median latency in microseconds.
+     * @param p99Micros 99th percentile latency in microseconds.
+     * @param p999Micros 99.9th percentile latency in microseconds.
+     * @param maxMicros highest latency in microseconds.
+     */
+    @ConstructorParameters({"operation", "phase", "count", "meanMicros", "p50Micros", "p99Micros", "p999Micros",
+        "maxMicros"})
+    public LatencySummary(String operation, String phase, long count, double meanMicros, double p50Micros,
+            double p99Micros, double p999Micros, double maxMicros) {
+        this.operation = operation;
+        this.phase = phase;
+        this.count = count;
+        this.meanMicros = meanMicros;
+        this.p50Micros = p50Micros;
+        this.p99Micros = p99Micros;
+        this.p999Micros = p999Micros;
+        this.maxMicros = maxMicros;
+    }
+
+    public String getOperation() {
+        return this.operation;
+    }
+
+    public String getPhase() {
+        return this.phase;
+    }
+
+    public long getCount() {
+        return this.count;
+    }
+
+    public double getMeanMicros() {
+        return this.meanMicros;
+    }
+
+    public double getP50Micros() {
+        return this.p50Micros;
+    }
+
+    public double getP99Micros() {
+        return this.p99Micros;
+    }
+
+    public double getP999Micros() {
+        return this.p999Micros;
+    }
+
+    public double getMaxMicros() {
+        return this.maxMicros;
+    }
+}
@@ -0,0 +1,202 @@
+package yapchit.yapchitbackend;
+
+import yapchit.yapchitexceptions.InvalidDetailException;
+import yapchit.yapchitexceptions.InvalidKeywordException;
+import yapchit.yapchitexceptions.YapchitException;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.BitSet;
+
+/**
+ * Parser class is responsible for parsing input from the user.
+ * Parses it into formats that are easier for the program to work with.
+ */
+public class Parser {
+
+    private static final String LIST_OPTIONS_HINT = "Use 'page N', 'size M', 'from DATE' and 'to DATE'";
+
+    /**
+     * Constructs new Parser object.
+     */
+    public Parser(){
+    }
+
+    /**
+     * Accepts input and converts it into one of the existing, handled operations.
+     * Operations are listed in the Operations enum.
+     *
+     * @param input user input to be parsed.
+     * @return YapchitBackend.Operations object representing the operation to be performed.
+     * @throws YapchitException if the user input cannot be parsed into one of the existing operations.
+     */
+    public YapchitBackend.Operations parseInputOperation(String input) throws YapchitException {
+        String[] parts = this.parseInputParts(input);
+
+        YapchitBackend.Operations k;
+        try {
+            k = YapchitBackend.Operations.valueOf(parts[0].toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidKeywordException("You have entered an invalid keyword");
+        }
+
+        return k;
+    }
+
+    /**
+     * Wraps over input.split() method to split string input.
+     *
+     * @param input to be parsed into parts.
+     * @return String[] of parsed input.
+     */
+    public String[] parseInputParts(String input) {
+        return input.split(" ");
+    }
+
+    /**
+     * Parses time from yyyy-mm-dd format into Java date object.
+     *
+     * @param timestamp date to parse.
+     * @return LocalDate object representing the date.
+     * @throws InvalidDetailException if timestamp is invalid or unable to be parsed.
+     */
+    public LocalDate parseTimestamp(String timestamp) throws InvalidDetailException {
+        try {
+            LocalDate d = LocalDate.parse(timestamp);
+        } catch (DateTimeParseException e) {
+            throw new InvalidDetailException("Please enter date in yyyy-mm-dd format");
+        }
+        return LocalDate.parse(timestamp);
+    }
+
+    /**
+     * Parses a list of task numbers such as '3,7,9-12' into the matching list indices.
+     * Task numbers are 1-based as displayed to the user; returned indices are 0-based.
+     *
+     * @param spec comma separated task numbers and inclusive ranges.
+     * @param listSize number of tasks in the list.
+     * @return BitSet with the selected indices set.
+     * @throws InvalidDetailException if the spec is malformed or refers to tasks outside the list.
+     */
+    public BitSet parseIndexSelection(String spec, int listSize) throws InvalidDetailException {
+        BitSet selection = new BitSet(listSize);
+
+        for (String item : spec.split(",")) {
+            int dash = item.indexOf('-');
+            int start;
+            int end;
+            try {
+                start = Integer.parseInt(dash == -1 ? item.strip() : item.substring(0, dash).strip());
+                end = dash == -1 ? start : Integer.parseInt(item.substring(dash + 1).strip());
+            } catch (NumberFormatException e) {
+                throw new InvalidDetailException("Invalid task number '" + item + "'. Please retry");
+            }
+
+            if (start < 1 || end > listSize || start > end) {
+                throw new InvalidDetailException("Invalid task range '" + item + "'. Please retry");
+            }
+            selection.set(start - 1, end);
+        }
+
+        return selection;
+    }
+
+    /**
+     * Writes list indices as task numbers in the form read by {@link #parseIndexSelection}, such as '3,7,9-12'.
+     *
+     * @param selection BitSet with the selected 0-based indices set.
+     * @return String of comma separated task numbers and inclusive ranges.
+     */
+    public String formatIndexSelection(BitSet selection) {
+        StringBuilder spec = new StringBuilder();
+        for (int start = selection.nextSetBit(0); start >= 0; start = selection.nextSetBit(start)) {
+            int end = selection.nextClearBit(start);
+            if (spec.length() > 0) {
+                spec.append(',');
+            }
+            spec.append(start + 1);
+            if (end - start > 1) {
+                spec.append('-').append(end);
+            }
+            start = end;
+        }
+        return spec.toString();
+    }
+
+    /**
+     * Reads a list option such as 'page 2' or 'size 50' from the trailing parts of the input.
+     * Options are given as keyword and value pairs, in any order: 'page' and 'size' take a positive number,
+     * 'from' and 'to' a date.
+     *
+     * @param parts the user input split into parts.
+     * @param start index of the first part that holds options.
+     * @param option the option keyword to look for.
+     * @param defaultValue value returned if the option is not given.
+     * @return int value of the option.
+     * @throws InvalidDetailException if the options are malformed.
+     */
+    public int parseListOption(String[] parts, int start, String option, int defaultValue)
+            throws InvalidDetailException {
+        checkListOptions(parts, start);
+
+        int value = defaultValue;
+        for (int i = start; i < parts.length; i += 2) {
+            String keyword = parts[i].toLowerCase();
+            if (keyword.equals("from") || keyword.equals("to")) {
+                continue;
+            }
+
+            int parsed;
+            try {
+                parsed = Integer.parseInt(parts[i + 1]);
+            } catch (NumberFormatException e) {
+                throw new InvalidDetailException("Invalid number after '" + parts[i] + "'. Please retry");
+            }
+            if (parsed < 1) {
+                throw new InvalidDetailException("'" + parts[i] + "' must be a positive number");
+            }
+
+            if (keyword.equals(option)) {
+                value = parsed;
+            }
+        }
+
+        return value;
+    }
+
+    /**
+     * Reads a date list option such as 'from 2024-03-01' from the trailing parts of the input.
+     *
+     * @param parts the user input split into parts.
+     * @param start index of the first part that holds options.
+     * @param option the option keyword to look for, 'from' or 'to'.
+     * @return LocalDate value of the option, or null if it is not given.
+     * @throws InvalidDetailException if the options are malformed.
+     */
+    public LocalDate parseDateOption(String[] parts, int start, String option) throws InvalidDetailException {
+        checkListOptions(parts, start);
+
+        LocalDate value = null;
+        for (int i = start; i < parts.length; i += 2) {
+            if (parts[i].equalsIgnoreCase(option)) {
+                value = parseTimestamp(parts[i + 1]);
+            }
+        }
+
+        return value;
+    }
+
+    private void checkListOptions(String[] parts, int start) throws InvalidDetailException {
+        if ((parts.length - start) % 2 != 0) {
+            throw new InvalidDetailException("Invalid list options. " + LIST_OPTIONS_HINT);
+        }
+
+        for (int i = start; i < parts.length; i += 2) {
+            String keyword = parts[i].toLowerCase();
+            if (!keyword.equals("page") && !keyword.equals("size")
+                    && !keyword.equals("from") && !keyword.equals("to")) {
+                throw new InvalidDetailException("Unknown list option '" + parts[i] + "'. " + LIST_OPTIONS_HINT);
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package yapchit.yapchitbackend;
+
+import yapchit.yapchitbackend.tasks.Task;
+
+import java.time.LocalDate;
+
+/**
+ * A reminder that a task is due.
+ */
+public class Reminder {
+
+    private final Task task;
+    private final LocalDate date;
+
+    /**
+     * Creates a reminder.
+     *
+     * @param task copy of the task that is due, or of the occurrence for recurring tasks.
+     * @param date date the task is due.
+     */
+    public Reminder(Task task, LocalDate date) {
+        this.task = task;
+        this.date = date;
+    }
+
+    /**
+     * Returns a copy of the task that is due, taken when the reminder became due.
+     * For recurring tasks this is the occurrence that is due.
+     *
+     * @return Task that is due.
+     */
+    public Task getTask() {
+        return this.task;
+    }
+
+    /**
+     * Returns the date the task is due.
+     *
+     * @return LocalDate the task is due.
+     */
+    public LocalDate getDate() {
+        return this.date;
+    }
+
+    @Override
+    public String toString() {
+        return task.toString();
+    }
+}
@@ -0,0 +1,17 @@
+package yapchit.yapchitbackend;
+
+import java.util.List;
+
+/**
+ * Receives reminders of tasks that have become due.
+ */
+public interface ReminderListener {
+
+    /**
+     * Called with the reminders that became due together, in date order.
+     * Called on the reminder thread, never on the thread that changes the task list.
+     *
+     * @param reminders reminders that are due.
+     */
+    void remindersDue(List<Reminder> reminders);
+}
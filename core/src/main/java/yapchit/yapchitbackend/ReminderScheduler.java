@@ -0,0 +1,287 @@
+package yapchit.yapchitbackend;
+
+import yapchit.yapchitbackend.tasks.Deadline;
+import yapchit.yapchitbackend.tasks.Event;
+import yapchit.yapchitbackend.tasks.Occurrence;
+import yapchit.yapchitbackend.tasks.RecurringTask;
+import yapchit.yapchitbackend.tasks.Task;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reminds listeners when deadlines, events and occurrences of recurring tasks become due.
+ *
+ * Reminders wait in a {@link TimingWheel} rather than as one scheduled task each, and a single thread
+ * moves the wheel forward once a second, so waiting reminders cost a small object each and finding the
+ * due ones never goes through the task list. The scheduler follows the task list as a listener: adding,
+ * updating, marking and deleting a task add, move or cancel its reminder.
+ *
+ * A deadline is due at the start of its date, and an event at its start if its start is a date such as
+ * 2024-03-01 or a date and time such as 2024-03-01T09:00; events with other start times are not reminded of.
+ * Tasks that are done, or that were due before today when added, are not reminded of.
+ */
+public class ReminderScheduler implements TaskListListener, AutoCloseable {
+
+    /** Time between moves of the wheel, and so the longest a reminder is late. */
+    public static final long TICK_MILLIS = 1000;
+
+    /** Largest number of reminders passed to a listener in one call. */
+    public static final int MAX_BATCH = 1000;
+
+    private static final int WHEEL_SIZE = 64;
+
+    private final Clock clock;
+    private final TimingWheel<Pending> wheel;
+    private final Map<Task, TimingWheel.Entry<Pending>> entries = new IdentityHashMap<>();
+    private final List<ReminderListener> listeners = new CopyOnWriteArrayList<>();
+    private ScheduledExecutorService ticker;
+
+    /**
+     * A reminder waiting in the wheel. A recurring task waits with a copy of itself taken on the thread that
+     * changed it, so its next occurrence can be worked out on the reminder thread.
+     */
+    private static final class Pending {
+        private final Task task;
+        private final RecurringTask rule;
+        private final long occurrence;
+        private final LocalDate date;
+
+        Pending(Task task, RecurringTask rule, long occurrence, LocalDate date) {
+            this.task = task;
+            this.rule = rule;
+            this.occurrence = occurrence;
+            this.date = date;
+        }
+
+        Reminder toReminder() {
+            Task due = rule == null ? task.copy() : new Occurrence(rule.copy(), occurrence);
+            return new Reminder(due, date);
+        }
+    }
+
+    /**
+     * Creates a scheduler using the system clock and time zone.
+     */
+    public ReminderScheduler() {
+        this(Clock.systemDefaultZone());
+    }
+
+    /**
+     * Creates a scheduler using the given clock, whose time zone decides when each date starts.
+     *
+     * @param clock clock to read the time from.
+     */
+    public ReminderScheduler(Clock clock) {
+        this.clock = clock;
+        this.wheel = new TimingWheel<>(TICK_MILLIS, WHEEL_SIZE, clock.millis());
+    }
+
+    /**
+     * Starts delivering reminders as they become due, on a thread of the scheduler's own.
+     */
+    public synchronized void start() {
+        if (ticker == null) {
+            ticker = Executors.newSingleThreadScheduledExecutor(WorkerThreads.newThreadFactory("yapchit-reminders-"));
+            ticker.scheduleAtFixedRate(this::deliverDue, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Starts passing due reminders to the listener.
+     *
+     * @param listener listener to notify.
+     */
+    public void addListener(ReminderListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Stops passing due reminders to the listener.
+     *
+     * @param listener listener to remove.
+     */
+    public void removeListener(ReminderListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Returns the number of reminders waiting to become due.
+     *
+     * @return int number of reminders.
+     */
+    public synchronized int getPendingCount() {
+        return wheel.size();
+    }
+
+    /**
+     * Passes the reminders that became due since the last call to the listeners, in batches of at most
+     * {@link #MAX_BATCH}. Called once a second once started, and may be called directly, such as in tests.
+     */
+    public void deliverDue() {
+        List<Pending> due = new ArrayList<>();
+        synchronized (this) {
+            wheel.advance(clock.millis(), due::add);
+
+            for (Pending p : due) {
+                entries.remove(p.task);
+                if (p.rule != null) {
+                    scheduleOccurrence(p.task, p.rule, p.date.plusDays(1));
+                }
+            }
+        }
+        if (due.isEmpty()) {
+            return;
+        }
+
+        List<Reminder> reminders = new ArrayList<>(due.size());
+        for (Pending p : due) {
+            reminders.add(p.toReminder());
+        }
+        reminders.sort(Comparator.comparing(Reminder::getDate));
+
+        for (int start = 0; start < reminders.size(); start += MAX_BATCH) {
+            List<Reminder> batch = List.copyOf(reminders.subList(start, Math.min(start + MAX_BATCH, reminders.size())));
+            for (ReminderListener listener : listeners) {
+                try {
+                    listener.remindersDue(batch);
+                } catch (RuntimeException e) {
+                    // A failing listener must not stop the others, or later reminders.
+                    Ui.print("\tA reminder could not be shown: " + e);
+                }
+            }
+        }
+    }
+
+    @Override
+    public synchronized void tasksReset(List<Task> tasks) {
+        for (TimingWheel.Entry<Pending> e : entries.values()) {
+            wheel.cancel(e);
+        }
+        entries.clear();
+
+        for (Task t : tasks) {
+            schedule(t);
+        }
+    }
+
+    @Override
+    public synchronized void taskAdded(int index, Task task) {
+        schedule(task);
+    }
+
+    @Override
+    public void tasksRemoved(BitSet indices) {
+        // Handled with the removed tasks by tasksRemoved(BitSet, List).
+    }
+
+    @Override
+    public synchronized void tasksRemoved(BitSet indices, List<Task> removed) {
+        for (Task t : removed) {
+            cancel(t);
+        }
+    }
+
+    @Override
+    public void tasksUpdated(BitSet indices) {
+        // Handled with the changed tasks by tasksUpdated(BitSet, List).
+    }
+
+    @Override
+    public synchronized void tasksUpdated(BitSet indices, List<Task> updated) {
+        for (Task t : updated) {
+            schedule(t);
+        }
+    }
+
+    private void cancel(Task t) {
+        TimingWheel.Entry<Pending> e = entries.remove(t);
+        if (e != null) {
+            wheel.cancel(e);
+        }
+    }
+
+    private void schedule(Task t) {
+        cancel(t);
+        if (t.getDone()) {
+            return;
+        }
+
+        LocalDate today = LocalDate.now(clock);
+        if (t instanceof RecurringTask) {
+            scheduleOccurrence(t, ((RecurringTask) t).copy(), today);
+        } else if (t instanceof Deadline) {
+            LocalDate by = ((Deadline) t).getBy();
+            add(new Pending(t, null, 0, by), by.atStartOfDay(clock.getZone()).toInstant().toEpochMilli(), today);
+        } else if (t instanceof Event) {
+            LocalDateTime from = parseStart(((Event) t).getFrom());
+            if (from != null) {
+                long at = from.atZone(clock.getZone()).toInstant().toEpochMilli();
+                add(new Pending(t, null, 0, from.toLocalDate()), at, today);
+            }
+        }
+    }
+
+    private void scheduleOccurrence(Task t, RecurringTask rule, LocalDate from) {
+        long next = rule.getNextOpenOccurrence(from);
+        if (next == -1) {
+            return;
+        }
+
+        LocalDate date = rule.getOccurrence(next);
+        add(new Pending(t, rule, next, date), date.atStartOfDay(clock.getZone()).toInstant().toEpochMilli(),
+                LocalDate.now(clock));
+    }
+
+    private void add(Pending p, long atMillis, LocalDate today) {
+        if (p.date.isBefore(today)) {
+            return;
+        }
+
+        // Reminders for earlier today are due at the next move of the wheel.
+        TimingWheel.Entry<Pending> e = wheel.add(p, Math.max(atMillis, clock.millis() + TICK_MILLIS));
+        if (e != null) {
+            entries.put(p.task, e);
+        }
+    }
+
+    private static LocalDateTime parseStart(String from) {
+        if (from == null) {
+            return null;
+        }
+
+        String start = from.strip();
+        try {
+            return LocalDateTime.parse(start);
+        } catch (DateTimeParseException e) {
+            // Not a date and time; may still be a date.
+        }
+        try {
+            return LocalDate.parse(start).atStartOfDay();
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Stops delivering reminders.
+     */
+    @Override
+    public synchronized void close() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+    }
+}
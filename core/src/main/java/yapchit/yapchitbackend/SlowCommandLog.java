@@ -0,0 +1,89 @@
+package yapchit.yapchitbackend;
+
+import java.time.Duration;
+import java.util.Locale;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Prints commands that took longer than a threshold, using the {@code yapchit.Command} flight recorder
+ * event. The log is off unless the {@code yapchit.slowCommandMillis} system property is set, in which case
+ * it is started once per process by the first backend created.
+ */
+public class SlowCommandLog implements AutoCloseable {
+
+    /** System property holding the threshold in milliseconds. */
+    public static final String THRESHOLD_PROPERTY = "yapchit.slowCommandMillis";
+
+    private static boolean isRequestChecked;
+
+    private final RecordingStream stream;
+
+    /**
+     * Starts printing commands that take at least the given time.
+     *
+     * @param threshold shortest command to print.
+     */
+    public SlowCommandLog(Duration threshold) {
+        stream = new RecordingStream();
+        stream.enable("yapchit.Command").withThreshold(threshold);
+        stream.onEvent("yapchit.Command", event -> Ui.print(format(event)));
+        // The stream's own thread would keep the process running after the window is closed.
+        Thread thread = new Thread(stream::start, "yapchit-slow-command-log");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Starts the log if the threshold system property is set and the log was not started yet.
+     * The log then runs until the process ends.
+     */
+    static synchronized void startIfRequested() {
+        String millis = System.getProperty(THRESHOLD_PROPERTY);
+        if (isRequestChecked || millis == null) {
+            return;
+        }
+        isRequestChecked = true;
+
+        try {
+            new SlowCommandLog(Duration.ofMillis(Long.parseLong(millis.strip())));
+        } catch (NumberFormatException e) {
+            Ui.print("\tIgnoring " + THRESHOLD_PROPERTY + ", which must be a number of milliseconds: " + millis);
+        }
+    }
+
+    /**
+     * Returns the line printed for a slow command.
+     *
+     * @param event recorded {@code yapchit.Command} event.
+     * @return String description of the command and the time spent in each phase.
+     */
+    static String format(RecordedEvent event) {
+        String operation = event.getString("operation");
+        int taskNumber = event.getInt("taskNumber");
+        String error = event.getString("error");
+        return String.format(Locale.ROOT,
+                "\tSlow command: %s%s took %.1f ms (parse %.1f, handle %.1f, render %.1f, save %.1f) with %d tasks%s",
+                operation == null ? "unknown" : operation.toLowerCase(Locale.ROOT),
+                taskNumber == 0 ? "" : " " + taskNumber,
+                millis(event.getDuration()),
+                millis(event.getDuration("parseTime")),
+                millis(event.getDuration("handleTime")),
+                millis(event.getDuration("renderTime")),
+                millis(event.getDuration("persistTime")),
+                event.getInt("listSize"),
+                error == null ? "" : ", failed with " + error);
+    }
+
+    private static double millis(Duration d) {
+        return d.toNanos() / 1e6;
+    }
+
+    /**
+     * Stops printing slow commands.
+     */
+    @Override
+    public void close() {
+        stream.close();
+    }
+}
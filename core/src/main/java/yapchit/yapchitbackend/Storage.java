@@ -0,0 +1,444 @@
+package yapchit.yapchitbackend;
+
+import yapchit.yapchitbackend.tasks.Deadline;
+import yapchit.yapchitbackend.tasks.Event;
+import yapchit.yapchitbackend.tasks.RecurringTask;
+import yapchit.yapchitbackend.tasks.Task;
+import yapchit.yapchitbackend.tasks.ToDo;
+import yapchit.yapchitexceptions.ArchiveException;
+import yapchit.yapchitexceptions.ConflictingEditException;
+import yapchit.yapchitexceptions.FileListParseException;
+import yapchit.yapchitexceptions.StaleStoreException;
+import yapchit.yapchitexceptions.StorageException;
+import yapchit.yapchitexceptions.YapchitException;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Scanner;
+
+/**
+ * Class that handles interactions with the external storage file.
+ * File maintains the tasks outside the Yapchit program.
+ *
+ * Each line of the file is one record. A hash of every record last read or written is kept, so that
+ * when the file is edited by another program only the records that changed have to be parsed again.
+ *
+ * Several Yapchit processes may share the file. Reads take a shared lock and writes an exclusive one on a
+ * lock file next to it, which also holds a version number increased by every write. A write only succeeds
+ * if the version is still the one last read, so a process never overwrites changes it has not seen.
+ */
+public class Storage {
+
+    /** Extension added to the file path for the copy of an external edit that was overwritten. */
+    public static final String CONFLICT_SUFFIX = ".conflict";
+
+    /** Length of a date in yyyy-mm-dd format. */
+    private static final int DONE_DATE_LENGTH = 10;
+
+    /** Hashes of the records last read from or written to the file, in file order. */
+    private long[] recordHashes = new long[0];
+    /**
+     * State of the file when it was last read or written. Replaced as a whole, so that threads checking for
+     * external changes see a consistent state while the writing thread updates it.
+     */
+    private volatile FileState known = FileState.UNKNOWN;
+
+    /**
+     * Version of the store, and modification time and length of the file, at one read or write.
+     */
+    private static final class FileState {
+        /** State before the file was first read or written. */
+        static final FileState UNKNOWN = new FileState(-1, -1, -1);
+
+        private final long version;
+        private final long modified;
+        private final long length;
+
+        FileState(long version, long modified, long length) {
+            this.version = version;
+            this.modified = modified;
+            this.length = length;
+        }
+
+        FileState(long version, File f) {
+            this(version, f.lastModified(), f.length());
+        }
+
+        boolean isChanged(File f) {
+            return f.lastModified() != modified || f.length() != length;
+        }
+    }
+
+    /**
+     * Creates new storage object.
+     */
+    public Storage() {
+    }
+
+    /**
+     * Returns the size of the file when it was last read or written.
+     *
+     * @return long size in bytes, or -1 if the file was never read or written.
+     */
+    long getKnownLength() {
+        return this.known.length;
+    }
+
+    /**
+     * Imports existing tasks from file at specified filepath and returns list as a TaskList.
+     *
+     * @param filePath Path where data is stored.
+     * @param ui User interface object to handle outputs
+     * @param handler Handler object to handle tasks.
+     * @param parser Parser object to parse input.
+     * @return TaskList containing all tasks in file.
+     * @throws YapchitException if file is not found or corrupted.
+     */
+    public TaskList importFromFile(
+            String filePath, Ui ui, Handler handler, Parser parser) throws YapchitException {
+        assert filePath != "" : "FilePath cannot be empty";
+
+        File f = new File(filePath);
+        FlightEvents.Load event = new FlightEvents.Load();
+        event.begin();
+        try (StoreLock lock = StoreLock.acquireShared(filePath)) {
+            // The version is known even if the file is missing or cannot be parsed.
+            known = new FileState(lock.getVersion(), -1, -1);
+            recordHashes = new long[0];
+
+            Scanner s;
+            try {
+                s = new Scanner(f);
+            } catch (FileNotFoundException e) {
+                throw new FileListParseException("Could not locate existing file list");
+            }
+
+            TaskList tasks = new TaskList();
+            long[] hashes = new long[16];
+            int count = 0;
+
+            while (s.hasNext()) {
+                String input = s.nextLine();
+                parseRecord(input, tasks, ui, handler, parser);
+                if (count == hashes.length) {
+                    hashes = Arrays.copyOf(hashes, count * 2);
+                }
+                hashes[count++] = hashRecord(input);
+            }
+            s.close();
+
+            recordHashes = Arrays.copyOf(hashes, count);
+            known = new FileState(lock.getVersion(), f);
+            commitLoadEvent(event, filePath, count, false);
+            return tasks;
+        } catch (IOException e) {
+            throw new FileListParseException("Could not lock the file list. " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns whether the file was changed by another program since it was last read or written.
+     *
+     * @param filePath path of the file.
+     * @return true if the store's version, or the file's modification time or length changed.
+     */
+    public boolean hasExternalChanges(String filePath) {
+        FileState state = known;
+        if (state.version == -1) {
+            return false;
+        }
+        if (state.isChanged(new File(filePath))) {
+            return true;
+        }
+        try (StoreLock lock = StoreLock.acquireShared(filePath)) {
+            return lock.getVersion() != state.version;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Brings the task list up to date with changes made to the file by another program.
+     * Records before the first and after the last changed record are kept; only the records in between
+     * are removed from the list and parsed again from the file.
+     *
+     * @param filePath path of the file.
+     * @param tasks task list last read from or written to the file.
+     * @param ui User interface object to handle outputs
+     * @param handler Handler object to handle tasks.
+     * @param parser Parser object to parse input.
+     * @return int number of records that changed, 0 if none.
+     * @throws YapchitException if the file cannot be read or a changed record cannot be parsed, in which case
+     *     the list is unchanged and the edit is still seen as unread, so saving keeps a copy of it.
+     */
+    public int reloadChangedRecords(
+            String filePath, TaskList tasks, Ui ui, Handler handler, Parser parser) throws YapchitException {
+        File f = new File(filePath);
+        FlightEvents.Load event = new FlightEvents.Load();
+        event.begin();
+        List<String> lines;
+        FileState state;
+        try (StoreLock lock = StoreLock.acquireShared(filePath)) {
+            lines = f.exists() ? Files.readAllLines(f.toPath()) : List.of();
+            state = new FileState(lock.getVersion(), f);
+        } catch (IOException e) {
+            throw new FileListParseException("Could not read the changed file list");
+        }
+
+        long[] hashes = new long[lines.size()];
+        for (int i = 0; i < hashes.length; i++) {
+            hashes[i] = hashRecord(lines.get(i));
+        }
+
+        int prefix = 0;
+        int maxCommon = Math.min(hashes.length, recordHashes.length);
+        while (prefix < maxCommon && hashes[prefix] == recordHashes[prefix]) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < maxCommon - prefix
+                && hashes[hashes.length - 1 - suffix] == recordHashes[recordHashes.length - 1 - suffix]) {
+            suffix++;
+        }
+
+        TaskList changed = new TaskList();
+        for (int i = prefix; i < hashes.length - suffix; i++) {
+            parseRecord(lines.get(i), changed, ui, handler, parser);
+        }
+
+        int removedCount = recordHashes.length - suffix - prefix;
+        if (removedCount > 0) {
+            BitSet removed = new BitSet();
+            removed.set(prefix, prefix + removedCount);
+            tasks.deleteAll(removed);
+        }
+        for (int i = 0; i < changed.getListSize(); i++) {
+            tasks.addTask(prefix + i, changed.getItem(i));
+        }
+
+        // The file only counts as read once every changed record was parsed.
+        recordHashes = hashes;
+        known = state;
+        commitLoadEvent(event, filePath, changed.getListSize(), true);
+        return Math.max(removedCount, changed.getListSize());
+    }
+
+    private void commitLoadEvent(FlightEvents.Load event, String filePath, int records, boolean isReload) {
+        if (event.shouldCommit()) {
+            event.path = filePath;
+            event.records = records;
+            event.bytesRead = known.length;
+            event.isReload = isReload;
+            event.commit();
+        }
+    }
+
+    /**
+     * Parses a record and adds the task it holds to the list.
+     */
+    static void parseRecord(String record, TaskList tasks, Ui ui, Handler handler, Parser parser)
+            throws FileListParseException {
+        String input = record;
+        LocalDate doneDate = null;
+        int at = record.length() - DONE_DATE_LENGTH - 1;
+        if (at > 0 && record.charAt(at) == '@') {
+            try {
+                doneDate = LocalDate.parse(record.substring(at + 1));
+                input = record.substring(0, at);
+            } catch (DateTimeParseException e) {
+                // Not a done date, so part of the record itself.
+            }
+        }
+
+        String[] parts = parser.parseInputParts(input);
+        try {
+            YapchitBackend.Operations k = YapchitBackend.Operations.valueOf(parts[0].toUpperCase());
+            handler.handleOperation(input, k, tasks, ui, parser, false);
+            if (doneDate != null) {
+                tasks.getItem(tasks.getListSize() - 1).setDoneDate(doneDate);
+            }
+        } catch (Exception e) {
+            throw new FileListParseException("Error in parsing file. "
+                    + "Some of the contents may be corrupted");
+        }
+    }
+
+    /**
+     * Returns a 64-bit FNV-1a hash of a record, so that changed records can be found without keeping
+     * the text of every record.
+     */
+    private static long hashRecord(String record) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < record.length(); i++) {
+            hash ^= record.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * Updates file at specified path with list of tasks for permanent storage.
+     *
+     * The file is only written if no other Yapchit process wrote it since it was last read. If another
+     * program that does not take the lock changed it, that version is kept in a copy of the file before it
+     * is overwritten. Tasks archived from the list since it was last saved are appended to the archive first,
+     * under the same lock.
+     *
+     * @param filePath Path of file to update.
+     * @param tasks List of tasks to update the file with.
+     * @param archive archive holding the tasks archived from the list, or null if the list has none.
+     * @throws StaleStoreException if another Yapchit process wrote the file, in which case nothing is written.
+     * @throws ConflictingEditException if the file was changed by another program, after the file is updated.
+     * @throws ArchiveException if the archive cannot be written, in which case nothing is written.
+     * @throws StorageException if the data file cannot be written, in which case the archive is left as it was.
+     */
+    public void updateFile(String filePath, TaskList tasks, ColdStore archive)
+            throws StaleStoreException, ConflictingEditException, ArchiveException, StorageException {
+        FlightEvents.Save event = new FlightEvents.Save();
+        event.begin();
+        StringBuilder toWrite = new StringBuilder();
+        long[] hashes = new long[tasks.getListSize()];
+        for (int i = 0; i < hashes.length; i++) {
+            String record = getTaskWriteString(tasks.getItem(i));
+            toWrite.append(record);
+            hashes[i] = hashRecord(record.substring(0, record.length() - 1));
+        }
+        File f = new File(filePath);
+
+        String conflictPath = null;
+        try (StoreLock lock = StoreLock.acquireExclusive(filePath)) {
+            FileState state = known;
+            if (state.version != -1 && lock.getVersion() != state.version) {
+                commitSaveEvent(event, filePath, hashes.length, 0, "stale");
+                throw new StaleStoreException("The task file was changed by another Yapchit window.");
+            }
+
+            if (state.modified != -1 && f.exists() && state.isChanged(f)) {
+                conflictPath = filePath + CONFLICT_SUFFIX;
+                try {
+                    Files.copy(f.toPath(), new File(conflictPath).toPath(), StandardCopyOption.REPLACE_EXISTING);
+                } catch (IOException e) {
+                    Ui.print("Error in keeping changed file. " + e.getMessage());
+                }
+            }
+
+            long archiveLength = archive == null ? -1 : archive.writePending();
+            try {
+                this.writeToFile(f.toPath(), toWrite.toString());
+            } catch (IOException e) {
+                if (archiveLength != -1) {
+                    archive.removeWritten(archiveLength);
+                }
+                throw e;
+            }
+            if (archive != null) {
+                archive.discardPending();
+            }
+            long version = lock.incrementVersion();
+            recordHashes = hashes;
+            known = new FileState(version, f);
+            commitSaveEvent(event, filePath, hashes.length, known.length, conflictPath == null ? "saved" : "conflict");
+        } catch (IOException e) {
+            commitSaveEvent(event, filePath, hashes.length, 0, "failed");
+            throw new StorageException("Could not save the task file. " + e.getMessage());
+        }
+
+        if (conflictPath != null) {
+            throw new ConflictingEditException("The task file was also changed by another program. "
+                    + "That version was kept in " + conflictPath);
+        }
+    }
+
+    private static void commitSaveEvent(FlightEvents.Save event, String filePath, int records, long bytesWritten,
+                                        String outcome) {
+        if (event.shouldCommit()) {
+            event.path = filePath;
+            event.records = records;
+            event.bytesWritten = bytesWritten;
+            event.outcome = outcome;
+            event.commit();
+        }
+    }
+
+    /**
+     * Returns the records of the tasks as they are written to the data file, one per line.
+     *
+     * @param tasks list of tasks.
+     * @return String of the records, each ending in a newline.
+     */
+    public static String getRecords(TaskList tasks) {
+        StringBuilder records = new StringBuilder();
+        for (int i = 0; i < tasks.getListSize(); i++) {
+            records.append(getTaskWriteString(tasks.getItem(i)));
+        }
+        return records.toString();
+    }
+
+    /**
+     * Returns the record of a task, ending in a newline. Records of done tasks end with the date the task
+     * was done, as in "todo read book1@2024-03-01".
+     */
+    static String getTaskWriteString(Task t) {
+        String toWrite = "";
+        String end = getRecordEnd(t);
+        if (t instanceof ToDo) {
+            toWrite = "todo "+ t.getName() + end;
+        }
+
+        if (t instanceof Event) {
+            toWrite = "event "+ t.getName()
+                    + " /from " + ((Event) t).getFrom()
+                    + " /to " + ((Event) t).getTo()
+                    + end;
+        }
+
+        if (t instanceof Deadline) {
+            toWrite = "deadline "+ t.getName()
+                    + " /by " + ((Deadline) t).getBy()
+                    + end;
+        }
+
+        if (t instanceof RecurringTask) {
+            RecurringTask r = (RecurringTask) t;
+            String done = r.getDoneRecord();
+            toWrite = "recur " + t.getName()
+                    + (r.isEvent() ? " /on " : " /by ") + r.getStart()
+                    + " /every " + r.getRecurrence().getKeyword()
+                    + (r.getUntil() == null ? "" : " /until " + r.getUntil())
+                    + (done.isEmpty() ? "" : " /done " + done)
+                    + end;
+        }
+
+        return toWrite;
+    }
+
+    /**
+     * Returns the done flag, done date and newline ending a task's record.
+     */
+    private static String getRecordEnd(Task t) {
+        if (!t.getDone()) {
+            return "0\n";
+        }
+        LocalDate doneDate = t.getDoneDate();
+        return doneDate == null ? "1\n" : "1@" + doneDate + "\n";
+    }
+
+    /**
+     * Writes the file through a temporary file that replaces it in one step, so readers that do not take
+     * the lock never see a half-written file.
+     */
+    private void writeToFile(Path file, String textToAdd) throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.writeString(tmp, textToAdd);
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
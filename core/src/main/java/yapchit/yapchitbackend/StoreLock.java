@@ -0,0 +1,192 @@
+package yapchit.yapchitbackend;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A lock on a data file shared by several processes, held through a lock file next to it.
+ * The lock file also holds the version of the store, which is increased by every write, so a process can
+ * tell whether the file was written by someone else since it last read it.
+ *
+ * Readers take a shared lock and writers an exclusive one. As the operating system lock belongs to the
+ * whole process, threads of the same process first take the read or write side of an in-process lock.
+ * Readers in the same process then share one shared operating system lock, taken by the first of them and
+ * released by the last, so reading threads never wait for each other. The version cannot change while
+ * the shared lock is held, so it is only read from the lock file when the shared lock is taken.
+ */
+class StoreLock implements AutoCloseable {
+
+    /** Extension added to the data file path for the lock file. */
+    static final String LOCK_SUFFIX = ".lock";
+
+    private static final Map<Path, PathLock> PATH_LOCKS = new ConcurrentHashMap<>();
+
+    private final PathLock pathLock;
+    private final boolean isShared;
+    /** Channel and lock of an exclusive lock; shared locks use those of their PathLock. */
+    private final FileChannel channel;
+    private final FileLock fileLock;
+    private final long version;
+
+    /**
+     * In-process side of the lock on one lock file, and the operating system lock shared by its readers.
+     */
+    private static final class PathLock {
+        private final Path lockPath;
+        private final ReentrantReadWriteLock threads = new ReentrantReadWriteLock();
+        private int readers;
+        private FileChannel sharedChannel;
+        private FileLock sharedLock;
+        private long sharedVersion;
+
+        PathLock(Path lockPath) {
+            this.lockPath = lockPath;
+        }
+
+        synchronized long addReader() throws IOException {
+            if (readers == 0) {
+                FileChannel channel = open(lockPath);
+                try {
+                    sharedLock = channel.lock(0, Long.MAX_VALUE, true);
+                    sharedVersion = readVersion(channel);
+                } catch (IOException | RuntimeException e) {
+                    channel.close();
+                    throw e;
+                }
+                sharedChannel = channel;
+            }
+            readers++;
+            return sharedVersion;
+        }
+
+        synchronized void removeReader() throws IOException {
+            if (--readers > 0) {
+                return;
+            }
+            try {
+                sharedLock.release();
+                sharedChannel.close();
+            } finally {
+                sharedLock = null;
+                sharedChannel = null;
+            }
+        }
+    }
+
+    private StoreLock(String filePath, boolean isShared) throws IOException {
+        Path lockPath = Path.of(filePath + LOCK_SUFFIX).toAbsolutePath().normalize();
+        Files.createDirectories(lockPath.getParent());
+        this.pathLock = PATH_LOCKS.computeIfAbsent(lockPath, PathLock::new);
+        this.isShared = isShared;
+
+        Lock inProcessLock = isShared ? pathLock.threads.readLock() : pathLock.threads.writeLock();
+        inProcessLock.lock();
+        try {
+            if (isShared) {
+                this.channel = null;
+                this.fileLock = null;
+                this.version = pathLock.addReader();
+            } else {
+                this.channel = open(lockPath);
+                try {
+                    this.fileLock = channel.lock(0, Long.MAX_VALUE, false);
+                    this.version = readVersion(channel);
+                } catch (IOException | RuntimeException e) {
+                    channel.close();
+                    throw e;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            inProcessLock.unlock();
+            throw e;
+        }
+    }
+
+    /**
+     * Waits for and takes a shared lock, for reading the data file.
+     *
+     * @param filePath path of the data file.
+     * @return StoreLock to close once the data file has been read.
+     * @throws IOException if the lock file cannot be opened.
+     */
+    static StoreLock acquireShared(String filePath) throws IOException {
+        return new StoreLock(filePath, true);
+    }
+
+    /**
+     * Waits for and takes an exclusive lock, for writing the data file.
+     *
+     * @param filePath path of the data file.
+     * @return StoreLock to close once the data file has been written.
+     * @throws IOException if the lock file cannot be opened.
+     */
+    static StoreLock acquireExclusive(String filePath) throws IOException {
+        return new StoreLock(filePath, false);
+    }
+
+    /**
+     * Returns the version of the store when the lock was taken, 0 if it was never written.
+     *
+     * @return long version.
+     */
+    long getVersion() {
+        return this.version;
+    }
+
+    /**
+     * Records that the data file was written, increasing the version. Requires an exclusive lock.
+     *
+     * @return long new version.
+     * @throws IOException if the lock file cannot be written.
+     */
+    long incrementVersion() throws IOException {
+        assert !isShared : "the version may only change under an exclusive lock";
+        ByteBuffer bytes = ByteBuffer.allocate(Long.BYTES).putLong(0, version + 1);
+        while (bytes.hasRemaining()) {
+            channel.write(bytes, bytes.position());
+        }
+        channel.force(false);
+        return version + 1;
+    }
+
+    private static FileChannel open(Path lockPath) throws IOException {
+        return FileChannel.open(lockPath, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+    }
+
+    private static long readVersion(FileChannel channel) throws IOException {
+        ByteBuffer bytes = ByteBuffer.allocate(Long.BYTES);
+        while (bytes.hasRemaining() && channel.read(bytes, bytes.position()) > 0) {
+            // Keep reading until the version is complete or the file ends.
+        }
+        return bytes.hasRemaining() ? 0 : bytes.getLong(0);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (isShared) {
+            try {
+                pathLock.removeReader();
+            } finally {
+                pathLock.threads.readLock().unlock();
+            }
+            return;
+        }
+
+        try {
+            fileLock.release();
+            channel.close();
+        } finally {
+            pathLock.threads.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package yapchit.yapchitbackend;
+
+import yapchit.yapchitbackend.tasks.Task;
+
+/**
+ * A change made to the task list by a command.
+ */
+public class TaskEvent {
+
+    /**
+     * Kinds of changes that can be made to the task list.
+     */
+    public enum Type {
+        ADDED,
+        DELETED,
+        MARKED,
+        UPDATED;
+    }
+
+    private final long sequence;
+    private final Type type;
+    private final int index;
+    private final Task task;
+
+    /**
+     * Creates a new event.
+     *
+     * @param sequence position of the event in the stream of events, starting from 1.
+     * @param type kind of change.
+     * @param index 0-based index of the task in the list; for deletions, its index before removal.
+     * @param task copy of the task as it was right after the change.
+     */
+    public TaskEvent(long sequence, Type type, int index, Task task) {
+        this.sequence = sequence;
+        this.type = type;
+        this.index = index;
+        this.task = task;
+    }
+
+    public long getSequence() {
+        return this.sequence;
+    }
+
+    public Type getType() {
+        return this.type;
+    }
+
+    public int getIndex() {
+        return this.index;
+    }
+
+    public Task getTask() {
+        return this.task;
+    }
+
+    @Override
+    public String toString() {
+        return "#" + sequence + " " + type + " " + (index + 1) + ". " + task;
+    }
+}
@@ -0,0 +1,347 @@
+package yapchit.yapchitbackend;
+
+import yapchit.yapchitbackend.tasks.Task;
+
+import java.util.ArrayDeque;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Flow;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Publishes the changes made to a task list as a stream of {@link TaskEvent}s.
+ *
+ * Each subscriber has its own bounded buffer. When a buffer is full, the subscriber's overflow policy
+ * decides whether its oldest event is dropped or delivery to all subscribers waits for it to catch up.
+ * In either case the command that made the change only hands the events over and never waits,
+ * so a slow subscriber cannot stall commands. Events are handed over through a queue of at most
+ * {@link #HANDOFF_CAPACITY} events; if a blocking subscriber holds delivery back until that queue is full,
+ * its oldest events are dropped too, which shows as a gap in the sequence numbers of the events.
+ */
+public class TaskEventPublisher implements Flow.Publisher<TaskEvent>, TaskListListener, AutoCloseable {
+
+    /**
+     * What to do when an event arrives for a subscriber whose buffer is full.
+     */
+    public enum OverflowPolicy {
+        /** Drop the subscriber's oldest undelivered event. */
+        DROP_OLDEST,
+        /** Hold back delivery of further events to all subscribers until the subscriber has room. */
+        BLOCK;
+    }
+
+    /** Number of undelivered events buffered per subscriber when no capacity is given. */
+    public static final int DEFAULT_BUFFER_CAPACITY = 1024;
+
+    /** Number of events waiting to be delivered to subscribers before the oldest are dropped. */
+    public static final int HANDOFF_CAPACITY = 16 * 1024;
+
+    private final int defaultCapacity;
+    private final OverflowPolicy defaultPolicy;
+    private final List<EventSubscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final LinkedBlockingQueue<TaskEvent> handoff = new LinkedBlockingQueue<>(HANDOFF_CAPACITY);
+    private final ExecutorService deliveryExecutor = WorkerThreads.newThreadPerTaskExecutor("yapchit-events-");
+    private final Thread dispatcher;
+    private volatile boolean isClosed;
+
+    /** Sequence number of the last event. Only used on the thread that changes the task list. */
+    private long sequence;
+
+    /**
+     * Creates a publisher that drops the oldest events of subscribers that fall too far behind.
+     */
+    public TaskEventPublisher() {
+        this(DEFAULT_BUFFER_CAPACITY, OverflowPolicy.DROP_OLDEST);
+    }
+
+    /**
+     * Creates a publisher with the given defaults for new subscribers.
+     *
+     * @param defaultCapacity number of undelivered events buffered per subscriber.
+     * @param defaultPolicy what to do when a subscriber's buffer is full.
+     */
+    public TaskEventPublisher(int defaultCapacity, OverflowPolicy defaultPolicy) {
+        assert defaultCapacity > 0 : "buffer capacity must be positive";
+        this.defaultCapacity = defaultCapacity;
+        this.defaultPolicy = defaultPolicy;
+        this.dispatcher = WorkerThreads.newThreadFactory("yapchit-events-dispatch-").newThread(this::dispatch);
+        dispatcher.start();
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super TaskEvent> subscriber) {
+        subscribe(subscriber, defaultCapacity, defaultPolicy);
+    }
+
+    /**
+     * Subscribes with a buffer capacity and overflow policy of the subscriber's own.
+     *
+     * @param subscriber subscriber to receive events.
+     * @param capacity number of undelivered events buffered for the subscriber.
+     * @param policy what to do when the subscriber's buffer is full.
+     */
+    public void subscribe(Flow.Subscriber<? super TaskEvent> subscriber, int capacity, OverflowPolicy policy) {
+        EventSubscription subscription = new EventSubscription(subscriber, capacity, policy);
+        subscriptions.add(subscription);
+        subscriber.onSubscribe(subscription);
+    }
+
+    /**
+     * Returns the number of current subscribers.
+     *
+     * @return int number of subscribers.
+     */
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    @Override
+    public void tasksReset(List<Task> tasks) {
+        // Loading a list is not a change made by a command.
+    }
+
+    @Override
+    public void taskAdded(int index, Task task) {
+        if (!subscriptions.isEmpty()) {
+            handOver(new TaskEvent(++sequence, TaskEvent.Type.ADDED, index, task.copy()));
+        }
+    }
+
+    @Override
+    public void tasksRemoved(BitSet indices) {
+        // Handled with the removed tasks by tasksRemoved(BitSet, List).
+    }
+
+    @Override
+    public void tasksRemoved(BitSet indices, List<Task> removed) {
+        publish(TaskEvent.Type.DELETED, indices, removed);
+    }
+
+    @Override
+    public void tasksUpdated(BitSet indices) {
+        // Handled with the updated tasks by tasksUpdated(BitSet, List).
+    }
+
+    @Override
+    public void tasksUpdated(BitSet indices, List<Task> updated) {
+        publish(TaskEvent.Type.UPDATED, indices, updated);
+    }
+
+    @Override
+    public void tasksMarked(BitSet indices, List<Task> marked) {
+        publish(TaskEvent.Type.MARKED, indices, marked);
+    }
+
+    private void publish(TaskEvent.Type type, BitSet indices, List<Task> changed) {
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+
+        int i = indices.nextSetBit(0);
+        for (Task t : changed) {
+            handOver(new TaskEvent(++sequence, type, i, t.copy()));
+            i = indices.nextSetBit(i + 1);
+        }
+    }
+
+    private void handOver(TaskEvent event) {
+        while (!handoff.offer(event)) {
+            handoff.poll();
+        }
+    }
+
+    private void dispatch() {
+        while (true) {
+            TaskEvent event;
+            try {
+                event = isClosed ? handoff.poll() : handoff.take();
+            } catch (InterruptedException e) {
+                // Woken by close(); the events already handed over are still passed on.
+                continue;
+            }
+            if (event == null) {
+                break;
+            }
+            for (EventSubscription s : subscriptions) {
+                s.offer(event);
+            }
+        }
+
+        for (EventSubscription s : subscriptions) {
+            s.complete();
+        }
+    }
+
+    /**
+     * Completes all subscriptions once the events already handed over have been passed to their buffers.
+     * Subscribers still receive their buffered events as they request them. A blocking subscriber whose
+     * buffer is full no longer holds delivery back, but has its oldest events dropped, so closing never
+     * waits for a subscriber. The delivery threads are stopped once they have run out of events; events
+     * requested after that are delivered on the thread that requests them. Closing again does nothing.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (isClosed) {
+                return;
+            }
+            isClosed = true;
+        }
+        for (EventSubscription s : subscriptions) {
+            s.wake();
+        }
+        dispatcher.interrupt();
+        try {
+            dispatcher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        deliveryExecutor.shutdown();
+    }
+
+    /**
+     * Buffer and demand of one subscriber. Events are delivered on a delivery thread, one at a time.
+     */
+    private class EventSubscription implements Flow.Subscription {
+        private final Flow.Subscriber<? super TaskEvent> subscriber;
+        private final int capacity;
+        private final OverflowPolicy policy;
+        private final ArrayDeque<TaskEvent> buffer = new ArrayDeque<>();
+        /** Number of pending requests to drain; only one delivery thread runs at a time. */
+        private final AtomicInteger wip = new AtomicInteger();
+
+        private long demand;
+        private boolean isCancelled;
+        private boolean isCompleting;
+        private boolean isDone;
+        private Throwable error;
+
+        private EventSubscription(Flow.Subscriber<? super TaskEvent> subscriber, int capacity, OverflowPolicy policy) {
+            assert capacity > 0 : "buffer capacity must be positive";
+            this.subscriber = subscriber;
+            this.capacity = capacity;
+            this.policy = policy;
+        }
+
+        private void offer(TaskEvent event) {
+            synchronized (this) {
+                while (buffer.size() >= capacity && !isCancelled) {
+                    if (policy == OverflowPolicy.DROP_OLDEST || isClosed) {
+                        buffer.pollFirst();
+                        continue;
+                    }
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        // Woken by close(), after which the oldest events are dropped instead.
+                    }
+                }
+                if (isCancelled) {
+                    return;
+                }
+                buffer.addLast(event);
+            }
+            schedule();
+        }
+
+        private synchronized void wake() {
+            notifyAll();
+        }
+
+        private void complete() {
+            synchronized (this) {
+                isCompleting = true;
+            }
+            schedule();
+        }
+
+        @Override
+        public void request(long n) {
+            synchronized (this) {
+                if (n <= 0) {
+                    error = new IllegalArgumentException("Requested " + n + " events, must be positive");
+                } else {
+                    demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+                }
+            }
+            schedule();
+        }
+
+        @Override
+        public synchronized void cancel() {
+            isCancelled = true;
+            buffer.clear();
+            notifyAll();
+            subscriptions.remove(this);
+        }
+
+        private void schedule() {
+            if (wip.getAndIncrement() == 0) {
+                try {
+                    deliveryExecutor.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    // The publisher was closed; deliver on this thread instead.
+                    drain();
+                }
+            }
+        }
+
+        private void drain() {
+            int missed = 1;
+            do {
+                while (true) {
+                    TaskEvent next = null;
+                    Throwable failure = null;
+                    boolean isCompleted = false;
+
+                    synchronized (this) {
+                        if (isCancelled || isDone) {
+                            break;
+                        }
+                        if (error != null) {
+                            failure = error;
+                        } else if (demand > 0 && !buffer.isEmpty()) {
+                            next = buffer.pollFirst();
+                            if (demand != Long.MAX_VALUE) {
+                                demand--;
+                            }
+                            notifyAll();
+                        } else if (isCompleting && buffer.isEmpty()) {
+                            isCompleted = true;
+                        } else {
+                            break;
+                        }
+                    }
+
+                    if (failure != null || isCompleted) {
+                        finish(failure);
+                        break;
+                    }
+                    try {
+                        subscriber.onNext(next);
+                    } catch (RuntimeException e) {
+                        finish(e);
+                        break;
+                    }
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void finish(Throwable failure) {
+            synchronized (this) {
+                isDone = true;
+            }
+            cancel();
+            if (failure == null) {
+                subscriber.onComplete();
+            } else {
+                subscriber.onError(failure);
+            }
+        }
+    }
+}
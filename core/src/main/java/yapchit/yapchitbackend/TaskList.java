@@ -0,0 +1,338 @@
+package yapchit.yapchitbackend;
+
+import yapchit.yapchitbackend.tasks.Deadline;
+import yapchit.yapchitbackend.tasks.Occurrence;
+import yapchit.yapchitbackend.tasks.RecurringTask;
+import yapchit.yapchitbackend.tasks.Task;
+import yapchit.yapchitexceptions.InvalidDetailException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+/**
+ * Encapsulates an arraylist of tasks and performs necessary operations to manipulate it.
+ */
+public class TaskList {
+
+    /** Lists at least this large are scanned on the fork/join pool when evaluating predicates. */
+    private static final int PARALLEL_THRESHOLD = 10_000;
+
+    private ArrayList<Task> tasks;
+
+    /** Listeners notified of changes. Replaced rather than modified, so it can be iterated while changing. */
+    private List<TaskListListener> listeners = List.of();
+
+    /**
+     * Initates new TaskList instance.
+     */
+    public TaskList() {
+        this.tasks = new ArrayList<>();
+    }
+
+    /**
+     * Deletes item from list.
+     *
+     * @param idx index of item to delete.
+     */
+    public void delete(int idx) {
+        Task removed = this.tasks.remove(idx);
+        if (!listeners.isEmpty()) {
+            fireTasksRemoved(singleIndex(idx), List.of(removed));
+        }
+    }
+
+    /**
+     * Deletes all items whose indices are set in the given selection.
+     * Remaining items are compacted in a single pass, preserving their order.
+     *
+     * @param selection indices of items to delete.
+     * @return TaskList containing the deleted items, in list order.
+     */
+    public TaskList deleteAll(BitSet selection) {
+        TaskList deleted = new TaskList();
+        int write = 0;
+        for (int read = 0; read < tasks.size(); read++) {
+            Task t = tasks.get(read);
+            if (selection.get(read)) {
+                deleted.addTask(t);
+            } else {
+                tasks.set(write++, t);
+            }
+        }
+        tasks.subList(write, tasks.size()).clear();
+        if (!deleted.tasks.isEmpty() && !listeners.isEmpty()) {
+            fireTasksRemoved(selection, Collections.unmodifiableList(deleted.tasks));
+        }
+        return deleted;
+    }
+
+    /**
+     * Marks item as completed or incomplete.
+     *
+     * @param idx item to be marked.
+     * @param isDone boolean.
+     * @throws InvalidDetailException if the mark detail is invalid.
+     */
+    public void mark(int idx, boolean isDone) throws InvalidDetailException {
+        mark(idx, isDone, LocalDate.now());
+    }
+
+    /**
+     * Marks item as completed or incomplete, recording the given date if it becomes completed.
+     *
+     * @param idx item to be marked.
+     * @param isDone boolean.
+     * @param doneDate date the item is done on.
+     * @throws InvalidDetailException if the mark detail is invalid.
+     */
+    public void mark(int idx, boolean isDone, LocalDate doneDate) throws InvalidDetailException {
+
+        if (idx >= tasks.size()) {
+            throw new InvalidDetailException("Invalid item index, please try again.");
+        } else {
+            tasks.get(idx).setDone(isDone, doneDate);
+            if (!listeners.isEmpty()) {
+                fireTasksMarked(singleIndex(idx), List.of(tasks.get(idx)));
+            }
+        }
+    }
+
+    /**
+     * Marks the occurrence of a recurring task on a given date as completed or incomplete.
+     *
+     * @param idx index of the recurring task.
+     * @param date date of the occurrence.
+     * @param isDone boolean.
+     * @return Occurrence that was marked.
+     * @throws InvalidDetailException if the task is not recurring or does not fall on that date.
+     */
+    public Occurrence markOccurrence(int idx, LocalDate date, boolean isDone) throws InvalidDetailException {
+        if (idx < 0 || idx >= tasks.size()) {
+            throw new InvalidDetailException("Invalid item index, please try again.");
+        }
+        if (!(tasks.get(idx) instanceof RecurringTask)) {
+            throw new InvalidDetailException("Only recurring tasks can be marked for a date.");
+        }
+
+        RecurringTask rule = (RecurringTask) tasks.get(idx);
+        long occurrence = rule.getOccurrenceIndex(date);
+        if (occurrence == -1) {
+            throw new InvalidDetailException("The task does not fall on " + date + ".");
+        }
+
+        rule.setOccurrenceDone(occurrence, isDone);
+        if (!listeners.isEmpty()) {
+            fireTasksMarked(singleIndex(idx), List.of(rule));
+        }
+        return new Occurrence(rule, occurrence);
+    }
+
+    /**
+     * Marks all items whose indices are set in the given selection as completed or incomplete.
+     *
+     * @param selection indices of items to mark.
+     * @param isDone boolean.
+     * @return TaskList containing the marked items, in list order.
+     */
+    public TaskList markAll(BitSet selection, boolean isDone) {
+        return markAll(selection, isDone, LocalDate.now());
+    }
+
+    /**
+     * Marks all items whose indices are set in the given selection as completed or incomplete,
+     * recording the given date for those that become completed.
+     *
+     * @param selection indices of items to mark.
+     * @param isDone boolean.
+     * @param doneDate date the items are done on.
+     * @return TaskList containing the marked items, in list order.
+     */
+    public TaskList markAll(BitSet selection, boolean isDone, LocalDate doneDate) {
+        TaskList marked = new TaskList();
+        for (int i = selection.nextSetBit(0); i >= 0 && i < tasks.size(); i = selection.nextSetBit(i + 1)) {
+            Task t = tasks.get(i);
+            t.setDone(isDone, doneDate);
+            marked.addTask(t);
+        }
+        if (!marked.tasks.isEmpty() && !listeners.isEmpty()) {
+            fireTasksMarked(selection, Collections.unmodifiableList(marked.tasks));
+        }
+        return marked;
+    }
+
+    /**
+     * Adds task to list.
+     *
+     * @param t task to add.
+     */
+    public void addTask(Task t) {
+        tasks.add(t);
+        for (TaskListListener listener : listeners) {
+            listener.taskAdded(tasks.size() - 1, t);
+        }
+    }
+
+    /**
+     * Inserts task into list at the given index.
+     *
+     * @param idx index to insert at, from 0 to the size of the list.
+     * @param t task to add.
+     */
+    public void addTask(int idx, Task t) {
+        tasks.add(idx, t);
+        for (TaskListListener listener : listeners) {
+            listener.taskAdded(idx, t);
+        }
+    }
+
+    /**
+     * Notifies listeners that the details of the task at the given index have changed.
+     *
+     * @param idx index of the changed task.
+     */
+    public void notifyUpdated(int idx) {
+        if (!listeners.isEmpty()) {
+            BitSet updated = singleIndex(idx);
+            for (TaskListListener listener : listeners) {
+                listener.tasksUpdated((BitSet) updated.clone(), List.of(tasks.get(idx)));
+            }
+        }
+    }
+
+    /**
+     * Starts notifying the listener of changes to this list.
+     * The listener immediately receives a snapshot of the current tasks.
+     *
+     * @param listener listener to notify.
+     */
+    public void addListener(TaskListListener listener) {
+        ArrayList<TaskListListener> updated = new ArrayList<>(listeners);
+        updated.add(listener);
+        listeners = List.copyOf(updated);
+        listener.tasksReset(List.copyOf(tasks));
+    }
+
+    /**
+     * Stops notifying the listener of changes to this list.
+     *
+     * @param listener listener to remove.
+     */
+    public void removeListener(TaskListListener listener) {
+        ArrayList<TaskListListener> updated = new ArrayList<>(listeners);
+        updated.remove(listener);
+        listeners = List.copyOf(updated);
+    }
+
+    private void fireTasksRemoved(BitSet indices, List<Task> removed) {
+        for (TaskListListener listener : listeners) {
+            listener.tasksRemoved((BitSet) indices.clone(), removed);
+        }
+    }
+
+    private void fireTasksMarked(BitSet indices, List<Task> marked) {
+        for (TaskListListener listener : listeners) {
+            listener.tasksMarked((BitSet) indices.clone(), marked);
+        }
+    }
+
+    private static BitSet singleIndex(int idx) {
+        BitSet indices = new BitSet();
+        indices.set(idx);
+        return indices;
+    }
+
+    /**
+     * Returns size of list.
+     *
+     * @return int: the size of list.
+     */
+    public int getListSize() {
+        return this.tasks.size();
+    }
+
+    /**
+     * Returns item at specified index in list.
+     *
+     * @param i index of task to locate.
+     * @return Task that is at the specified index.
+     */
+    public Task getItem(int i) {
+        return this.tasks.get(i);
+    }
+
+
+    /**
+     * Finds list of tasks that have a specific search term.
+     *
+     * @param term search term.
+     * @return TaskList with names that have search term.
+     */
+    public TaskList findSublist(String term) {
+        TaskList sublist = new TaskList();
+
+        for (Task task : tasks) {
+            if(task.getName().contains(term)){
+                sublist.addTask(task);
+            }
+        }
+        return sublist;
+    }
+
+    /**
+     * Finds the deadlines and occurrences of recurring tasks falling between two dates, in date order.
+     * Occurrences are created only for the dates in the range.
+     *
+     * @param from first date of the range.
+     * @param to last date of the range.
+     * @param predicate condition a task must satisfy to be included.
+     * @return TaskList with the matching deadlines and occurrences.
+     */
+    public TaskList findDue(LocalDate from, LocalDate to, Predicate<Task> predicate) {
+        ArrayList<Task> due = new ArrayList<>();
+        for (Task task : tasks) {
+            if (!predicate.test(task)) {
+                continue;
+            }
+
+            if (task instanceof RecurringTask) {
+                ((RecurringTask) task).getOccurrences(from, to).forEach(due::add);
+            } else if (task instanceof Deadline) {
+                LocalDate by = ((Deadline) task).getBy();
+                if (!by.isBefore(from) && !by.isAfter(to)) {
+                    due.add(task);
+                }
+            }
+        }
+        due.sort(Comparator.comparing(TaskList::getDueDate));
+
+        TaskList sublist = new TaskList();
+        sublist.tasks = due;
+        return sublist;
+    }
+
+    private static LocalDate getDueDate(Task task) {
+        return task instanceof Occurrence ? ((Occurrence) task).getDate() : ((Deadline) task).getBy();
+    }
+
+    /**
+     * Finds indices of all tasks matching the given predicate.
+     * Large lists are evaluated in parallel on the common fork/join pool.
+     *
+     * @param predicate condition a task must satisfy to be selected.
+     * @return BitSet with the indices of matching tasks set.
+     */
+    public BitSet findIndices(Predicate<Task> predicate) {
+        IntStream range = IntStream.range(0, tasks.size());
+        if (tasks.size() >= PARALLEL_THRESHOLD) {
+            range = range.parallel();
+        }
+        return range.filter(i -> predicate.test(tasks.get(i)))
+                .collect(BitSet::new, BitSet::set, BitSet::or);
+    }
+}
@@ -0,0 +1,75 @@
+package yapchit.yapchitbackend;
+
+import yapchit.yapchitbackend.tasks.Task;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Receives fine-grained notifications of changes to a TaskList.
+ * Notifications are delivered on the thread that changed the list, in the order the changes happened.
+ */
+public interface TaskListListener {
+
+    /**
+     * Called when the listener starts watching a list, or when the list being watched is replaced.
+     *
+     * @param tasks snapshot of all tasks in the list.
+     */
+    void tasksReset(List<Task> tasks);
+
+    /**
+     * Called after a task is added to the list.
+     *
+     * @param index index of the added task.
+     * @param task the added task.
+     */
+    void taskAdded(int index, Task task);
+
+    /**
+     * Called after tasks are removed from the list.
+     *
+     * @param indices indices the removed tasks had before removal.
+     */
+    void tasksRemoved(BitSet indices);
+
+    /**
+     * Called after the details of tasks in the list change.
+     *
+     * @param indices indices of the changed tasks.
+     */
+    void tasksUpdated(BitSet indices);
+
+    /**
+     * Called after tasks are removed from the list, with the removed tasks.
+     * By default only the indices are passed on to {@link #tasksRemoved(BitSet)}.
+     *
+     * @param indices indices the removed tasks had before removal.
+     * @param removed the removed tasks, in list order.
+     */
+    default void tasksRemoved(BitSet indices, List<Task> removed) {
+        tasksRemoved(indices);
+    }
+
+    /**
+     * Called after the details of tasks in the list change, with the changed tasks.
+     * By default only the indices are passed on to {@link #tasksUpdated(BitSet)}.
+     *
+     * @param indices indices of the changed tasks.
+     * @param updated the changed tasks, in list order.
+     */
+    default void tasksUpdated(BitSet indices, List<Task> updated) {
+        tasksUpdated(indices);
+    }
+
+    /**
+     * Called after tasks in the list are marked as done or not done, with the marked tasks.
+     * By default this is reported as an update through {@link #tasksUpdated(BitSet, List)}.
+     *
+     * @param indices indices of the marked tasks.
+     * @param marked the marked tasks, in list order.
+     */
+    default void tasksMarked(BitSet indices, List<Task> marked) {
+        tasksUpdated(indices, marked);
+    }
+}
@@ -0,0 +1,211 @@
+package yapchit.yapchitbackend;
+
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel holding items until a time is reached.
+ *
+ * The first wheel has one slot per tick. Items too far ahead for it go into an overflow wheel whose slots
+ * each span a whole turn of the wheel below, and so on, with overflow wheels created only when needed.
+ * As time advances, slots of the first wheel are emptied and slots of higher wheels are moved down one
+ * level. Adding and cancelling an item take constant time, and advancing only looks at the slots that
+ * time passed over, so the cost does not grow with the number of items waiting.
+ *
+ * Not thread-safe; callers must hold their own lock.
+ *
+ * @param <T> type of item held.
+ */
+class TimingWheel<T> {
+
+    /**
+     * An item waiting in the wheel. Entries are linked into the slot they wait in, so that they can be
+     * removed without searching for them.
+     *
+     * @param <T> type of item held.
+     */
+    static final class Entry<T> {
+        private final T item;
+        private final long expiry;
+        private Entry<T> prev;
+        private Entry<T> next;
+        private Slot<T> slot;
+
+        private Entry(T item, long expiry) {
+            this.item = item;
+            this.expiry = expiry;
+        }
+
+        T getItem() {
+            return item;
+        }
+
+        long getExpiry() {
+            return expiry;
+        }
+    }
+
+    private static final class Slot<T> {
+        /** Sentinel of a circular list of entries. */
+        private final Entry<T> head = new Entry<>(null, 0);
+
+        Slot() {
+            head.prev = head;
+            head.next = head;
+        }
+
+        void add(Entry<T> e) {
+            e.prev = head.prev;
+            e.next = head;
+            head.prev.next = e;
+            head.prev = e;
+            e.slot = this;
+        }
+
+        void remove(Entry<T> e) {
+            e.prev.next = e.next;
+            e.next.prev = e.prev;
+            e.prev = null;
+            e.next = null;
+            e.slot = null;
+        }
+
+        void drainTo(Consumer<Entry<T>> action) {
+            Entry<T> e = head.next;
+            head.prev = head;
+            head.next = head;
+            while (e != head) {
+                Entry<T> next = e.next;
+                e.prev = null;
+                e.next = null;
+                e.slot = null;
+                action.accept(e);
+                e = next;
+            }
+        }
+    }
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final long interval;
+    private final Slot<T>[] slots;
+    /** Start of the current tick, a multiple of tickMillis. */
+    private long currentTime;
+    private TimingWheel<T> overflow;
+    private int size;
+
+    /**
+     * Creates a timing wheel starting at the given time.
+     *
+     * @param tickMillis length of a slot of the first wheel in milliseconds.
+     * @param wheelSize number of slots in each wheel.
+     * @param startMillis time to start at.
+     */
+    TimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        assert tickMillis > 0 && wheelSize > 1 : "wheel must have a positive tick and at least two slots";
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.interval = tickMillis * wheelSize;
+        this.currentTime = startMillis - Math.floorMod(startMillis, tickMillis);
+        this.slots = newSlots(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            slots[i] = new Slot<>();
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T> Slot<T>[] newSlots(int size) {
+        return (Slot<T>[]) new Slot[size];
+    }
+
+    /**
+     * Adds an item to be taken out once the given time is reached.
+     *
+     * @param item item to hold.
+     * @param expiryMillis time at which the item is due.
+     * @return Entry to cancel the item with, or null if the time is already reached.
+     */
+    Entry<T> add(T item, long expiryMillis) {
+        Entry<T> e = new Entry<>(item, expiryMillis);
+        if (!insert(e)) {
+            return null;
+        }
+        size++;
+        return e;
+    }
+
+    private boolean insert(Entry<T> e) {
+        if (e.expiry < currentTime + tickMillis) {
+            return false;
+        }
+
+        if (e.expiry < currentTime + interval) {
+            slots[(int) Math.floorMod(e.expiry / tickMillis, (long) wheelSize)].add(e);
+            return true;
+        }
+
+        if (overflow == null) {
+            overflow = new TimingWheel<>(interval, wheelSize, currentTime);
+        }
+        return overflow.insert(e);
+    }
+
+    /**
+     * Removes an item before it is due.
+     *
+     * @param e entry returned when the item was added.
+     * @return true if the item was still waiting.
+     */
+    boolean cancel(Entry<T> e) {
+        if (e.slot == null) {
+            return false;
+        }
+        e.slot.remove(e);
+        size--;
+        return true;
+    }
+
+    /**
+     * Returns the number of items waiting.
+     *
+     * @return int number of items.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Moves the wheel forward to the given time, passing every item that became due to the action.
+     * Items due in the same tick are passed on together, in no particular order.
+     *
+     * @param nowMillis time to advance to.
+     * @param due action receiving the items that are due.
+     */
+    void advance(long nowMillis, Consumer<T> due) {
+        advanceEntries(nowMillis, e -> {
+            if (!insert(e)) {
+                size--;
+                due.accept(e.item);
+            }
+        });
+    }
+
+    private void advanceEntries(long nowMillis, Consumer<Entry<T>> reinsert) {
+        if (nowMillis < currentTime + tickMillis) {
+            return;
+        }
+
+        // After a whole turn every slot has been passed over, however long the wheel was not advanced.
+        long ticks = Math.min((nowMillis - currentTime) / tickMillis, wheelSize);
+        for (long i = 0; i < ticks; i++) {
+            currentTime += tickMillis;
+            slots[(int) Math.floorMod(currentTime / tickMillis, (long) wheelSize)].drainTo(reinsert);
+        }
+        currentTime = nowMillis - Math.floorMod(nowMillis, tickMillis);
+        // The slot now being entered may hold items from earlier turns that are already due.
+        slots[(int) Math.floorMod(currentTime / tickMillis, (long) wheelSize)].drainTo(reinsert);
+
+        if (overflow != null) {
+            overflow.advanceEntries(nowMillis, reinsert);
+        }
+    }
+}
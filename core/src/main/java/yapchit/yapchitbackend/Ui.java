@@ -0,0 +1,349 @@
+package yapchit.yapchitbackend;
+
+import yapchit.yapchitbackend.tasks.Task;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Ui class is responsible for providing an interface to interact with users.
+ */
+public class Ui {
+
+    /** Number of tasks shown per page when no page size is given. */
+    public static final int DEFAULT_PAGE_SIZE = 100;
+
+    /**
+     * Total time each thread spent writing lists of tasks, so the backend can time rendering apart from
+     * handling. Kept per thread, so read-only commands running at the same time do not see each other's.
+     */
+    private final ThreadLocal<long[]> renderNanos = ThreadLocal.withInitial(() -> new long[1]);
+
+    /** Output pages of tasks are written to as they are rendered, or null to return them instead. */
+    private final Appendable listOutput;
+
+    /**
+     * Constructs a new Ui instance.
+     */
+    public Ui() {
+        this(null);
+    }
+
+    /**
+     * Constructs a Ui that writes pages of tasks straight to the given output as they are rendered,
+     * instead of returning them, so a console shows long lists without first building them in memory.
+     *
+     * @param listOutput output to write pages of tasks to, or null to return them.
+     */
+    public Ui(Appendable listOutput) {
+        this.listOutput = listOutput;
+    }
+
+    /**
+     * Returns the total time this Ui has spent writing lists of tasks on the calling thread.
+     *
+     * @return long time in nanoseconds.
+     */
+    long getRenderNanos() {
+        return renderNanos.get()[0];
+    }
+
+    /**
+     * Returns Yapchit intro message.
+     */
+    public String printIntro() {
+        String intro = Ui.printLine() + "\n"
+                + "\tHello! I'm Yapchit\n"
+                + "\tWhat can I do for you?\n"
+                + Ui.printLine();
+        return intro;
+    }
+
+    /**
+     * Returns Yapchit outro message.
+     */
+    public String printOutro() {
+        String outro = Ui.printLine() + "\n"
+                + "\tBye. Hope to see you again soon!\n"
+                + Ui.printLine() + "\n"
+                + "\t Press enter to close window.";
+        return outro;
+    }
+
+    /**
+     * Returns error message if there is an issue in loading tasks from existing file.
+     */
+    public String printTasklistLoadError() {
+        return "\tUnable to load existing list from file."
+                + "\n\tThis could be due to missing file.";
+    }
+
+    /**
+     * Returns message to signal that tasks were reloaded after the file was changed by another program.
+     *
+     * @param changed Number of changed tasks.
+     */
+    public String printReloaded(int changed) {
+        String temp = changed == 1 ? "task was" : "tasks were";
+        return "\t" + changed + " " + temp + " changed in the task file by another program and reloaded.";
+    }
+
+    /**
+     * Returns message to signal that task has been added to a list.
+     *
+     * @param t The added task.
+     * @param size Size of task list to be printed.
+     */
+    public String printTaskAdd(Task t, int size) {
+        String temp = size == 1 ? "task" : "tasks";
+
+        String output =  Ui.printLine() + "\n"
+        + "\tGot it. I've added this task:\n"
+        + "\t\t"+ t.toString() + "\n"
+        + "\tNow you have " + size +" " + temp + " in the list\n"
+        + Ui.printLine();
+
+        return output;
+    }
+
+    /**
+     * Returns message to signal that task has been deleted from a list.
+     *
+     * @param t    The deleted task.
+     * @param size Size of task list to be printed.
+     */
+    public String printTaskDelete(Task t, int size) {
+        String temp = size == 1 ? "task" : "tasks";
+
+        String output = Ui.printLine() + "\n"
+        + "\tNoted. I've removed this task:\n"
+        + "\t\t" + t.toString() + "\n"
+        + "\tNow you have " + size +" " + temp + " in the list\n"
+        + Ui.printLine();
+
+        return output;
+    }
+
+    /**
+     * Returns message to signal that task has been marked or unmarked.
+     *
+     * @param t    The task in question
+     * @param isDone Boolean that indicates whether the task is completed or not.
+     */
+    public String printTaskMark(Task t, boolean isDone) {
+        String output = Ui.printLine() + "\n";
+
+        if (isDone) {
+            output = output + "\t" + "Nice! I've marked this task as done:\n"
+            + "\t\t" + t.toString();
+        } else {
+            output = output + "\t" + "OK, I've marked this task as not done yet:\n"
+            + "\t\t" + t.toString();
+        }
+
+        output = output + "\n" + Ui.printLine();
+
+        return output;
+    }
+
+    /**
+     * Returns message to signal that several tasks have been marked or unmarked.
+     *
+     * @param marked The tasks that were marked.
+     * @param isDone Boolean that indicates whether the tasks are completed or not.
+     */
+    public String printTasksMark(TaskList marked, boolean isDone) {
+        String temp = marked.getListSize() == 1 ? "task" : "tasks";
+        String message = isDone
+                ? "Nice! I've marked " + marked.getListSize() + " " + temp + " as done:"
+                : "OK, I've marked " + marked.getListSize() + " " + temp + " as not done yet:";
+
+        return printList(marked, message);
+    }
+
+    /**
+     * Returns message to signal that several tasks have been deleted from a list.
+     *
+     * @param deleted The deleted tasks.
+     * @param size Size of task list after deletion.
+     */
+    public String printTasksDelete(TaskList deleted, int size) {
+        String temp = size == 1 ? "task" : "tasks";
+        String message = "Noted. I've removed " + deleted.getListSize() + " of your tasks"
+                + " (" + size + " " + temp + " left in the list):";
+
+        return printList(deleted, message);
+    }
+
+    /**
+     * Returns message to signal that tasks have been moved to the archive.
+     *
+     * @param archived The archived tasks.
+     * @param size Size of task list after archiving.
+     */
+    public String printTasksArchive(TaskList archived, int size) {
+        if (archived.getListSize() == 0) {
+            return Ui.printLine() + "\n\tThere are no done tasks to archive.\n" + Ui.printLine();
+        }
+
+        String temp = size == 1 ? "task" : "tasks";
+        String message = "Done! I've archived " + archived.getListSize() + " of your tasks"
+                + " (" + size + " " + temp + " left in the list). Use 'find --all' to search them:";
+
+        return printList(archived, message);
+    }
+
+    /**
+     * Prints message that task has been updated.
+     *
+     * @param t the task that is updated.
+     * @return String the returned message.
+     */
+    public String printTaskUpdate(Task t) {
+        String output = Ui.printLine() + "\n";
+
+        output = output + "\t" + "Ok! I've updated this task:\n"
+                + "\t\t" + t.toString();
+        output = output + "\n" + Ui.printLine();
+
+        return output;
+    }
+
+    /**
+     * Returns message reminding the user of tasks that have become due.
+     * Only the first page of reminders is shown if there are many.
+     *
+     * @param reminders The reminders that are due, in date order.
+     */
+    public String printReminders(List<Reminder> reminders) {
+        TaskList due = new TaskList();
+        for (Reminder r : reminders) {
+            due.addTask(r.getTask());
+        }
+
+        String temp = reminders.size() == 1 ? "task is" : "tasks are";
+        return printListPage(due, "Reminder! " + reminders.size() + " " + temp + " due:", 1, DEFAULT_PAGE_SIZE);
+    }
+
+    /**
+     * Returns the list of tasks currently stored in the TaskList (both completed or incomplete).
+     *
+     * @param tasks The TaskList in question.
+     * @param message the message to print above the list.
+     */
+    public String printList(TaskList tasks, String message) {
+        long start = System.nanoTime();
+        StringBuilder output = new StringBuilder();
+        try {
+            writeList(tasks, message, 0, tasks.getListSize(), output);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        String s = output.toString();
+        renderNanos.get()[0] += System.nanoTime() - start;
+        return s;
+    }
+
+    /**
+     * Returns one page of the tasks stored in the TaskList.
+     * Tasks keep their position in the full list as their number.
+     * If this Ui was given an output for lists, the page is written to it instead and nothing is returned.
+     *
+     * @param tasks The TaskList in question.
+     * @param message the message to print above the list.
+     * @param page the 1-based page to print.
+     * @param pageSize the number of tasks per page.
+     */
+    public String printListPage(TaskList tasks, String message, int page, int pageSize) {
+        long start = System.nanoTime();
+        StringBuilder output = listOutput == null ? new StringBuilder() : null;
+        try {
+            writeListPage(tasks, message, page, pageSize, listOutput == null ? output : listOutput);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        String s = output == null ? "" : output.toString();
+        renderNanos.get()[0] += System.nanoTime() - start;
+        return s;
+    }
+
+    /**
+     * Writes one page of the tasks stored in the TaskList to the given output, line by line.
+     * A footer indicating the current page is added when the list spans several pages.
+     * Output that is {@link Flushable}, such as System.out, is flushed once the page is written.
+     *
+     * @param tasks The TaskList in question.
+     * @param message the message to print above the list.
+     * @param page the 1-based page to print.
+     * @param pageSize the number of tasks per page.
+     * @param out the output to write to.
+     * @throws IOException if the output cannot be written to.
+     */
+    public void writeListPage(TaskList tasks, String message, int page, int pageSize, Appendable out)
+            throws IOException {
+        assert page >= 1 && pageSize >= 1 : "page and page size must be positive";
+
+        int size = tasks.getListSize();
+        int from = (int) Math.min((long) (page - 1) * pageSize, size);
+        int to = (int) Math.min((long) from + pageSize, size);
+        writeList(tasks, message, from, to, out);
+
+        if (size > pageSize) {
+            int pageCount = getPageCount(size, pageSize);
+            out.append("\n\tShowing tasks ").append(String.valueOf(from + 1)).append('-').append(String.valueOf(to))
+                    .append(" of ").append(String.valueOf(size))
+                    .append(" (page ").append(String.valueOf(page)).append(" of ").append(String.valueOf(pageCount))
+                    .append(")");
+        }
+
+        if (out instanceof Flushable) {
+            ((Flushable) out).flush();
+        }
+    }
+
+    private void writeList(TaskList tasks, String message, int from, int to, Appendable out) throws IOException {
+        out.append(Ui.printLine()).append("\n")
+                .append("\t").append(message).append("\n");
+
+        for (int i = from; i < to; i++) {
+            int idx = i + 1;
+            Task item = tasks.getItem(i);
+            out.append("\t").append(String.valueOf(idx)).append(".").append(item.toString()).append("\n");
+        }
+
+        out.append(Ui.printLine());
+    }
+
+    /**
+     * Returns the number of pages needed to show a list.
+     *
+     * @param size number of tasks in the list.
+     * @param pageSize number of tasks per page.
+     * @return int number of pages, at least 1.
+     */
+    public static int getPageCount(int size, int pageSize) {
+        return Math.max(1, (int) (((long) size + pageSize - 1) / pageSize));
+    }
+
+    /**
+     * Returns a line of dashes.
+     *
+     * @return line of dashes.
+     */
+    public static String printLine() {
+        return "\t--------------------------------------------------";
+    }
+
+    /**
+     * Wraps over System print functionality for ease of use.
+     *
+     * @param o Object to be printed.
+     */
+    public static void print(Object o) {
+        System.out.println(o);
+    }
+}
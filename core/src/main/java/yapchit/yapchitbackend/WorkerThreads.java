@@ -0,0 +1,84 @@
+package yapchit.yapchitbackend;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Creates the threads that run Yapchit work in the background.
+ * Virtual threads are used when the running JVM supports them, otherwise daemon platform threads are used.
+ */
+public final class WorkerThreads {
+
+    private WorkerThreads() {
+    }
+
+    /**
+     * Returns whether threads created by this class are virtual threads.
+     *
+     * @return true if the running JVM supports virtual threads.
+     */
+    public static boolean isVirtual() {
+        return newVirtualThreadFactory("probe-") != null;
+    }
+
+    /**
+     * Creates a thread factory naming its threads with the given prefix followed by a counter.
+     *
+     * @param prefix prefix of thread names.
+     * @return ThreadFactory for virtual threads where available, otherwise for daemon platform threads.
+     */
+    public static ThreadFactory newThreadFactory(String prefix) {
+        ThreadFactory virtual = newVirtualThreadFactory(prefix);
+        if (virtual != null) {
+            return virtual;
+        }
+
+        AtomicLong count = new AtomicLong();
+        return runnable -> {
+            Thread t = new Thread(runnable, prefix + count.getAndIncrement());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    /**
+     * Creates an executor running submitted work one at a time, in submission order, on a single thread.
+     *
+     * @param name name of the worker thread.
+     * @return ExecutorService with a single worker.
+     */
+    public static ExecutorService newSingleThreadExecutor(String name) {
+        return Executors.newSingleThreadExecutor(newThreadFactory(name + "-"));
+    }
+
+    /**
+     * Creates an executor that runs each submitted task on its own new thread.
+     *
+     * @param prefix prefix of thread names.
+     * @return ExecutorService starting one thread per task.
+     */
+    public static ExecutorService newThreadPerTaskExecutor(String prefix) {
+        ThreadFactory factory = newThreadFactory(prefix);
+        try {
+            Method create = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            return (ExecutorService) create.invoke(null, factory);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(factory);
+        }
+    }
+
+    private static ThreadFactory newVirtualThreadFactory(String prefix) {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Method name = builderType.getMethod("name", String.class, long.class);
+            builder = name.invoke(builder, prefix, 0L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            return null;
+        }
+    }
+}
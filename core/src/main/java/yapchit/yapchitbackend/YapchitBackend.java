@@ -0,0 +1,438 @@
+package yapchit.yapchitbackend;
+
+import yapchit.yapchitexceptions.ArchiveException;
+import yapchit.yapchitexceptions.ConflictingEditException;
+import yapchit.yapchitexceptions.StaleStoreException;
+import yapchit.yapchitexceptions.StorageException;
+import yapchit.yapchitexceptions.YapchitException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class YapchitBackend {
+
+    /** Data file used when no other file is given. */
+    public static final String DEFAULT_FILE_PATH = "./src/main/data/dataStore.txt";
+
+    /** System property giving the number of days after which done tasks are archived automatically. */
+    public static final String ARCHIVE_AFTER_PROPERTY = "yapchit.archiveAfterDays";
+
+    /** Times a command is run again when another process keeps saving the data file first. */
+    private static final int MAX_SAVE_ATTEMPTS = 8;
+
+    /**
+     * List of operations that the Yapchit functionality can handle.
+     * Operations are keywords that the user can enter as Yapchit input.
+     * Yapchit additionally stores tasks across restarts.
+     */
+    public enum Operations {
+        LIST,
+        MARK,
+        UNMARK,
+        DEADLINE,
+        EVENT,
+        TODO,
+        DELETE,
+        FIND,
+        UPDATE,
+        RECUR,
+        ARCHIVE;
+
+        /**
+         * Returns whether the operation only reads the task list, so it can run alongside other reads
+         * and does not need to be saved.
+         *
+         * @return true if the operation does not change the task list.
+         */
+        public boolean isReadOnly() {
+            return this == LIST || this == FIND;
+        }
+    }
+
+    private Ui ui;
+    private TaskList tasks;
+    private Storage storage;
+    private Parser parser;
+    private Handler handler;
+    private boolean isBye;
+    private String filePath;
+    private final List<TaskListListener> listeners = new ArrayList<>();
+    private TaskEventPublisher events;
+    private ReminderScheduler reminders;
+    private final BackendMetrics metrics = new BackendMetrics();
+    private final ColdStore archive;
+    /** Days after which done tasks are archived automatically, or -1 to only archive them when asked. */
+    private final int archiveAfterDays = Integer.getInteger(ARCHIVE_AFTER_PROPERTY, -1);
+    /** Day the list was last checked for tasks to archive automatically, or null if it has not been yet. */
+    private LocalDate lastArchiveCheck;
+
+    /**
+     * Constructs a YapchitBackend object.
+     * Initiates instance of components of YapchitBackend and loads tasks from existing file (if any).
+     *
+     * @param filePath The file path to the storage file used to keep track of tasks.
+     */
+    public YapchitBackend(String filePath) {
+        this(filePath, new Ui());
+    }
+
+    /**
+     * Constructs a YapchitBackend object that shows its responses through the given Ui.
+     *
+     * @param filePath The file path to the storage file used to keep track of tasks.
+     * @param ui Ui to build responses with.
+     */
+    public YapchitBackend(String filePath, Ui ui) {
+        this.ui = ui;
+        this.storage = new Storage();
+        this.isBye = false;
+        this.parser = new Parser();
+        this.archive = new ColdStore(filePath);
+        this.handler = new Handler(archive);
+        this.filePath = filePath;
+        SlowCommandLog.startIfRequested();
+    }
+
+
+    /**
+     * Initiates core functionality of the bot.
+     * Harnesses relevant components to accept, handle inputs and output a response.
+     *
+     * @param input the input to the method.
+     * @return String the response.
+     */
+    public String run(String input) {
+        String reloaded = reloadIfChanged();
+        String retVal = runLoaded(input);
+        return reloaded.isEmpty() ? retVal : reloaded + "\n" + retVal;
+    }
+
+    /**
+     * Runs a command on the task list as it was last loaded, without first picking up changes other
+     * programs made to the data file. Read-only commands run this way leave the task list untouched,
+     * so several of them may run at the same time.
+     *
+     * @param input the input to the method.
+     * @return String the response.
+     */
+    public String runLoaded(String input) {
+        assert this.ui != null;
+        assert this.parser != null;
+        assert this.handler != null;
+        assert this.tasks != null;
+        String retVal;
+        YapchitBackend.Operations k = null;
+        YapchitException error = null;
+        FlightEvents.Command event = new FlightEvents.Command();
+        event.begin();
+
+        try{
+            long start = System.nanoTime();
+            k = parser.parseInputOperation(input);
+            input = addDoneDate(input, k);
+            long parsed = System.nanoTime();
+            long renderBefore = ui.getRenderNanos();
+            retVal = handler.handleOperation(input, k, tasks, ui, parser, true);
+            long handled = System.nanoTime();
+            long rendered = ui.getRenderNanos() - renderBefore;
+            metrics.recordPhase(k, BackendMetrics.Phase.PARSE, parsed - start);
+            metrics.recordPhase(k, BackendMetrics.Phase.HANDLE, handled - parsed - rendered);
+            metrics.recordPhase(k, BackendMetrics.Phase.RENDER, rendered);
+            event.parseTime = parsed - start;
+            event.handleTime = handled - parsed - rendered;
+            event.renderTime = rendered;
+            if (!k.isReadOnly()) {
+                retVal = save(input, k, retVal);
+                event.persistTime = System.nanoTime() - handled;
+                metrics.recordSave(k, event.persistTime, storage.getKnownLength());
+                commandSaved(input);
+            }
+        } catch (YapchitException e) {
+            error = e;
+            retVal = e.getMessage();
+        }
+        metrics.recordCall(k, error, tasks.getListSize());
+        if (event.shouldCommit()) {
+            commitCommandEvent(event, input, k, error);
+        }
+        if (error == null && !k.isReadOnly() && k != Operations.ARCHIVE) {
+            archiveExpired();
+        }
+        return retVal;
+    }
+
+    /**
+     * Adds the date a 'mark' command marks tasks done on, unless it gives one or marks a recurring task for a
+     * date, so that the command marks them done on the same date when it is run again.
+     */
+    private String addDoneDate(String input, YapchitBackend.Operations k) {
+        if (k != Operations.MARK) {
+            return input;
+        }
+        String[] parts = parser.parseInputParts(input.strip());
+        if (parts.length >= 3 && (parts[parts.length - 2].equals("/at") || parts[parts.length - 2].equals("/on"))) {
+            return input;
+        }
+        return input.strip() + " /at " + LocalDate.now();
+    }
+
+    /**
+     * Called after a command changed the task list and the change was saved, with the command as it ran.
+     * The command includes the date a 'mark' command marked tasks done on, so running it again on the
+     * task list as it was before gives the same list. Does nothing by default.
+     *
+     * @param command the command that was run.
+     */
+    protected void commandSaved(String command) {
+    }
+
+    private void commitCommandEvent(FlightEvents.Command event, String input, YapchitBackend.Operations k,
+                                    YapchitException error) {
+        event.listSize = tasks.getListSize();
+        if (k != null) {
+            event.operation = k.name();
+            event.taskNumber = FlightEvents.getTaskNumber(k, parser.parseInputParts(input), event.listSize);
+        }
+        if (error != null) {
+            event.error = error.getClass().getSimpleName();
+        }
+        event.commit();
+    }
+
+    /**
+     * Returns whether the data file was changed by another program since it was last read or written.
+     * Unlike {@link #reloadIfChanged()}, this does not change the task list.
+     *
+     * @return true if {@link #reloadIfChanged()} has changes to pick up.
+     */
+    public boolean hasExternalChanges() {
+        return tasks != null && storage.hasExternalChanges(filePath);
+    }
+
+    /**
+     * Brings the task list up to date if the data file was changed by another program since it was last
+     * read or written. Only the changed tasks are parsed again.
+     * Must be called from the thread that runs commands.
+     *
+     * @return String message describing the reload, or an empty string if the file had not changed.
+     */
+    public String reloadIfChanged() {
+        if (tasks == null || !storage.hasExternalChanges(filePath)) {
+            return "";
+        }
+
+        try {
+            int changed = storage.reloadChangedRecords(filePath, tasks, ui, handler, parser);
+            return changed == 0 ? "" : ui.printReloaded(changed);
+        } catch (YapchitException e) {
+            return e.getMessage();
+        }
+    }
+
+    /**
+     * Saves the task list after a command changed it. If another process saved the data file since it was
+     * last read, the file is loaded again and the command is run again on top of the other process's changes,
+     * after a short random pause so that processes saving at the same time do not keep colliding.
+     */
+    private String save(String input, YapchitBackend.Operations k, String response) throws YapchitException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                storage.updateFile(filePath, this.tasks, archive);
+                return response;
+            } catch (ConflictingEditException e) {
+                return response + "\n" + e.getMessage();
+            } catch (ArchiveException | StorageException e) {
+                // The list is loaded again as saved, with any tasks being archived back in it.
+                loadTasks();
+                throw new StorageException(e.getMessage() + " Your change was not saved, please try again.");
+            } catch (StaleStoreException e) {
+                backOff(attempt);
+                loadTasks();
+                if (attempt == MAX_SAVE_ATTEMPTS) {
+                    throw new StaleStoreException(e.getMessage() + " Your change was not saved, please try again.");
+                }
+                response = handler.handleOperation(input, k, tasks, ui, parser, true);
+            }
+        }
+    }
+
+    private static void backOff(int attempt) {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(1L << Math.min(attempt, 6)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Returns intro message of yapchit.
+     *
+     * @return String intro message.
+     */
+    public String getIntro() {
+        String errorMsg = loadTasks();
+        lastArchiveCheck = null;
+        archiveExpired();
+        String errorAndIntro = errorMsg + "\n" + ui.printIntro();
+        return errorMsg == "" ? ui.printIntro() : errorAndIntro;
+    }
+
+    /**
+     * Moves tasks done more than the configured number of days ago to the archive. They are archived by
+     * running an 'archive' command for them, so the change is saved and reported to {@link #commandSaved}
+     * like any other. The list is only looked through when it is loaded and after the first change of each
+     * day, so tasks marked done on an earlier date with '/at' wait until the next day to be archived.
+     */
+    protected void archiveExpired() {
+        LocalDate today = LocalDate.now();
+        if (archiveAfterDays < 0 || today.equals(lastArchiveCheck)) {
+            return;
+        }
+        lastArchiveCheck = today;
+
+        LocalDate cutoff = today.minusDays(archiveAfterDays);
+        BitSet expired = tasks.findIndices(t -> t.getDone() && t.getDoneDate() != null
+                && !t.getDoneDate().isAfter(cutoff));
+        if (!expired.isEmpty()) {
+            runLoaded("archive " + parser.formatIndexSelection(expired));
+        }
+    }
+
+    /**
+     * Loads the whole task list from the data file and attaches the listeners to it.
+     *
+     * @return String error message, or an empty string if the file was loaded.
+     */
+    private String loadTasks() {
+        String errorMsg = "";
+        archive.discardPending();
+
+        try{
+            this.tasks = storage.importFromFile(filePath, ui, handler, parser);
+        } catch (YapchitException e) {
+            errorMsg = ui.printTasklistLoadError();
+            this.tasks = new TaskList();
+        }
+
+        for (TaskListListener listener : listeners) {
+            tasks.addListener(listener);
+        }
+        return errorMsg;
+    }
+
+    /**
+     * Returns the task list, or null if it has not been loaded with getIntro yet.
+     * The list must not be changed directly, and must not be read while a command is changing it.
+     *
+     * @return TaskList of the backend.
+     */
+    public TaskList getTasks() {
+        return this.tasks;
+    }
+
+    /**
+     * Returns the path of the file the task list is stored in.
+     *
+     * @return String file path.
+     */
+    public String getFilePath() {
+        return this.filePath;
+    }
+
+    /**
+     * Returns the metrics of the commands run by this backend.
+     *
+     * @return BackendMetrics of the backend.
+     */
+    public BackendMetrics getMetrics() {
+        return this.metrics;
+    }
+
+    /**
+     * Returns the parser used to interpret commands.
+     *
+     * @return Parser of the backend.
+     */
+    public Parser getParser() {
+        return this.parser;
+    }
+
+    /**
+     * Starts notifying the listener of changes to the task list, including when the list is loaded.
+     * Must be called from the thread that runs commands.
+     *
+     * @param listener listener to notify.
+     */
+    public void addTaskListListener(TaskListListener listener) {
+        listeners.add(listener);
+        if (tasks != null) {
+            tasks.addListener(listener);
+        }
+    }
+
+    /**
+     * Returns the publisher of changes made to the task list by commands, creating it on first use.
+     * Must be called from the thread that runs commands.
+     *
+     * @return TaskEventPublisher for this backend.
+     */
+    public TaskEventPublisher getEvents() {
+        if (events == null) {
+            events = new TaskEventPublisher();
+            addTaskListListener(events);
+        }
+        return events;
+    }
+
+    /**
+     * Returns the scheduler reminding of tasks as they become due, creating and starting it on first use.
+     * Must be called from the thread that runs commands.
+     *
+     * @return ReminderScheduler for this backend.
+     */
+    public ReminderScheduler getReminders() {
+        if (reminders == null) {
+            reminders = new ReminderScheduler();
+            addTaskListListener(reminders);
+            reminders.start();
+        }
+        return reminders;
+    }
+
+    /**
+     * Returns outro message of yapchit.
+     * Saves the task list and, as the backend is shutting down, closes its publisher of task events.
+     *
+     * @return String outro message.
+     */
+    public String getOutro(){
+        if (events != null) {
+            events.close();
+        }
+
+        try {
+            storage.updateFile(filePath, this.tasks, archive);
+        } catch (ConflictingEditException | ArchiveException | StorageException e) {
+            return e.getMessage() + "\n" + ui.printOutro();
+        } catch (StaleStoreException e) {
+            // Every change was saved by its command; the other process's version is newer.
+        }
+        return ui.printOutro();
+    }
+
+    /**
+     * Checks if input is the command 'bye'.
+     *
+     * @param input text to check.
+     * @return Boolean indicating if it's a 'bye' or not.
+     */
+    public boolean checkIsBye(String input) {
+
+        assert input instanceof String : "input should be a String instance";
+
+        return handler.checkIsBye(input);
+    }
+}
@@ -10,6 +10,9 @@ import java.time.format.DateTimeFormatter;
  */
 public class Deadline extends Task {
 
+    /** Format used to display the 'by' date, shared by all deadlines. */
+    private static final DateTimeFormatter DISPLAY_FORMAT = DateTimeFormatter.ofPattern("MMM d yyyy");
+
     private LocalDate by;
 
     /**
@@ -22,21 +25,26 @@ public class Deadline extends Task {
         this.by = by;
     }
 
+    @Override
+    public Deadline copy() {
+        Deadline t = new Deadline(super.getName(), this.by);
+        t.setDone(super.getDone());
+        t.setDoneDate(super.getDoneDate());
+        return t;
+    }
+
     /**
-     * Prints the Deadline details onto the screen.
+     * Returns the Deadline details to be printed onto the screen.
      *
-     * @return
+     * @return String describing the Deadline.
      */
     @Override
-    public String toString() {
-        String tag = super.getDone() ? "[X]" : "[ ]";
-        String ret =  "[D]"
-                + tag
+    protected String describe() {
+        return "[D]"
+                + super.getDoneTag()
                 + " " + super.getName().strip()
-                + " (by: " + by.format(DateTimeFormatter.ofPattern("MMM d yyyy"))
+                + " (by: " + by.format(DISPLAY_FORMAT)
                 + ")";
-
-        return super.wrapToString(ret);
     }
 
     /**
@@ -50,5 +58,6 @@ public class Deadline extends Task {
 
     public void setBy(LocalDate by) {
         this.by = by;
+        super.invalidateRendering();
     }
 }
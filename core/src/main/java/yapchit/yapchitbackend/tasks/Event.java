@@ -22,16 +22,23 @@ public class Event extends Task {
         this.to = to;
     }
 
+    @Override
+    public Event copy() {
+        Event t = new Event(super.getName(), this.from, this.to);
+        t.setDone(super.getDone());
+        t.setDoneDate(super.getDoneDate());
+        return t;
+    }
+
     /**
-     * Prints the Event details onto the screen.
+     * Returns the Event details to be printed onto the screen.
      *
-     * @return
+     * @return String describing the Event.
      */
     @Override
-    public String toString() {
-        String tag = super.getDone() ? "[X]" : "[ ]";
-        return super.wrapToString(
-                "[E]" + tag + " " + super.getName().strip() + " (from: " + this.from + " to: " + this.to + ")");
+    protected String describe() {
+        return "[E]" + super.getDoneTag() + " " + super.getName().strip()
+                + " (from: " + this.from + " to: " + this.to + ")";
     }
 
     /**
@@ -54,9 +61,11 @@ public class Event extends Task {
 
     public void setFrom(String from) {
         this.from = from;
+        super.invalidateRendering();
     }
 
     public void setTo(String to) {
         this.to = to;
+        super.invalidateRendering();
     }
 }
@@ -0,0 +1,72 @@
+package yapchit.yapchitbackend.tasks;
+
+import java.time.LocalDate;
+
+/**
+ * Occurrence class representing one date of a {@link RecurringTask}.
+ * Occurrences are not stored; they are created when a range of dates is looked at, and marking one
+ * marks that date of the recurring task.
+ *
+ * Extends Task class
+ */
+public class Occurrence extends Task {
+
+    private final RecurringTask rule;
+    private final long index;
+
+    /**
+     * Constructor of new Occurrence object
+     *
+     * @param rule the recurring task.
+     * @param index 0-based number of the occurrence.
+     */
+    public Occurrence(RecurringTask rule, long index) {
+        super(rule.getName());
+        this.rule = rule;
+        this.index = index;
+    }
+
+    @Override
+    public Occurrence copy() {
+        return new Occurrence(rule.copy(), index);
+    }
+
+    @Override
+    public boolean getDone() {
+        return rule.isOccurrenceDone(index);
+    }
+
+    @Override
+    public void setDone(boolean isDone, LocalDate doneDate) {
+        rule.setOccurrenceDone(index, isDone);
+        super.invalidateRendering();
+    }
+
+    /**
+     * Returns the Occurrence details to be printed onto the screen.
+     *
+     * @return String describing the Occurrence.
+     */
+    @Override
+    protected String describe() {
+        return rule.describeOccurrence(index);
+    }
+
+    /**
+     * Returns the recurring task this is an occurrence of.
+     *
+     * @return RecurringTask of the occurrence.
+     */
+    public RecurringTask getRule() {
+        return this.rule;
+    }
+
+    /**
+     * Returns the date of the occurrence.
+     *
+     * @return LocalDate of the occurrence.
+     */
+    public LocalDate getDate() {
+        return rule.getOccurrence(index);
+    }
+}
@@ -0,0 +1,74 @@
+package yapchit.yapchitbackend.tasks;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * How often a recurring task comes round.
+ */
+public enum Recurrence {
+    WEEKLY("week"),
+    MONTHLY("month");
+
+    private final String keyword;
+
+    Recurrence(String keyword) {
+        this.keyword = keyword;
+    }
+
+    /**
+     * Returns the word used for this recurrence in commands, as in {@code /every week}.
+     *
+     * @return String keyword.
+     */
+    public String getKeyword() {
+        return this.keyword;
+    }
+
+    /**
+     * Returns the recurrence with the given keyword.
+     *
+     * @param keyword keyword used in commands, such as "week".
+     * @return Recurrence with that keyword, or null if there is none.
+     */
+    public static Recurrence fromKeyword(String keyword) {
+        for (Recurrence r : values()) {
+            if (r.keyword.equalsIgnoreCase(keyword)) {
+                return r;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the date of an occurrence. Monthly occurrences are counted from the start date, so one starting
+     * on the 31st falls on the last day of shorter months and returns to the 31st afterwards.
+     *
+     * @param start date of the first occurrence.
+     * @param index 0-based number of the occurrence.
+     * @return LocalDate of the occurrence.
+     */
+    public LocalDate getOccurrence(LocalDate start, long index) {
+        return this == WEEKLY ? start.plusWeeks(index) : start.plusMonths(index);
+    }
+
+    /**
+     * Returns the number of the first occurrence falling on or after a date, without going through
+     * the occurrences before it.
+     *
+     * @param start date of the first occurrence.
+     * @param date date to look from.
+     * @return long 0-based number of the occurrence.
+     */
+    public long getFirstIndexOnOrAfter(LocalDate start, LocalDate date) {
+        if (!date.isAfter(start)) {
+            return 0;
+        }
+
+        long index = (this == WEEKLY ? ChronoUnit.WEEKS : ChronoUnit.MONTHS).between(start, date);
+        while (getOccurrence(start, index).isBefore(date)) {
+            index++;
+        }
+        return index;
+    }
+}
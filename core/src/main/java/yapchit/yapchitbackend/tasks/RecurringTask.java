@@ -0,0 +1,317 @@
+package yapchit.yapchitbackend.tasks;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.BitSet;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * RecurringTask class representing a deadline or event that comes round every week or month.
+ *
+ * Only the rule and the occurrences that were marked done are stored. Occurrences are numbered from 0 and
+ * created as {@link Occurrence} objects only when a range of dates is looked at, so a task that repeats for
+ * years takes no more memory than one that repeats twice. Done occurrences are kept as the number of leading
+ * occurrences that are all done, plus a small set of later ones, as occurrences are mostly done in order.
+ *
+ * Extends Task class
+ */
+public class RecurringTask extends Task {
+
+    private static final DateTimeFormatter DISPLAY_FORMAT = DateTimeFormatter.ofPattern("MMM d yyyy");
+
+    private final boolean isEvent;
+    private LocalDate start;
+    private Recurrence recurrence;
+    /** Date after which the task stops recurring, or null if it never stops. */
+    private LocalDate until;
+
+    /** Number of leading occurrences that are all done. */
+    private long doneCount;
+    /** Later done occurrences, bit i standing for occurrence doneCount + i. Bit 0 is never set. */
+    private BitSet doneLater = new BitSet(0);
+
+    /**
+     * Constructor of new RecurringTask object
+     *
+     * @param name name of the task.
+     * @param isEvent whether each occurrence is an event on its date rather than a deadline by it.
+     * @param start date of the first occurrence.
+     * @param recurrence how often the task comes round.
+     * @param until date after which the task stops recurring, or null if it never stops.
+     */
+    public RecurringTask(String name, boolean isEvent, LocalDate start, Recurrence recurrence, LocalDate until) {
+        super(name);
+        this.isEvent = isEvent;
+        this.start = start;
+        this.recurrence = recurrence;
+        this.until = until;
+    }
+
+    @Override
+    public RecurringTask copy() {
+        RecurringTask t = new RecurringTask(super.getName(), this.isEvent, this.start, this.recurrence, this.until);
+        t.doneCount = this.doneCount;
+        t.doneLater = (BitSet) this.doneLater.clone();
+        return t;
+    }
+
+    /**
+     * Returns whether every occurrence is done, which can only happen if the task stops recurring.
+     *
+     * @return true if no occurrence is left to do.
+     */
+    @Override
+    public boolean getDone() {
+        return doneCount >= getOccurrenceCount();
+    }
+
+    /**
+     * Returns the date of the last occurrence if every occurrence is done, as the task is done once
+     * its last occurrence is.
+     *
+     * @return LocalDate of the last occurrence, or null if an occurrence is left to do.
+     */
+    @Override
+    public LocalDate getDoneDate() {
+        return getDone() ? getOccurrence(getOccurrenceCount() - 1) : null;
+    }
+
+    /**
+     * Marks the next occurrence that is not done as done, or marks the last done occurrence as not done.
+     * Occurrences are done on their own dates, so the given date is not used.
+     *
+     * @param isDone whether to mark the next occurrence done rather than the last one not done.
+     * @param doneDate not used.
+     */
+    @Override
+    public void setDone(boolean isDone, LocalDate doneDate) {
+        if (isDone && !getDone()) {
+            setOccurrenceDone(doneCount, true);
+        } else if (!isDone && !doneLater.isEmpty()) {
+            setOccurrenceDone(doneCount + doneLater.length() - 1, false);
+        } else if (!isDone && doneCount > 0) {
+            setOccurrenceDone(doneCount - 1, false);
+        }
+    }
+
+    /**
+     * Returns the number of occurrences.
+     *
+     * @return long number of occurrences, or Long.MAX_VALUE if the task never stops recurring.
+     */
+    public long getOccurrenceCount() {
+        return until == null ? Long.MAX_VALUE : recurrence.getFirstIndexOnOrAfter(start, until.plusDays(1));
+    }
+
+    /**
+     * Returns the date of an occurrence.
+     *
+     * @param index 0-based number of the occurrence.
+     * @return LocalDate of the occurrence.
+     */
+    public LocalDate getOccurrence(long index) {
+        return recurrence.getOccurrence(start, index);
+    }
+
+    /**
+     * Returns the number of the occurrence on a date.
+     *
+     * @param date date of the occurrence.
+     * @return long 0-based number of the occurrence, or -1 if the task does not fall on that date.
+     */
+    public long getOccurrenceIndex(LocalDate date) {
+        long index = recurrence.getFirstIndexOnOrAfter(start, date);
+        return index < getOccurrenceCount() && getOccurrence(index).equals(date) ? index : -1;
+    }
+
+    /**
+     * Returns the number of the first occurrence on or after a date that is not done.
+     *
+     * @param date date to look from.
+     * @return long 0-based number of the occurrence, or -1 if every occurrence from that date is done.
+     */
+    public long getNextOpenOccurrence(LocalDate date) {
+        long index = Math.max(doneCount, recurrence.getFirstIndexOnOrAfter(start, date));
+        while (index < getOccurrenceCount() && isOccurrenceDone(index)) {
+            index++;
+        }
+        return index < getOccurrenceCount() ? index : -1;
+    }
+
+    /**
+     * Returns whether an occurrence is done.
+     *
+     * @param index 0-based number of the occurrence.
+     * @return true if the occurrence is done.
+     */
+    public boolean isOccurrenceDone(long index) {
+        long offset = index - doneCount;
+        return offset < 0 || (offset < Integer.MAX_VALUE && doneLater.get((int) offset));
+    }
+
+    /**
+     * Marks an occurrence as done or not done.
+     *
+     * @param index 0-based number of the occurrence.
+     * @param isDone whether the occurrence is done.
+     */
+    public void setOccurrenceDone(long index, boolean isDone) {
+        assert index >= 0 && index < getOccurrenceCount() : "occurrence must exist";
+        if (isOccurrenceDone(index) == isDone) {
+            return;
+        }
+
+        if (isDone) {
+            doneLater.set(toOffset(index - doneCount));
+            int completed = doneLater.nextClearBit(0);
+            if (completed > 0) {
+                doneCount += completed;
+                doneLater = doneLater.get(completed, Math.max(completed, doneLater.length()));
+            }
+        } else if (index >= doneCount) {
+            doneLater.clear(toOffset(index - doneCount));
+        } else {
+            // The occurrences after this one stay done, so they move from the count into the set.
+            int reopened = toOffset(doneCount - index);
+            BitSet later = new BitSet();
+            later.set(1, reopened);
+            doneLater.stream().forEach(i -> later.set(i + reopened));
+            doneLater = later;
+            doneCount = index;
+        }
+        invalidateRendering();
+    }
+
+    private static int toOffset(long value) {
+        if (value >= Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Occurrence is too far in the future");
+        }
+        return (int) value;
+    }
+
+    /**
+     * Returns the occurrences falling between two dates, created only as the stream is consumed.
+     *
+     * @param from first date of the range.
+     * @param to last date of the range.
+     * @return Stream of occurrences in date order.
+     */
+    public Stream<Occurrence> getOccurrences(LocalDate from, LocalDate to) {
+        long first = recurrence.getFirstIndexOnOrAfter(start, from);
+        long end = Math.min(getOccurrenceCount(), recurrence.getFirstIndexOnOrAfter(start, to.plusDays(1)));
+        return LongStream.range(first, Math.max(first, end)).mapToObj(i -> new Occurrence(this, i));
+    }
+
+    /**
+     * Returns the RecurringTask details to be printed onto the screen, showing the next occurrence
+     * that is not done.
+     *
+     * @return String describing the RecurringTask.
+     */
+    @Override
+    protected String describe() {
+        String next = getDone() ? "all done" : getOccurrence(doneCount).format(DISPLAY_FORMAT);
+        return "[R]" + getTypeTag()
+                + super.getDoneTag()
+                + " " + super.getName().strip()
+                + " (" + getDateLabel() + ": " + next
+                + ", every " + recurrence.getKeyword()
+                + (until == null ? "" : " until " + until.format(DISPLAY_FORMAT))
+                + ")";
+    }
+
+    /**
+     * Returns the details of one occurrence to be printed onto the screen.
+     *
+     * @param index 0-based number of the occurrence.
+     * @return String describing the occurrence.
+     */
+    String describeOccurrence(long index) {
+        return getTypeTag()
+                + (isOccurrenceDone(index) ? "[X]" : "[ ]")
+                + " " + super.getName().strip()
+                + " (" + getDateLabel() + ": " + getOccurrence(index).format(DISPLAY_FORMAT) + ")";
+    }
+
+    private String getTypeTag() {
+        return isEvent ? "[E]" : "[D]";
+    }
+
+    private String getDateLabel() {
+        return isEvent ? "on" : "by";
+    }
+
+    /**
+     * Returns the done occurrences in the form stored in the data file: the number of leading done
+     * occurrences, followed by '+' and the numbers of later done occurrences if there are any.
+     *
+     * @return String such as "12" or "12+14,17", or an empty string if no occurrence is done.
+     */
+    public String getDoneRecord() {
+        if (doneCount == 0 && doneLater.isEmpty()) {
+            return "";
+        }
+
+        StringBuilder record = new StringBuilder().append(doneCount);
+        char separator = '+';
+        for (int i = doneLater.nextSetBit(0); i >= 0; i = doneLater.nextSetBit(i + 1)) {
+            record.append(separator).append(doneCount + i);
+            separator = ',';
+        }
+        return record.toString();
+    }
+
+    /**
+     * Restores the done occurrences from the form returned by {@link #getDoneRecord()}.
+     *
+     * @param record done occurrences as stored in the data file.
+     * @throws NumberFormatException if the record is malformed.
+     */
+    public void restoreDone(String record) {
+        int plus = record.indexOf('+');
+        doneCount = Long.parseLong(plus == -1 ? record : record.substring(0, plus));
+        doneLater = new BitSet(0);
+        if (plus != -1) {
+            for (String index : record.substring(plus + 1).split(",")) {
+                setOccurrenceDone(Long.parseLong(index), true);
+            }
+        }
+        invalidateRendering();
+    }
+
+    /**
+     * Returns whether each occurrence is an event on its date rather than a deadline by it.
+     *
+     * @return true for events.
+     */
+    public boolean isEvent() {
+        return this.isEvent;
+    }
+
+    public LocalDate getStart() {
+        return this.start;
+    }
+
+    public Recurrence getRecurrence() {
+        return this.recurrence;
+    }
+
+    public LocalDate getUntil() {
+        return this.until;
+    }
+
+    /**
+     * Changes when the task recurs. Occurrences keep their numbers, and so whether they are done.
+     *
+     * @param start date of the first occurrence.
+     * @param recurrence how often the task comes round.
+     * @param until date after which the task stops recurring, or null if it never stops.
+     */
+    public void setSchedule(LocalDate start, Recurrence recurrence, LocalDate until) {
+        this.start = start;
+        this.recurrence = recurrence;
+        this.until = until;
+        super.invalidateRendering();
+    }
+}
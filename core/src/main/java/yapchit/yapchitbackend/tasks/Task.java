@@ -0,0 +1,163 @@
+package yapchit.yapchitbackend.tasks;
+
+import java.time.LocalDate;
+
+/**
+ * Task class representing a general task in Yapchit/
+ */
+public class Task {
+    /** Number of characters shown on each line of a rendered task. */
+    private static final int WRAP_WIDTH = 38;
+    private static final String WRAP_BREAK = "\n\t\t";
+
+    private String name;
+    private boolean isDone;
+    /** Date the task was marked done, or null if it is not done. */
+    private LocalDate doneDate;
+
+    /** Rendered form of the task, cleared whenever one of its details changes. */
+    private String rendered;
+
+    /**
+     * Constructor of task class.
+     *
+     * @param name name of task to perform
+     */
+    public Task(String name){
+        this.name = name;
+        this.isDone = false;
+    }
+
+    /**
+     * setter function to set the tag of the class based on input.
+     * A task marked done is recorded as done today.
+     *
+     * @param isDone the boolean value to update the tag to
+     */
+    public void setDone(boolean isDone){
+        setDone(isDone, LocalDate.now());
+    }
+
+    /**
+     * Sets whether the task is done, recording the given date if it becomes done.
+     * A task that is already done keeps the date it was done.
+     *
+     * @param isDone the boolean value to update the tag to.
+     * @param doneDate date the task is done on.
+     */
+    public void setDone(boolean isDone, LocalDate doneDate) {
+        if (this.isDone != isDone) {
+            this.isDone = isDone;
+            this.doneDate = isDone ? doneDate : null;
+            invalidateRendering();
+        }
+    }
+
+    /**
+     * Getter function that returns name of tag
+     *
+     * @return String with name of task
+     */
+    public String getName(){
+        return this.name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+        invalidateRendering();
+    }
+
+    public boolean getDone(){
+        return this.isDone;
+    }
+
+    /**
+     * Returns the date the task was marked done.
+     *
+     * @return LocalDate the task was done, or null if it is not done.
+     */
+    public LocalDate getDoneDate() {
+        return this.doneDate;
+    }
+
+    /**
+     * Sets the date the task was marked done, such as when it is read back from a file.
+     * Has no effect if the task is not done.
+     *
+     * @param doneDate date the task was done.
+     */
+    public void setDoneDate(LocalDate doneDate) {
+        if (this.isDone) {
+            this.doneDate = doneDate;
+        }
+    }
+
+    /**
+     * Returns a detached copy of this task, unaffected by later changes to it.
+     *
+     * @return Task with the same details.
+     */
+    public Task copy() {
+        Task t = new Task(this.name);
+        t.isDone = this.isDone;
+        t.doneDate = this.doneDate;
+        return t;
+    }
+
+    /**
+     * Returns the task details as displayed to the user, wrapped to fit the dialog.
+     * The result is cached until one of the task's details changes.
+     *
+     * @return String representing the task.
+     */
+    @Override
+    public String toString() {
+        String result = rendered;
+        if (result == null) {
+            result = wrapToString(describe());
+            rendered = result;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the unwrapped details of the task. Subclasses add their type tag and extra details.
+     *
+     * @return String describing the task.
+     */
+    protected String describe() {
+        return getDoneTag() + " " + this.name;
+    }
+
+    /**
+     * Returns the tag showing whether the task is done.
+     *
+     * @return "[X]" if done, "[ ]" otherwise.
+     */
+    protected String getDoneTag() {
+        return getDone() ? "[X]" : "[ ]";
+    }
+
+    /**
+     * Discards the cached rendering so the next call to toString reflects the current details.
+     */
+    protected void invalidateRendering() {
+        this.rendered = null;
+    }
+
+    protected String wrapToString(String input) {
+        int breaks = input.length() / WRAP_WIDTH;
+        StringBuilder result = new StringBuilder(input.length() + breaks * WRAP_BREAK.length());
+
+        for (int start = 0; start < input.length(); start += WRAP_WIDTH) {
+            int end = Math.min(start + WRAP_WIDTH, input.length());
+            result.append(input, start, end);
+
+            if (end - start == WRAP_WIDTH) {
+                result.append(WRAP_BREAK);
+            }
+        }
+
+        return result.toString();
+    }
+}
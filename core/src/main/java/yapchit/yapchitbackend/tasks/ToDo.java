@@ -0,0 +1,35 @@
+package yapchit.yapchitbackend.tasks;
+
+/**
+ * ToDo class representing a ToDo object.
+ * Extends Task class
+ */
+public class ToDo extends Task{
+
+    /**
+     * Constructor of new ToDo object
+     *
+     * @param name name of ToDo
+     */
+    public ToDo(String name){
+        super(name);
+    }
+
+    @Override
+    public ToDo copy() {
+        ToDo t = new ToDo(super.getName());
+        t.setDone(super.getDone());
+        t.setDoneDate(super.getDoneDate());
+        return t;
+    }
+
+    /**
+     * Returns the ToDo details to be printed onto the screen.
+     *
+     * @return String describing the ToDo.
+     */
+    @Override
+    protected String describe(){
+        return "[T]" + super.getDoneTag() + " " + super.getName();
+    }
+}
@@ -0,0 +1,8 @@
+package yapchit.yapchitexceptions;
+
+public class ArchiveException extends YapchitException {
+
+    public ArchiveException(String errorMsg) {
+        super(errorMsg);
+    }
+}
@@ -0,0 +1,9 @@
+package yapchit.yapchitexceptions;
+
+public class ConflictingEditException extends YapchitException {
+
+    public ConflictingEditException(String errorMsg) {
+        super(errorMsg);
+    }
+
+}
@@ -0,0 +1,9 @@
+package yapchit.yapchitexceptions;
+
+public class StaleStoreException extends YapchitException {
+
+    public StaleStoreException(String errorMsg) {
+        super(errorMsg);
+    }
+
+}
@@ -0,0 +1,9 @@
+package yapchit.yapchitexceptions;
+
+public class StorageException extends YapchitException {
+
+    public StorageException(String errorMsg) {
+        super(errorMsg);
+    }
+
+}
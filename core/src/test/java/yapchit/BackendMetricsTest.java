@@ -0,0 +1,85 @@
+package yapchit;
+
+import org.junit.jupiter.api.Test;
+import yapchit.yapchitbackend.BackendMetrics;
+import yapchit.yapchitbackend.ConcurrentHistogram;
+import yapchit.yapchitbackend.LatencySummary;
+import yapchit.yapchitbackend.YapchitBackend;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Class to test the metrics recorded for commands.
+ */
+public class BackendMetricsTest {
+
+    /**
+     * Tests that percentiles stay within the histogram's precision.
+     */
+    @Test
+    public void testHistogramPercentiles() {
+        ConcurrentHistogram h = new ConcurrentHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            h.record(i * 1000L);
+        }
+
+        assertEquals(1000, h.getCount());
+        assertEquals(1_000_000, h.getMax());
+        long p50 = h.getPercentile(0.5);
+        assertTrue(p50 >= 500_000 && p50 <= 500_000 * 1.125, "p50 was " + p50);
+        assertEquals(1_000_000, h.getPercentile(1.0));
+    }
+
+    /**
+     * Tests that commands are counted and timed by kind, errors are counted by type, and the results can
+     * be read through the registered MBean.
+     *
+     * @throws IOException if the temporary directory cannot be created.
+     * @throws JMException if the MBean cannot be read.
+     */
+    @Test
+    public void testCommandsRecordedAndExposed() throws IOException, JMException {
+        Path file = Files.createTempDirectory("yapchit-metrics").resolve("tasks.txt");
+        YapchitBackend backend = new YapchitBackend(file.toString());
+        backend.getIntro();
+        backend.run("todo read book");
+        backend.run("list");
+        backend.run("mark 7");
+        backend.run("dance");
+
+        BackendMetrics metrics = backend.getMetrics();
+        assertEquals(1, (long) metrics.getCalls().get("todo"));
+        assertEquals(1, (long) metrics.getErrors().get("mark"));
+        assertEquals(1, (long) metrics.getErrors().get("unknown"));
+        assertEquals(1, (long) metrics.getErrorsByType().get("InvalidDetailException"));
+        assertEquals(1, metrics.getTaskCount());
+        assertEquals(Files.size(file), metrics.getDataFileSize());
+        assertTrue(metrics.getLatencies().stream().anyMatch(
+                s -> s.getOperation().equals("list") && s.getPhase().equals("render")));
+        LatencySummary persist = metrics.getLatencies().stream()
+                .filter(s -> s.getOperation().equals("todo") && s.getPhase().equals("persist")).findFirst().get();
+        assertTrue(persist.getP99Micros() > 0);
+
+        metrics.register("test");
+        try {
+            ObjectName name = new ObjectName("yapchit:type=Backend,name=\"test\"");
+            TabularData calls = (TabularData) ManagementFactory.getPlatformMBeanServer().getAttribute(name, "Calls");
+            assertEquals(1, (long) calls.get(new Object[] {"list"}).get("value"));
+            CompositeData[] latencies = (CompositeData[]) ManagementFactory.getPlatformMBeanServer()
+                    .getAttribute(name, "Latencies");
+            assertEquals(7, latencies.length);
+        } finally {
+            metrics.unregister();
+        }
+    }
+}
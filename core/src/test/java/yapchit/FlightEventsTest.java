@@ -0,0 +1,85 @@
+package yapchit;
+
+import org.junit.jupiter.api.Test;
+import yapchit.yapchitbackend.YapchitBackend;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Class to test the flight recorder events emitted by the backend.
+ */
+public class FlightEventsTest {
+
+    /**
+     * Tests that commands, their handling and reading and writing the data file are recorded with their
+     * details when a recording enables the events.
+     *
+     * @throws IOException if the recording cannot be written or read.
+     */
+    @Test
+    public void testEventsRecorded() throws IOException {
+        Path dir = Files.createTempDirectory("yapchit-jfr");
+        Path file = dir.resolve("tasks.txt");
+        Files.writeString(file, "todo read book0\n");
+        Path dump = dir.resolve("events.jfr");
+
+        try (Recording recording = new Recording()) {
+            for (String name : List.of("yapchit.Command", "yapchit.Handle", "yapchit.StorageLoad",
+                    "yapchit.StorageSave")) {
+                recording.enable(name).withThreshold(Duration.ZERO);
+            }
+            recording.start();
+
+            YapchitBackend backend = new YapchitBackend(file.toString());
+            backend.getIntro();
+            backend.run("todo write report");
+            backend.run("mark 1");
+            backend.run("dance");
+
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+        List<RecordedEvent> commands = ofType(events, "yapchit.Command");
+        assertEquals(3, commands.size());
+        assertEquals("TODO", commands.get(0).getString("operation"));
+        assertEquals(2, commands.get(0).getInt("taskNumber"));
+        assertEquals(2, commands.get(0).getInt("listSize"));
+        assertTrue(commands.get(0).getDuration("persistTime").toNanos() > 0);
+        assertEquals("MARK", commands.get(1).getString("operation"));
+        assertEquals(1, commands.get(1).getInt("taskNumber"));
+        assertEquals("InvalidKeywordException", commands.get(2).getString("error"));
+
+        List<RecordedEvent> handled = ofType(events, "yapchit.Handle");
+        assertEquals(3, handled.size());
+        assertTrue(handled.get(0).getBoolean("isFromFile"));
+
+        List<RecordedEvent> loads = ofType(events, "yapchit.StorageLoad");
+        assertEquals(1, loads.size());
+        assertEquals(1, loads.get(0).getInt("records"));
+
+        List<RecordedEvent> saves = ofType(events, "yapchit.StorageSave");
+        assertEquals(2, saves.size());
+        assertEquals("saved", saves.get(1).getString("outcome"));
+        assertEquals((long) Files.size(file), saves.get(1).getLong("bytesWritten"));
+    }
+
+    private static List<RecordedEvent> ofType(List<RecordedEvent> events, String name) {
+        return events.stream()
+                .filter(e -> e.getEventType().getName().equals(name))
+                .sorted((a, b) -> a.getStartTime().compareTo(b.getStartTime()))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,271 @@
+package yapchit;
+
+import yapchit.yapchitbackend.Handler;
+import yapchit.yapchitbackend.Parser;
+import yapchit.yapchitbackend.TaskList;
+import yapchit.yapchitbackend.Ui;
+import yapchit.yapchitbackend.tasks.Deadline;
+import yapchit.yapchitbackend.tasks.RecurringTask;
+import yapchit.yapchitbackend.tasks.ToDo;
+import yapchit.yapchitexceptions.InvalidDetailException;
+import yapchit.yapchitexceptions.YapchitException;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Class to test Handler class
+ */
+public class HandlerTest {
+
+    private Handler handler;
+    private TaskList tasks;
+    private Ui ui;
+    private Parser parser;
+
+    /**
+     * Creates a new HandlerTest instance.
+     */
+    public HandlerTest() {
+        handler = new Handler();
+        tasks = new TaskList();
+        ui = new Ui();
+        parser = new Parser();
+    }
+
+    /**
+     * Tests success condition of handleDeadline method of the Handler class.
+     *
+     * @throws YapchitException if test fails.
+     */
+    @Test
+    public void testHandleDeadlineSuccess() throws YapchitException {
+        String input = "deadline assignment /by 2023-02-01";
+        handler.handleDeadline(input, true, tasks, ui, parser);
+        Deadline t = new Deadline("assignment", parser.parseTimestamp("2023-02-01"));
+        assertEquals(t.getName(), tasks.getItem(tasks.getListSize() - 1).getName());
+        assertEquals(t.getBy(), ((Deadline) tasks.getItem(tasks.getListSize() - 1)).getBy());
+
+        input = "deadline test                          /by 2023-02-28";
+        handler.handleDeadline(input, true, tasks, ui, parser);
+        t = new Deadline("test", parser.parseTimestamp("2023-02-28"));
+        assertEquals(t.getName(), tasks.getItem(tasks.getListSize() - 1).getName());
+        assertEquals(t.getBy(), ((Deadline) tasks.getItem(tasks.getListSize() - 1)).getBy());
+
+        input = "deadline test/by 2023-02-28";
+        handler.handleDeadline(input, true, tasks, ui, parser);
+        t = new Deadline("test", parser.parseTimestamp("2023-02-28"));
+        assertEquals(t.getName(), tasks.getItem(tasks.getListSize() - 1).getName());
+        assertEquals(t.getBy(), ((Deadline) tasks.getItem(tasks.getListSize() - 1)).getBy());
+    }
+
+    /**
+     * Tests missing description fail condition of handleDeadline method of the Handler class.
+     *
+     * @throws YapchitException if test fails.
+     */
+    @Test
+    public void testHandleDeadlineMissingDescription() {
+        String input = "deadline /by 2023-02-28";
+        assertThrows(InvalidDetailException.class, () -> {
+            handler.handleDeadline(input, true, tasks, ui, parser);
+        });
+    }
+
+    /**
+     * Tests invalid date format fail condition of handleDeadline method of the Handler class.
+     *
+     * @throws YapchitException if test fails.
+     */
+    @Test
+    public void testHandleDeadlineInvalidDateFormat() {
+        String input = "deadline test /by 2023-2-28";
+        assertThrows(InvalidDetailException.class, () -> {
+            handler.handleDeadline(input, true, tasks, ui, parser);
+        });
+    }
+
+    /**
+     * Tests missing by param fail condition of handleDeadline method of the Handler class.
+     *
+     * @throws YapchitException if test fails.
+     */
+    @Test
+    public void testHandleDeadlineIMissingByParam() {
+        String input = "deadline test /by";
+        assertThrows(InvalidDetailException.class, () -> {
+            handler.handleDeadline(input, true, tasks, ui, parser);
+        });
+    }
+
+    /**
+     * Tests missing desc and by param fail condition of handleDeadline method of the Handler class.
+     *
+     * @throws YapchitException if test fails.
+     */
+    @Test
+    public void testHandleDeadlineIMissingDescAndByParam() {
+        String input = "deadline /by";
+        assertThrows(InvalidDetailException.class, () -> {
+            handler.handleDeadline(input, true, tasks, ui, parser);
+        });
+    }
+
+    /**
+     * Tests marking a range and list of task numbers with handleMark.
+     *
+     * @throws YapchitException if test fails.
+     */
+    @Test
+    public void testHandleMarkRange() throws YapchitException {
+        for (int i = 0; i < 10; i++) {
+            tasks.addTask(new ToDo("task " + i));
+        }
+
+        handler.handleMark(parser.parseInputParts("mark 2-4,7"), tasks, ui, parser, true);
+        for (int i = 0; i < 10; i++) {
+            boolean isExpected = (i >= 1 && i <= 3) || i == 6;
+            assertEquals(isExpected, tasks.getItem(i).getDone());
+        }
+
+        handler.handleMark(parser.parseInputParts("unmark where find:task 3"), tasks, ui, parser, false);
+        assertFalse(tasks.getItem(3).getDone());
+        assertTrue(tasks.getItem(2).getDone());
+    }
+
+    /**
+     * Tests deleting a selection of tasks with handleDelete.
+     *
+     * @throws YapchitException if test fails.
+     */
+    @Test
+    public void testHandleDeleteSelection() throws YapchitException {
+        for (int i = 0; i < 10; i++) {
+            tasks.addTask(new ToDo("task " + i));
+        }
+
+        handler.handleDelete(parser.parseInputParts("delete 1,3,8-10"), tasks, ui, parser);
+        assertEquals(5, tasks.getListSize());
+        assertEquals("task 1", tasks.getItem(0).getName());
+        assertEquals("task 6", tasks.getItem(4).getName());
+
+        tasks.mark(0, true);
+        tasks.mark(2, true);
+        handler.handleDelete(parser.parseInputParts("delete done"), tasks, ui, parser);
+        assertEquals(3, tasks.getListSize());
+        assertEquals("task 3", tasks.getItem(0).getName());
+    }
+
+    /**
+     * Tests out of range fail condition of handleDelete method of the Handler class.
+     */
+    @Test
+    public void testHandleDeleteInvalidRange() {
+        tasks.addTask(new ToDo("task"));
+        assertThrows(InvalidDetailException.class, () -> {
+            handler.handleDelete(parser.parseInputParts("delete 1-2"), tasks, ui, parser);
+        });
+        assertEquals(1, tasks.getListSize());
+    }
+
+    /**
+     * Tests paging of the list with handleList.
+     *
+     * @throws YapchitException if test fails.
+     */
+    @Test
+    public void testHandleListPage() throws YapchitException {
+        for (int i = 0; i < 25; i++) {
+            tasks.addTask(new ToDo("task " + i));
+        }
+
+        String output = handler.handleList(parser.parseInputParts("list page 3 size 10"), tasks, ui, parser);
+        assertTrue(output.contains("\t21.[T][ ] task 20\n"));
+        assertFalse(output.contains("task 19"));
+        assertTrue(output.contains("Showing tasks 21-25 of 25 (page 3 of 3)"));
+
+        assertThrows(InvalidDetailException.class, () -> {
+            handler.handleList(parser.parseInputParts("list page 4 size 10"), tasks, ui, parser);
+        });
+    }
+
+    /**
+     * Tests that a Ui given an output for lists writes the page to it instead of returning it.
+     *
+     * @throws YapchitException if test fails.
+     */
+    @Test
+    public void testListPageWrittenToOutput() throws YapchitException {
+        for (int i = 0; i < 25; i++) {
+            tasks.addTask(new ToDo("task " + i));
+        }
+
+        StringBuilder written = new StringBuilder();
+        String output = handler.handleList(parser.parseInputParts("list page 3 size 10"), tasks, new Ui(written),
+                parser);
+        assertEquals("", output);
+        assertEquals(ui.printListPage(tasks, "Here are the tasks in your list:", 3, 10), written.toString());
+    }
+
+    /**
+     * Tests that marking a recurring task marks its occurrences one at a time, and that an occurrence
+     * can be marked by its date.
+     *
+     * @throws YapchitException if test fails.
+     */
+    @Test
+    public void testHandleRecurMark() throws YapchitException {
+        handler.handleRecur("recur rent /by 2024-01-31 /every month /until 2024-05-31", true, tasks, ui, parser);
+        RecurringTask rent = (RecurringTask) tasks.getItem(0);
+        assertEquals(5L, rent.getOccurrenceCount());
+        assertEquals(parser.parseTimestamp("2024-02-29"), rent.getOccurrence(1));
+
+        handler.handleMark(parser.parseInputParts("mark 1"), tasks, ui, parser, true);
+        handler.handleMark(parser.parseInputParts("mark 1 /on 2024-04-30"), tasks, ui, parser, true);
+        assertTrue(rent.isOccurrenceDone(0));
+        assertFalse(rent.isOccurrenceDone(1));
+        assertTrue(rent.isOccurrenceDone(3));
+        assertEquals("1+3", rent.getDoneRecord());
+        assertEquals("[R][D][ ] rent (by: Feb 29 2024, every month until May 31 2024)", rent.toString()
+                .replace("\n\t\t", ""));
+
+        handler.handleMark(parser.parseInputParts("mark 1 /on 2024-02-29"), tasks, ui, parser, true);
+        assertEquals("2+3", rent.getDoneRecord());
+        handler.handleMark(parser.parseInputParts("unmark 1 /on 2024-01-31"), tasks, ui, parser, false);
+        assertEquals("0+1,3", rent.getDoneRecord());
+
+        assertThrows(InvalidDetailException.class, () -> {
+            handler.handleMark(parser.parseInputParts("mark 1 /on 2024-02-01"), tasks, ui, parser, true);
+        });
+    }
+
+    /**
+     * Tests that a date window lists deadlines and only the occurrences of recurring tasks in that window.
+     *
+     * @throws YapchitException if test fails.
+     */
+    @Test
+    public void testHandleListWindow() throws YapchitException {
+        handler.handleRecur("recur standup /on 2020-01-06 /every week", true, tasks, ui, parser);
+        handler.handleDeadline("deadline report /by 2030-03-12", true, tasks, ui, parser);
+        tasks.addTask(new ToDo("report draft"));
+
+        String output = handler.handleList(parser.parseInputParts("list from 2030-03-01 to 2030-03-15"),
+                tasks, ui, parser);
+        assertTrue(output.contains("\t1.[E][ ] standup (on: Mar 4 2030)\n"));
+        assertTrue(output.contains("\t2.[E][ ] standup (on: Mar 11 2030)\n"));
+        assertTrue(output.contains("\t3.[D][ ] report (by: Mar 12 2030)\n"));
+        assertFalse(output.contains("draft"));
+
+        output = handler.handleFind(parser.parseInputParts("find report from 2030-03-01 to 2030-03-15"),
+                tasks, ui, parser);
+        assertTrue(output.contains("\t1.[D][ ] report (by: Mar 12 2030)\n"));
+        assertFalse(output.contains("standup"));
+
+        assertThrows(InvalidDetailException.class, () -> {
+            handler.handleList(parser.parseInputParts("list from 2030-03-01"), tasks, ui, parser);
+        });
+    }
+}
@@ -0,0 +1,164 @@
+package yapchit;
+
+import org.junit.jupiter.api.Test;
+import yapchit.yapchitbackend.TaskList;
+import yapchit.yapchitbackend.YapchitBackend;
+import yapchit.yapchitbackend.tasks.Deadline;
+import yapchit.yapchitbackend.tasks.Event;
+import yapchit.yapchitbackend.tasks.Task;
+import yapchit.yapchitbackend.tasks.ToDo;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.ref.Reference;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Properties;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Class to test that the heap taken by task lists, and the memory allocated by common commands, stay within
+ * the budgets in {@code memory-budgets.properties}. A budget can be overridden with a system property of the
+ * same name, for example {@code -Dyapchit.budget.retained.todo=120}.
+ */
+public class MemoryFootprintTest {
+
+    /** List sizes retained heap is measured at. Smaller lists are too small to measure through the GC. */
+    private static final int[] LIST_SIZES = {50_000, 200_000};
+    /** Tasks in the list commands are run against. */
+    private static final int COMMAND_LIST_SIZE = 1_000;
+    private static final int WARMUP_RUNS = 50;
+    private static final int MEASURED_RUNS = 100;
+
+    private static final Properties BUDGETS = loadBudgets();
+
+    /**
+     * Tests the heap retained per task by lists of todos.
+     */
+    @Test
+    public void testTodoRetainedHeap() {
+        assertRetainedWithinBudget("todo", i -> new ToDo("read chapter " + i + " of the book"));
+    }
+
+    /**
+     * Tests the heap retained per task by lists of deadlines.
+     */
+    @Test
+    public void testDeadlineRetainedHeap() {
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        assertRetainedWithinBudget("deadline",
+                i -> new Deadline("submit report " + i, start.plusDays(i % 3650)));
+    }
+
+    /**
+     * Tests the heap retained per task by lists of events.
+     */
+    @Test
+    public void testEventRetainedHeap() {
+        assertRetainedWithinBudget("event", i -> new Event("meeting " + i, "mon " + (i % 24) + "00", "tue 0900"));
+    }
+
+    /**
+     * Tests the memory allocated by list, find, mark and add on a list of {@value #COMMAND_LIST_SIZE} tasks,
+     * including saving the data file after mark and add.
+     *
+     * @throws IOException if the data file cannot be created.
+     */
+    @Test
+    public void testCommandAllocations() throws IOException {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assertTrue(threads.isThreadAllocatedMemorySupported(), "allocation counters are not supported");
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        Path file = Files.createTempDirectory("yapchit-memory").resolve("tasks.txt");
+        StringBuilder records = new StringBuilder();
+        for (int i = 0; i < COMMAND_LIST_SIZE; i++) {
+            records.append("todo read chapter ").append(i).append(" of the book").append(i % 2).append('\n');
+        }
+        Files.writeString(file, records);
+        YapchitBackend backend = new YapchitBackend(file.toString());
+        backend.getIntro();
+
+        long tid = Thread.currentThread().getId();
+        String[][] commands = {
+            {"list", "list", null},
+            {"find", "find chapter 99", null},
+            {"mark", "mark 10", null},
+            {"add", "todo write the summary", "delete " + (COMMAND_LIST_SIZE + 1)},
+        };
+        for (String[] command : commands) {
+            for (int i = 0; i < WARMUP_RUNS; i++) {
+                runCommand(backend, command);
+            }
+
+            long allocated = 0;
+            for (int i = 0; i < MEASURED_RUNS; i++) {
+                long before = threads.getThreadAllocatedBytes(tid);
+                backend.run(command[1]);
+                allocated += threads.getThreadAllocatedBytes(tid) - before;
+                if (command[2] != null) {
+                    backend.run(command[2]);
+                }
+            }
+
+            assertWithinBudget("allocated." + command[0], allocated / MEASURED_RUNS, "bytes per command");
+        }
+    }
+
+    private static void runCommand(YapchitBackend backend, String[] command) {
+        backend.run(command[1]);
+        if (command[2] != null) {
+            backend.run(command[2]);
+        }
+    }
+
+    private static void assertRetainedWithinBudget(String type, IntFunction<Task> factory) {
+        for (int size : LIST_SIZES) {
+            long before = usedHeapAfterGc();
+            TaskList tasks = new TaskList();
+            for (int i = 0; i < size; i++) {
+                tasks.addTask(factory.apply(i));
+            }
+            long after = usedHeapAfterGc();
+            Reference.reachabilityFence(tasks);
+
+            assertWithinBudget("retained." + type, (after - before) / size, "bytes per task in " + size + " tasks");
+        }
+    }
+
+    private static void assertWithinBudget(String name, long measured, String unit) {
+        String key = "yapchit.budget." + name;
+        long budget = Long.parseLong(System.getProperty(key, BUDGETS.getProperty(key)));
+        assertTrue(measured <= budget, name + " was " + measured + " " + unit + ", over the budget of " + budget);
+    }
+
+    /**
+     * Returns the least heap in use over several garbage collections, so garbage left by earlier tests that
+     * one collection does not free is not counted.
+     */
+    private static long usedHeapAfterGc() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            used = Math.min(used, memory.getHeapMemoryUsage().getUsed());
+        }
+        return used;
+    }
+
+    private static Properties loadBudgets() {
+        Properties budgets = new Properties();
+        try (InputStream in = MemoryFootprintTest.class.getResourceAsStream("/memory-budgets.properties")) {
+            budgets.load(in);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read memory budgets", e);
+        }
+        return budgets;
+    }
+}
@@ -0,0 +1,164 @@
+package yapchit;
+
+import org.junit.jupiter.api.Test;
+import yapchit.yapchitbackend.Reminder;
+import yapchit.yapchitbackend.ReminderScheduler;
+import yapchit.yapchitbackend.TaskList;
+import yapchit.yapchitbackend.tasks.Deadline;
+import yapchit.yapchitbackend.tasks.Event;
+import yapchit.yapchitbackend.tasks.Recurrence;
+import yapchit.yapchitbackend.tasks.RecurringTask;
+import yapchit.yapchitbackend.tasks.ToDo;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Class to test that reminders become due at the right time and follow changes to the task list.
+ */
+public class ReminderSchedulerTest {
+
+    /**
+     * Clock that only moves when told to.
+     */
+    private static final class TestClock extends Clock {
+        private Instant now = LocalDate.of(2024, 3, 1).atTime(12, 0).toInstant(ZoneOffset.UTC);
+
+        void advanceDays(long days) {
+            now = now.plusSeconds(days * 86_400);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+    private final TestClock clock = new TestClock();
+    private final ReminderScheduler scheduler = new ReminderScheduler(clock);
+    private final List<List<Reminder>> batches = new ArrayList<>();
+    private final TaskList tasks = new TaskList();
+
+    /**
+     * Creates a new ReminderSchedulerTest instance.
+     */
+    public ReminderSchedulerTest() {
+        scheduler.addListener(batches::add);
+        tasks.addListener(scheduler);
+    }
+
+    /**
+     * Tests that reminders come due on their date, in one batch per move of the clock, and not before.
+     */
+    @Test
+    public void testRemindersDueOnDate() {
+        tasks.addTask(new Deadline("report", LocalDate.of(2024, 3, 3)));
+        tasks.addTask(new Event("talk", "2024-03-03T09:00", "10:00"));
+        tasks.addTask(new Event("party", "saturday", "sunday"));
+        tasks.addTask(new Deadline("taxes", LocalDate.of(2024, 9, 30)));
+        tasks.addTask(new Deadline("overdue", LocalDate.of(2024, 2, 1)));
+        tasks.addTask(new ToDo("read"));
+        assertEquals(3, scheduler.getPendingCount());
+
+        clock.advanceDays(1);
+        scheduler.deliverDue();
+        assertTrue(batches.isEmpty());
+
+        clock.advanceDays(1);
+        scheduler.deliverDue();
+        assertEquals(1, batches.size());
+        assertEquals(2, batches.get(0).size());
+        assertEquals(LocalDate.of(2024, 3, 3), batches.get(0).get(0).getDate());
+
+        clock.advanceDays(300);
+        scheduler.deliverDue();
+        assertEquals(2, batches.size());
+        assertEquals("taxes", batches.get(1).get(0).getTask().getName());
+        assertEquals(0, scheduler.getPendingCount());
+    }
+
+    /**
+     * Tests that deleting, marking and updating tasks cancel or move their reminders.
+     */
+    @Test
+    public void testRemindersFollowChanges() {
+        Deadline moved = new Deadline("moved", LocalDate.of(2024, 3, 2));
+        tasks.addTask(new Deadline("deleted", LocalDate.of(2024, 3, 2)));
+        tasks.addTask(new Deadline("done", LocalDate.of(2024, 3, 2)));
+        tasks.addTask(moved);
+
+        BitSet first = new BitSet();
+        first.set(0);
+        tasks.deleteAll(first);
+        tasks.markAll(first, true);
+        moved.setBy(LocalDate.of(2024, 3, 5));
+        tasks.notifyUpdated(1);
+        assertEquals(1, scheduler.getPendingCount());
+
+        clock.advanceDays(2);
+        scheduler.deliverDue();
+        assertTrue(batches.isEmpty());
+
+        clock.advanceDays(2);
+        scheduler.deliverDue();
+        assertEquals("moved", batches.get(0).get(0).getTask().getName());
+    }
+
+    /**
+     * Tests that a recurring task waits for one occurrence at a time, skipping occurrences that are done.
+     */
+    @Test
+    public void testRecurringTaskRemindsEachOccurrence() {
+        RecurringTask gym = new RecurringTask("gym", true, LocalDate.of(2024, 2, 26), Recurrence.WEEKLY, null);
+        gym.setOccurrenceDone(2, true);
+        tasks.addTask(gym);
+        assertEquals(1, scheduler.getPendingCount());
+
+        clock.advanceDays(3);
+        scheduler.deliverDue();
+        assertEquals(1, batches.size());
+        assertEquals("[E][ ] gym (on: Mar 4 2024)", batches.get(0).get(0).toString());
+
+        clock.advanceDays(14);
+        scheduler.deliverDue();
+        assertEquals(2, batches.size());
+        assertEquals(LocalDate.of(2024, 3, 18), batches.get(1).get(0).getDate());
+        assertEquals(1, scheduler.getPendingCount());
+    }
+
+    /**
+     * Tests that many reminders due together are passed on in batches of bounded size.
+     */
+    @Test
+    public void testLargeBatchesSplit() {
+        for (int i = 0; i < 2500; i++) {
+            tasks.addTask(new Deadline("task " + i, LocalDate.of(2024, 4, 1 + i % 2)));
+        }
+
+        clock.advanceDays(40);
+        scheduler.deliverDue();
+        assertEquals(3, batches.size());
+        assertEquals((long) ReminderScheduler.MAX_BATCH, (long) batches.get(0).size());
+        assertEquals(500, batches.get(2).size());
+        assertEquals(LocalDate.of(2024, 4, 2), batches.get(2).get(499).getDate());
+    }
+}
@@ -0,0 +1,257 @@
+package yapchit;
+
+import org.junit.jupiter.api.Test;
+import yapchit.yapchitbackend.ColdStore;
+import yapchit.yapchitbackend.Storage;
+import yapchit.yapchitbackend.YapchitBackend;
+import yapchit.yapchitbackend.tasks.Task;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Class to test how the data file is kept in step with edits made by other programs.
+ */
+public class StorageTest {
+
+    /**
+     * Tests that only the tasks whose records changed in the file are reloaded.
+     *
+     * @throws IOException if the temporary file cannot be written.
+     */
+    @Test
+    public void testOnlyChangedRecordsReloaded() throws IOException {
+        Path file = Files.createTempDirectory("yapchit-storage").resolve("tasks.txt");
+        Files.writeString(file, "todo read book0\ntodo walk dog0\ntodo call mum0\n");
+        YapchitBackend backend = new YapchitBackend(file.toString());
+        backend.getIntro();
+        Task first = backend.getTasks().getItem(0);
+        Task second = backend.getTasks().getItem(1);
+        Task last = backend.getTasks().getItem(2);
+
+        Files.writeString(file, "todo read book0\ntodo walk the dog1\ntodo buy milk0\ntodo call mum0\n");
+        String response = backend.reloadIfChanged();
+
+        assertTrue(response.contains("2 tasks were changed"));
+        assertEquals(4, backend.getTasks().getListSize());
+        assertSame(first, backend.getTasks().getItem(0));
+        assertNotSame(second, backend.getTasks().getItem(1));
+        assertEquals("[T][X] walk the dog", backend.getTasks().getItem(1).toString());
+        assertSame(last, backend.getTasks().getItem(3));
+        assertEquals("", backend.reloadIfChanged());
+    }
+
+    /**
+     * Tests that a recurring task is saved as its rule and done occurrences, and read back the same.
+     *
+     * @throws IOException if the temporary file cannot be written.
+     */
+    @Test
+    public void testRecurringTaskSaved() throws IOException {
+        Path file = Files.createTempDirectory("yapchit-storage").resolve("tasks.txt");
+        YapchitBackend backend = new YapchitBackend(file.toString());
+        backend.getIntro();
+        backend.run("recur gym /on 2024-01-01 /every week");
+        backend.run("mark 1");
+        backend.run("mark 1 /on 2024-01-22");
+
+        assertEquals("recur gym /on 2024-01-01 /every week /done 1+30\n", Files.readString(file));
+
+        YapchitBackend reloaded = new YapchitBackend(file.toString());
+        reloaded.getIntro();
+        assertEquals(backend.getTasks().getItem(0).toString(), reloaded.getTasks().getItem(0).toString());
+    }
+
+    /**
+     * Tests that archived tasks leave the data file for the archive, which is only appended to,
+     * and are still found with find --all.
+     *
+     * @throws IOException if the temporary file cannot be written.
+     */
+    @Test
+    public void testArchivedTasksFoundInColdTier() throws IOException {
+        Path file = Files.createTempDirectory("yapchit-storage").resolve("tasks.txt");
+        Files.writeString(file, "todo read book1@2024-01-05\ntodo walk dog0\ntodo read paper1@2024-02-01\n");
+        YapchitBackend backend = new YapchitBackend(file.toString());
+        backend.getIntro();
+
+        assertTrue(backend.run("archive 2").contains("Only done tasks can be archived"));
+        assertTrue(backend.run("archive").contains("I've archived 2 of your tasks"));
+        assertEquals("todo walk dog0\n", Files.readString(file));
+        Path archive = Path.of(file + ColdStore.ARCHIVE_SUFFIX);
+        assertEquals("todo read book1@2024-01-05\ntodo read paper1@2024-02-01\n", Files.readString(archive));
+
+        backend.run("todo read news");
+        backend.run("mark 2");
+        backend.run("archive 2");
+        assertEquals("todo walk dog0\n", Files.readString(file));
+
+        String found = backend.run("find --all read");
+        assertTrue(found.contains("1.[T][X] read book"));
+        assertTrue(found.contains("3.[T][X] read news"));
+        assertFalse(backend.run("find read").contains("read book"));
+        assertFalse(backend.run("find --all paper").contains("read book"));
+        assertTrue(backend.run("find --all pa").contains("read paper"));
+    }
+
+    /**
+     * Tests that tasks done more than the configured number of days ago are archived when the list is loaded.
+     *
+     * @throws IOException if the temporary file cannot be written.
+     */
+    @Test
+    public void testExpiredTasksArchived() throws IOException {
+        Path file = Files.createTempDirectory("yapchit-storage").resolve("tasks.txt");
+        Files.writeString(file, "todo old1@2020-01-01\ntodo open0\ntodo recent1@" + LocalDate.now() + "\n");
+        System.setProperty(YapchitBackend.ARCHIVE_AFTER_PROPERTY, "30");
+        try {
+            YapchitBackend backend = new YapchitBackend(file.toString());
+            backend.getIntro();
+            assertEquals(2, backend.getTasks().getListSize());
+            assertEquals("todo open0\ntodo recent1@" + LocalDate.now() + "\n", Files.readString(file));
+            assertTrue(backend.run("find --all old").contains("[T][X] old"));
+
+            // The list was already looked through today.
+            backend.run("mark 1 /at 2020-01-01");
+            assertEquals(2, backend.getTasks().getListSize());
+        } finally {
+            System.clearProperty(YapchitBackend.ARCHIVE_AFTER_PROPERTY);
+        }
+    }
+
+    /**
+     * Tests that an external edit made between reloading and saving is kept in a copy and reported.
+     *
+     * @throws IOException if the temporary file cannot be written.
+     */
+    @Test
+    public void testConflictingEditKept() throws IOException {
+        Path file = Files.createTempDirectory("yapchit-storage").resolve("tasks.txt");
+        YapchitBackend backend = new YapchitBackend(file.toString());
+        backend.getIntro();
+        backend.run("todo read book");
+
+        Files.writeString(file, "todo read book0\ntodo added elsewhere0\n");
+        String response = backend.getOutro();
+
+        assertTrue(response.contains("changed by another program"));
+        assertEquals("todo read book0\ntodo added elsewhere0\n",
+                Files.readString(Path.of(file + Storage.CONFLICT_SUFFIX)));
+        assertEquals("todo read book0\n", Files.readString(file));
+    }
+
+    /**
+     * Tests that an external edit that cannot be parsed leaves the list unchanged, and is kept as a conflict
+     * copy rather than silently overwritten by the next save.
+     *
+     * @throws IOException if the temporary directory cannot be created.
+     */
+    @Test
+    public void testMalformedEditKeptOnSave() throws IOException {
+        Path file = Files.createTempDirectory("yapchit-storage").resolve("tasks.txt");
+        YapchitBackend backend = new YapchitBackend(file.toString());
+        backend.getIntro();
+        backend.run("todo read book");
+
+        Files.writeString(file, "todo read book0\nnot a task\n");
+        assertTrue(backend.reloadIfChanged().contains("corrupted"));
+        assertTrue(backend.hasExternalChanges());
+
+        String response = backend.run("todo walk dog");
+        assertTrue(response.contains("changed by another program"));
+        assertEquals("todo read book0\nnot a task\n", Files.readString(Path.of(file + Storage.CONFLICT_SUFFIX)));
+        assertEquals("todo read book0\ntodo walk dog0\n", Files.readString(file));
+    }
+
+    /**
+     * Tests that two backends sharing a data file both keep their changes, the later writer running its
+     * command again on top of the other's.
+     *
+     * @throws IOException if the temporary directory cannot be created.
+     */
+    @Test
+    public void testStaleWriterRetriesOnNewerVersion() throws IOException {
+        Path file = Files.createTempDirectory("yapchit-storage").resolve("tasks.txt");
+        YapchitBackend gui = new YapchitBackend(file.toString());
+        YapchitBackend cli = new YapchitBackend(file.toString());
+        gui.getIntro();
+        cli.getIntro();
+
+        gui.run("todo read book");
+        String response = cli.run("todo walk dog");
+
+        assertTrue(response.contains("Now you have 2 tasks"));
+        assertEquals("todo read book0\ntodo walk dog0\n", Files.readString(file));
+        assertTrue(gui.run("list").contains("2.[T][ ] walk dog"));
+    }
+
+    /**
+     * Tests that a command archiving tasks, run again after another process saved first, archives them once.
+     *
+     * @throws IOException if the temporary file cannot be written.
+     */
+    @Test
+    public void testStaleArchiveWrittenOnce() throws IOException {
+        Path file = Files.createTempDirectory("yapchit-storage").resolve("tasks.txt");
+        Files.writeString(file, "todo read book1@2024-01-05\n");
+        YapchitBackend gui = new YapchitBackend(file.toString());
+        YapchitBackend cli = new YapchitBackend(file.toString());
+        gui.getIntro();
+        cli.getIntro();
+
+        gui.run("todo walk dog");
+        assertTrue(cli.runLoaded("archive 1").contains("I've archived 1 of your tasks"));
+
+        assertEquals("todo walk dog0\n", Files.readString(file));
+        assertEquals("todo read book1@2024-01-05\n", Files.readString(Path.of(file + ColdStore.ARCHIVE_SUFFIX)));
+    }
+
+    /**
+     * Tests that marking with '/at' records the given done date, and that marking a done task keeps its date.
+     *
+     * @throws IOException if the temporary file cannot be written.
+     */
+    @Test
+    public void testMarkAtDateSaved() throws IOException {
+        Path file = Files.createTempDirectory("yapchit-storage").resolve("tasks.txt");
+        YapchitBackend backend = new YapchitBackend(file.toString());
+        backend.getIntro();
+        backend.run("todo read book");
+        backend.run("todo walk dog");
+
+        assertTrue(backend.run("mark 1-2 /at 2024-03-01").contains("[X] walk dog"));
+        backend.run("mark 1");
+        assertEquals("todo read book1@2024-03-01\ntodo walk dog1@2024-03-01\n", Files.readString(file));
+        assertTrue(backend.run("mark 1 /at 2024-13-01").contains("yyyy-mm-dd"));
+    }
+
+    /**
+     * Tests that archived tasks are taken back out of the archive when the data file cannot be written,
+     * and that the failure is reported.
+     *
+     * @throws IOException if the temporary file cannot be written.
+     */
+    @Test
+    public void testArchiveRolledBackWhenSaveFails() throws IOException {
+        Path file = Files.createTempDirectory("yapchit-storage").resolve("tasks.txt");
+        Files.writeString(file, "todo read book1@2024-01-05\n");
+        YapchitBackend backend = new YapchitBackend(file.toString());
+        backend.getIntro();
+
+        // A directory that is not empty cannot be replaced by the saved file.
+        Files.delete(file);
+        Files.createDirectories(file.resolve("blocked"));
+        String response = backend.runLoaded("archive 1");
+
+        assertTrue(response.contains("Your change was not saved"));
+        assertEquals("", Files.readString(Path.of(file + ColdStore.ARCHIVE_SUFFIX)));
+    }
+}
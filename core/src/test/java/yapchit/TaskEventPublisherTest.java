@@ -0,0 +1,166 @@
+package yapchit;
+
+import org.junit.jupiter.api.Test;
+import yapchit.yapchitbackend.TaskEvent;
+import yapchit.yapchitbackend.TaskEventPublisher;
+import yapchit.yapchitbackend.TaskList;
+import yapchit.yapchitbackend.YapchitBackend;
+import yapchit.yapchitbackend.tasks.ToDo;
+import yapchit.yapchitexceptions.YapchitException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Class to test TaskEventPublisher class.
+ */
+public class TaskEventPublisherTest {
+
+    /**
+     * Tests that changes to a task list are published as typed events with task snapshots.
+     *
+     * @throws InterruptedException if interrupted while waiting for events.
+     * @throws YapchitException if test fails.
+     */
+    @Test
+    public void testChangesPublishedInOrder() throws InterruptedException, YapchitException {
+        TaskList tasks = new TaskList();
+        TaskEventPublisher publisher = new TaskEventPublisher();
+        tasks.addListener(publisher);
+        RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE);
+        publisher.subscribe(subscriber);
+
+        tasks.addTask(new ToDo("read book"));
+        tasks.addTask(new ToDo("write essay"));
+        tasks.mark(1, true);
+        BitSet first = new BitSet();
+        first.set(0);
+        tasks.deleteAll(first);
+        publisher.close();
+
+        assertTrue(subscriber.completed.await(5, TimeUnit.SECONDS));
+        List<TaskEvent> events = subscriber.events;
+        assertEquals(4, events.size());
+        assertEquals(TaskEvent.Type.ADDED, events.get(0).getType());
+        assertEquals(TaskEvent.Type.MARKED, events.get(2).getType());
+        assertEquals(1, events.get(2).getIndex());
+        assertTrue(events.get(2).getTask().getDone());
+        assertEquals(TaskEvent.Type.DELETED, events.get(3).getType());
+        assertEquals("read book", events.get(3).getTask().getName());
+        assertEquals(4L, events.get(3).getSequence());
+    }
+
+    /**
+     * Tests that a backend completes its subscribers when it shuts down.
+     *
+     * @throws Exception if the temporary file cannot be created or interrupted while waiting.
+     */
+    @Test
+    public void testBackendClosesPublisherOnOutro() throws Exception {
+        Path file = Files.createTempDirectory("yapchit-events").resolve("tasks.txt");
+        YapchitBackend backend = new YapchitBackend(file.toString());
+        backend.getIntro();
+        RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE);
+        backend.getEvents().subscribe(subscriber);
+        backend.run("todo read book");
+
+        backend.getOutro();
+        assertTrue(subscriber.completed.await(5, TimeUnit.SECONDS));
+        assertEquals(1, subscriber.events.size());
+    }
+
+    /**
+     * Tests that a subscriber that does not keep up only keeps the newest events.
+     *
+     * @throws InterruptedException if interrupted while waiting for events.
+     */
+    @Test
+    public void testDropOldestKeepsNewestEvents() throws InterruptedException {
+        TaskList tasks = new TaskList();
+        TaskEventPublisher publisher = new TaskEventPublisher();
+        tasks.addListener(publisher);
+        RecordingSubscriber subscriber = new RecordingSubscriber(0);
+        publisher.subscribe(subscriber, 2, TaskEventPublisher.OverflowPolicy.DROP_OLDEST);
+
+        for (int i = 0; i < 10; i++) {
+            tasks.addTask(new ToDo("task " + i));
+        }
+        publisher.close();
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        assertTrue(subscriber.completed.await(5, TimeUnit.SECONDS));
+        assertEquals(2, subscriber.events.size());
+        assertEquals("task 9", subscriber.events.get(1).getTask().getName());
+    }
+
+    /**
+     * Tests that closing does not wait for a blocking subscriber that stopped requesting events.
+     *
+     * @throws InterruptedException if interrupted while waiting for events.
+     */
+    @Test
+    public void testCloseDoesNotWaitForStalledSubscriber() throws InterruptedException {
+        TaskList tasks = new TaskList();
+        TaskEventPublisher publisher = new TaskEventPublisher();
+        tasks.addListener(publisher);
+        RecordingSubscriber subscriber = new RecordingSubscriber(0);
+        publisher.subscribe(subscriber, 1, TaskEventPublisher.OverflowPolicy.BLOCK);
+
+        for (int i = 0; i < 3; i++) {
+            tasks.addTask(new ToDo("task " + i));
+        }
+        Thread closer = new Thread(publisher::close);
+        closer.start();
+        closer.join(5000);
+        assertFalse(closer.isAlive());
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+        assertTrue(subscriber.completed.await(5, TimeUnit.SECONDS));
+        assertEquals("task 2", subscriber.events.get(subscriber.events.size() - 1).getTask().getName());
+    }
+
+    private static class RecordingSubscriber implements Flow.Subscriber<TaskEvent> {
+        private final List<TaskEvent> events = new CopyOnWriteArrayList<>();
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private final long initialRequest;
+        private Flow.Subscription subscription;
+
+        private RecordingSubscriber(long initialRequest) {
+            this.initialRequest = initialRequest;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (initialRequest > 0) {
+                subscription.request(initialRequest);
+            }
+        }
+
+        @Override
+        public void onNext(TaskEvent item) {
+            events.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            completed.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            completed.countDown();
+        }
+    }
+
+}
@@ -0,0 +1,61 @@
+package yapchit;
+
+import org.junit.jupiter.api.Test;
+import yapchit.yapchitbackend.tasks.Deadline;
+import yapchit.yapchitbackend.tasks.Event;
+import yapchit.yapchitbackend.tasks.ToDo;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Class to test rendering of tasks.
+ */
+public class TaskTest {
+
+    /**
+     * Tests that the rendered form of a task is reused until the task changes.
+     */
+    @Test
+    public void testToStringCachedUntilMutation() {
+        ToDo todo = new ToDo("read book");
+        String first = todo.toString();
+        assertSame(first, todo.toString());
+
+        todo.setDone(true);
+        assertEquals("[T][X] read book", todo.toString());
+
+        todo.setName("return book");
+        assertEquals("[T][X] return book", todo.toString());
+    }
+
+    /**
+     * Tests that deadline and event details invalidate the rendered form.
+     */
+    @Test
+    public void testToStringReflectsDetailUpdates() {
+        Deadline deadline = new Deadline("essay", LocalDate.parse("2024-02-15"));
+        assertEquals("[D][ ] essay (by: Feb 15 2024)", deadline.toString());
+        deadline.setBy(LocalDate.parse("2024-03-01"));
+        assertEquals("[D][ ] essay (by: Mar 1 2024)", deadline.toString());
+
+        Event event = new Event("exams", "may", "june");
+        assertEquals("[E][ ] exams (from: may to: june)", event.toString());
+        event.setFrom("april");
+        event.setTo("july");
+        assertEquals("[E][ ] exams (from: april to: july)", event.toString());
+    }
+
+    /**
+     * Tests that long tasks are wrapped every 38 characters.
+     */
+    @Test
+    public void testToStringWrapsLongNames() {
+        ToDo todo = new ToDo("a".repeat(40));
+        String expected = "[T][ ] " + "a".repeat(31) + "\n\t\t" + "a".repeat(9);
+        assertEquals(expected, todo.toString());
+    }
+
+}
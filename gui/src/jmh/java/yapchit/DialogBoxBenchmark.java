@@ -0,0 +1,39 @@
+package yapchit;
+
+import javafx.application.Platform;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import yapchit.yapchitui.DialogBox;
+import yapchit.yapchitui.DisplayImages;
+
+/**
+ * Benchmarks creating the dialog boxes shown for each message. Needs a display to start JavaFX.
+ */
+@State(Scope.Benchmark)
+public class DialogBoxBenchmark {
+
+    /**
+     * Starts the JavaFX toolkit, which loading the display images needs.
+     */
+    @Setup
+    public void setUp() {
+        try {
+            Platform.startup(() -> { });
+        } catch (IllegalStateException e) {
+            // Already started by an earlier trial in this fork.
+        }
+    }
+
+    @Benchmark
+    public DialogBox getUserDialog() {
+        return DialogBox.getUserDialog("todo read book", DisplayImages.USER);
+    }
+
+    @Benchmark
+    public DialogBox getYapchitDialog() {
+        return DialogBox.getYapchitDialog("\tGot it. I've added this task:\n\t\t[T][ ] read book",
+                DisplayImages.YAPCHIT);
+    }
+}
@@ -0,0 +1,28 @@
+package yapchit;
+import javafx.application.Application;
+import yapchit.yapchitui.Main;
+
+import java.io.IOException;
+
+/**
+ * A launcher class to workaround classpath issues.
+ */
+public class Launcher {
+
+    /**
+     * Entry point into the program.
+     * Starts the GUI, or one of the servers of {@link HeadlessLauncher} when the first argument is
+     * {@code --http}, {@code --line} or {@code --replica}.
+     *
+     * @param args command line arguments.
+     * @throws IOException if a server cannot be started.
+     */
+    public static void main(String[] args) throws IOException {
+        if (HeadlessLauncher.isHeadless(args)) {
+            HeadlessLauncher.main(args);
+            return;
+        }
+
+        Application.launch(Main.class, args);
+    }
+}
@@ -0,0 +1,103 @@
+package yapchit.yapchitui;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+/**
+ * Holds the messages shown in the main window.
+ * At most a fixed number of recent messages is kept in memory. Older messages are paged out
+ * in batches to a transcript file on disk so the window stays responsive in long sessions.
+ */
+public class ConversationHistory {
+
+    /** Number of messages retained when no cap is configured. */
+    public static final int DEFAULT_CAP = 500;
+
+    private final ObservableList<Message> messages = FXCollections.observableArrayList();
+    private final int cap;
+    private final int pageOutBatch;
+    private final Path transcriptFile;
+
+    /**
+     * Creates a new conversation history.
+     *
+     * @param cap maximum number of messages kept in memory.
+     * @param transcriptFile file that older messages are appended to.
+     */
+    public ConversationHistory(int cap, Path transcriptFile) {
+        assert cap > 0 : "history cap must be positive";
+        this.cap = cap;
+        this.pageOutBatch = Math.max(1, cap / 4);
+        this.transcriptFile = transcriptFile;
+    }
+
+    /**
+     * Returns the live list of retained messages, suitable as the items of a ListView.
+     *
+     * @return ObservableList of messages, oldest first.
+     */
+    public ObservableList<Message> getMessages() {
+        return this.messages;
+    }
+
+    /**
+     * Adds messages to the end of the conversation, paging out the oldest ones if the cap is exceeded.
+     *
+     * @param newMessages messages to add.
+     */
+    public void addAll(Message... newMessages) {
+        messages.addAll(newMessages);
+
+        if (messages.size() > cap) {
+            int toPageOut = Math.min(messages.size(), messages.size() - cap + pageOutBatch);
+            List<Message> oldest = messages.subList(0, toPageOut);
+            writeToTranscript(oldest);
+            oldest.clear();
+        }
+    }
+
+    /**
+     * Replaces a message with another one, keeping its position in the conversation.
+     * If the message has already been paged out, the replacement is added to the end instead.
+     *
+     * @param oldMessage message to replace.
+     * @param newMessage message to show in its place.
+     */
+    public void replace(Message oldMessage, Message newMessage) {
+        for (int i = messages.size() - 1; i >= 0; i--) {
+            if (messages.get(i) == oldMessage) {
+                messages.set(i, newMessage);
+                return;
+            }
+        }
+        addAll(newMessage);
+    }
+
+    private void writeToTranscript(List<Message> oldest) {
+        try {
+            Path parent = transcriptFile.getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+
+            try (BufferedWriter writer = Files.newBufferedWriter(transcriptFile, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (Message m : oldest) {
+                    writer.write(m.isFromUser() ? "user: " : "yapchit: ");
+                    writer.write(m.getText());
+                    writer.newLine();
+                }
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package yapchit.yapchitui;
+
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.control.Label;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.HBox;
+import javafx.scene.text.TextFlow;
+
+/**
+ * A custom control representing a dialog box consisting of an ImageView to represent the speaker's face
+ * and a label containing text from the speaker.
+ * The layout is built in code rather than loaded from FXML, so creating a dialog box is cheap.
+ */
+public class DialogBox extends HBox {
+    private static final Insets PADDING = new Insets(15.0, 5.0, 15.0, 5.0);
+
+    private final Label dialog = new Label();
+    private final ImageView displayPicture = new ImageView();
+    private final TextFlow textFlow = new TextFlow(dialog);
+
+    /**
+     * Creates an empty dialog box, to be filled in with {@link #setMessage(String, Image, boolean)}.
+     */
+    DialogBox() {
+        setMaxSize(Double.MAX_VALUE, Double.MAX_VALUE);
+        setPrefWidth(400.0);
+        setPadding(PADDING);
+
+        dialog.setWrapText(true);
+        displayPicture.setFitHeight(DisplayImages.SIZE);
+        displayPicture.setFitWidth(DisplayImages.SIZE);
+        displayPicture.setPickOnBounds(true);
+        displayPicture.setPreserveRatio(true);
+    }
+
+    /**
+     * Shows the given text and image in this dialog box.
+     * Flipped dialog boxes have the ImageView on the left and text on the right.
+     *
+     * @param text Text to be included in the dialog.
+     * @param img Image to be included in the dialog.
+     * @param isFlipped whether the image is shown on the left.
+     */
+    void setMessage(String text, Image img, boolean isFlipped) {
+        dialog.setText(text);
+        displayPicture.setImage(img);
+
+        if (isFlipped) {
+            getChildren().setAll(displayPicture, textFlow);
+            setAlignment(Pos.TOP_LEFT);
+        } else {
+            getChildren().setAll(textFlow, displayPicture);
+            setAlignment(Pos.TOP_RIGHT);
+        }
+    }
+
+    /**
+     * Creates and returns a new instance of a user dialog.
+     *
+     * @param text Text to be included in the dialog.
+     * @param img Image to be included in the dialog.
+     * @return DialogBox with text and image.
+     */
+    public static DialogBox getUserDialog(String text, Image img) {
+        var db = new DialogBox();
+        db.setMessage(text, img, false);
+        return db;
+    }
+
+    /**
+     * Creates and returns a new instance of a yapchit dialog.
+     *
+     * @param text text Text to be included in the dialog.
+     * @param img Image to be included in the dialog.
+     * @return DialogBox with text and image.
+     */
+    public static DialogBox getYapchitDialog(String text, Image img) {
+        var db = new DialogBox();
+        db.setMessage(text, img, true);
+        return db;
+    }
+}
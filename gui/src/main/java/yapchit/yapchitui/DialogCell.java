@@ -0,0 +1,45 @@
+package yapchit.yapchitui;
+
+import javafx.scene.control.ListCell;
+import javafx.scene.image.Image;
+
+/**
+ * List cell that shows a message as a dialog box.
+ * Cells are reused by the ListView as the user scrolls, so only the visible messages have live nodes.
+ */
+public class DialogCell extends ListCell<Message> {
+
+    private final DialogBox dialogBox = new DialogBox();
+    private final Image userImage;
+    private final Image yapchitImage;
+
+    /**
+     * Creates a new dialog cell.
+     *
+     * @param userImage image shown next to user messages.
+     * @param yapchitImage image shown next to Yapchit messages.
+     */
+    public DialogCell(Image userImage, Image yapchitImage) {
+        this.userImage = userImage;
+        this.yapchitImage = yapchitImage;
+        setPrefWidth(0);
+    }
+
+    @Override
+    protected void updateItem(Message item, boolean empty) {
+        super.updateItem(item, empty);
+        setText(null);
+
+        if (empty || item == null) {
+            setGraphic(null);
+            return;
+        }
+
+        if (item.isFromUser()) {
+            dialogBox.setMessage(item.getText(), userImage, false);
+        } else {
+            dialogBox.setMessage(item.getText(), yapchitImage, true);
+        }
+        setGraphic(dialogBox);
+    }
+}
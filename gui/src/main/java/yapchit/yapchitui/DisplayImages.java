@@ -0,0 +1,25 @@
+package yapchit.yapchitui;
+
+import javafx.scene.image.Image;
+
+/**
+ * Holds the display pictures shared by all dialog boxes.
+ * Images are decoded once, already scaled to the size they are shown at, when first used.
+ * Decoding runs in the background, so the window is shown without waiting for it; dialog boxes show
+ * the pictures as soon as they are ready.
+ */
+public final class DisplayImages {
+
+    /** Width and height at which display pictures are shown. */
+    public static final double SIZE = 99.0;
+
+    public static final Image USER = load("/images/DaUser.png");
+    public static final Image YAPCHIT = load("/images/DaYapchit.png");
+
+    private DisplayImages() {
+    }
+
+    private static Image load(String path) {
+        return new Image(DisplayImages.class.getResource(path).toExternalForm(), SIZE, SIZE, true, true, true);
+    }
+}
@@ -0,0 +1,118 @@
+package yapchit.yapchitui;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.util.Duration;
+import yapchit.yapchitbackend.WorkerThreads;
+import yapchit.yapchitbackend.tasks.Task;
+
+/**
+ * Searches task names while the user types.
+ * Keystrokes are debounced, each search runs on a background thread against a snapshot of the tasks,
+ * and a search is abandoned as soon as a newer one starts. Matches are published in chunks,
+ * so the first results of a search through a large list show up before the whole list is scanned.
+ */
+public class LiveSearch {
+
+    private static final Duration DEBOUNCE = Duration.millis(120);
+    /** Number of tasks scanned between publishing matches and checking for a newer search. */
+    private static final int CHUNK_SIZE = 4096;
+
+    private final ObservableList<String> results = FXCollections.observableArrayList();
+    private final ObservableList<Task> tasks;
+    private final ExecutorService searchExecutor = WorkerThreads.newSingleThreadExecutor("yapchit-search");
+    private final PauseTransition debounce = new PauseTransition(DEBOUNCE);
+    private final AtomicLong generation = new AtomicLong();
+
+    private String pendingTerm;
+    private Future<?> running;
+
+    /**
+     * Creates a live search over the given tasks.
+     *
+     * @param tasks tasks to search, only read on the JavaFX application thread.
+     */
+    public LiveSearch(ObservableList<Task> tasks) {
+        this.tasks = tasks;
+        debounce.setOnFinished(e -> start(pendingTerm));
+    }
+
+    /**
+     * Returns the matching tasks of the latest search, formatted as in the find command.
+     *
+     * @return ObservableList of results, updated on the JavaFX application thread.
+     */
+    public ObservableList<String> getResults() {
+        return this.results;
+    }
+
+    /**
+     * Schedules a search for the given term once the user stops typing, replacing any earlier search.
+     * Must be called on the JavaFX application thread.
+     *
+     * @param term term to search task names for.
+     */
+    public void search(String term) {
+        pendingTerm = term;
+        debounce.playFromStart();
+    }
+
+    /**
+     * Abandons any scheduled or running search and clears the results.
+     * Must be called on the JavaFX application thread.
+     */
+    public void cancel() {
+        debounce.stop();
+        stopRunning();
+        results.clear();
+    }
+
+    private void start(String term) {
+        long current = stopRunning();
+        results.clear();
+
+        List<Task> snapshot = new ArrayList<>(tasks);
+        running = searchExecutor.submit(() -> scan(snapshot, term, current));
+    }
+
+    private long stopRunning() {
+        if (running != null) {
+            running.cancel(true);
+            running = null;
+        }
+        return generation.incrementAndGet();
+    }
+
+    private void scan(List<Task> snapshot, String term, long current) {
+        for (int start = 0; start < snapshot.size(); start += CHUNK_SIZE) {
+            if (generation.get() != current || Thread.currentThread().isInterrupted()) {
+                return;
+            }
+
+            int end = Math.min(start + CHUNK_SIZE, snapshot.size());
+            List<String> matches = new ArrayList<>();
+            for (int i = start; i < end; i++) {
+                Task t = snapshot.get(i);
+                if (t.getName().contains(term)) {
+                    matches.add((i + 1) + "." + t);
+                }
+            }
+
+            if (!matches.isEmpty()) {
+                Platform.runLater(() -> {
+                    if (generation.get() == current) {
+                        results.addAll(matches);
+                    }
+                });
+            }
+        }
+    }
+}
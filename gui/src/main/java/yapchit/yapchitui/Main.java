@@ -28,8 +28,8 @@ public class Main extends Application {
             AnchorPane ap = fxmlLoader.load();
             Scene scene = new Scene(ap);
             stage.setScene(scene);
-            fxmlLoader.<MainWindow>getController().setYapchit(yapchit);
             fxmlLoader.<MainWindow>getController().setStage(stage);
+            fxmlLoader.<MainWindow>getController().setYapchit(yapchit);
             stage.show();
 
         } catch (IOException e) {
@@ -0,0 +1,190 @@
+package yapchit.yapchitui;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+
+import javafx.application.Platform;
+import javafx.fxml.FXML;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.ListView;
+import javafx.scene.control.TextField;
+import javafx.scene.layout.AnchorPane;
+import javafx.stage.Stage;
+
+/**
+ * Controller for MainWindow. Provides the layout for the other controls.
+ */
+public class MainWindow extends AnchorPane {
+    /** System property that sets how many messages are kept in the window before older ones are paged out. */
+    private static final String HISTORY_CAP_PROPERTY = "yapchit.historyCap";
+    private static final Path TRANSCRIPT_PATH = Path.of("./src/main/data/transcript.txt");
+    /** Text shown in place of a response that is still being worked on. */
+    private static final String PENDING_TEXT = "...";
+
+    @FXML
+    private ListView<Message> dialogList;
+    @FXML
+    private ListView<String> searchResults;
+    @FXML
+    private TextField userInput;
+    @FXML
+    private Button sendButton;
+    @FXML
+    private Button tasksButton;
+
+    private Yapchit yapchit;
+
+    private Stage stage;
+
+    private Stage tasksStage;
+
+    private TaskTableModel taskModel = new TaskTableModel();
+
+    private LiveSearch liveSearch = new LiveSearch(taskModel.getTasks());
+
+    private ConversationHistory history = new ConversationHistory(
+            Integer.getInteger(HISTORY_CAP_PROPERTY, ConversationHistory.DEFAULT_CAP), TRANSCRIPT_PATH);
+
+    private StartupTimes startupTimes = new StartupTimes();
+
+    /**
+     * Initialises main window by backing the dialog list with the conversation history.
+     * Cells are recycled by the list, so only visible messages are rendered.
+     */
+    @FXML
+    public void initialize() {
+        dialogList.setItems(history.getMessages());
+        dialogList.setCellFactory(list -> new DialogCell(DisplayImages.USER, DisplayImages.YAPCHIT));
+
+        searchResults.setItems(liveSearch.getResults());
+        userInput.textProperty().addListener((observable, oldText, newText) -> updateLiveSearch(newText));
+    }
+
+    /**
+     * Sets yapchit attribute of MainWindow instance.
+     * The task list is loaded in the background while the window is already shown. Watching the task file
+     * for changes by other programs, and reminding of due tasks, only start once the list is loaded.
+     *
+     * @param d yapchit instance.
+     */
+    public void setYapchit(Yapchit d) {
+        yapchit = d;
+        yapchit.addTaskListListener(taskModel);
+        Message pending = Message.fromYapchit(PENDING_TEXT);
+        addMessages(pending);
+        showWhenDone(yapchit.getIntroAsync(), pending).thenRun(this::handleReady);
+    }
+
+    private void handleReady() {
+        startupTimes.recordReady();
+        try {
+            yapchit.watchDataFile(text -> Platform.runLater(() -> addMessages(Message.fromYapchit(text))));
+        } catch (IOException e) {
+            addMessages(Message.fromYapchit("\tChanges to the task file by other programs will not be noticed."));
+        }
+        yapchit.watchReminders(text -> Platform.runLater(() -> addMessages(Message.fromYapchit(text))));
+
+        if (StartupTimes.isTraining()) {
+            yapchit.getResponseAsync("list").thenRun(Platform::exit);
+        }
+    }
+
+    /**
+     * Adds two messages, one echoing user input and the other a pending indicator that is replaced
+     * by Yapchits's reply once the backend has handled the input. Clears the user input right away,
+     * so further commands can be typed and are queued in order.
+     * Checks if the stage should be closed before executing the command.
+     */
+    @FXML
+    private void handleUserInput() {
+        checkAndCloseStage();
+
+        String input = userInput.getText();
+        Message pending = Message.fromYapchit(PENDING_TEXT);
+        addMessages(Message.fromUser(wrapToString(input)), pending);
+        showWhenDone(yapchit.getResponseAsync(input), pending);
+
+        userInput.clear();
+    }
+
+    /**
+     * Replaces the pending message with the response once it is ready.
+     *
+     * @return CompletableFuture completed on the JavaFX thread once the response is shown.
+     */
+    private CompletableFuture<Void> showWhenDone(CompletableFuture<String> response, Message pending) {
+        return response.handle((text, e) -> e == null ? text : "Something went wrong: " + e.getMessage())
+                .thenAcceptAsync(text -> history.replace(pending, Message.fromYapchit(text)), Platform::runLater);
+    }
+
+    /**
+     * Shows a window with a live table of all tasks, creating it the first time.
+     */
+    @FXML
+    private void handleShowTasks() {
+        if (tasksStage == null) {
+            tasksStage = new Stage();
+            tasksStage.setTitle("Yapchit - Tasks");
+            tasksStage.setScene(new Scene(new TaskTable(taskModel), 500.0, 600.0));
+            tasksStage.initOwner(stage);
+        }
+        tasksStage.show();
+        tasksStage.toFront();
+    }
+
+    /**
+     * Shows live results while a find command is being typed, and hides them otherwise.
+     *
+     * @param text current text of the input field.
+     */
+    private void updateLiveSearch(String text) {
+        String[] parts = text.split(" ");
+        boolean isFind = parts.length >= 2 && parts[0].equalsIgnoreCase("find") && !parts[1].isEmpty();
+
+        searchResults.setVisible(isFind);
+        if (isFind) {
+            liveSearch.search(parts[1]);
+        } else {
+            liveSearch.cancel();
+        }
+    }
+
+    private void addMessages(Message... messages) {
+        history.addAll(messages);
+        dialogList.scrollTo(history.getMessages().size() - 1);
+    }
+
+    private String wrapToString(String input) {
+        StringBuilder result = new StringBuilder(input.length() + input.length() / 38);
+
+        for (int start = 0; start < input.length(); start += 38) {
+            int end = Math.min(start + 38, input.length());
+            result.append(input, start, end);
+
+            if (end - start == 38) {
+                result.append('\n');
+            }
+        }
+
+        return result.toString();
+    }
+
+    private void checkAndCloseStage() {
+        if (!yapchit.getHasNext()) {
+            stage.close();
+        }
+    }
+
+    /**
+     * Sets stage attribute of class, and starts timing the first frame of its scene.
+     *
+     * @param s stage instance, with its scene set but not yet shown.
+     */
+    protected void setStage(Stage s) {
+        this.stage = s;
+        startupTimes.recordFirstFrame(s.getScene());
+    }
+
+}
@@ -0,0 +1,49 @@
+package yapchit.yapchitui;
+
+/**
+ * A single entry of the conversation shown in the main window.
+ */
+public class Message {
+
+    private final String text;
+    private final boolean isFromUser;
+
+    /**
+     * Creates a new message.
+     *
+     * @param text text of the message.
+     * @param isFromUser whether the message was typed by the user rather than sent by Yapchit.
+     */
+    public Message(String text, boolean isFromUser) {
+        this.text = text;
+        this.isFromUser = isFromUser;
+    }
+
+    /**
+     * Creates a message typed by the user.
+     *
+     * @param text text of the message.
+     * @return Message from the user.
+     */
+    public static Message fromUser(String text) {
+        return new Message(text, true);
+    }
+
+    /**
+     * Creates a message sent by Yapchit.
+     *
+     * @param text text of the message.
+     * @return Message from Yapchit.
+     */
+    public static Message fromYapchit(String text) {
+        return new Message(text, false);
+    }
+
+    public String getText() {
+        return this.text;
+    }
+
+    public boolean isFromUser() {
+        return this.isFromUser;
+    }
+}
@@ -0,0 +1,101 @@
+package yapchit.yapchitui;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import yapchit.yapchitbackend.Ui;
+
+/**
+ * Measures how long the window takes to start, counted from the start of the process:
+ * the time until the first frame is shown, and the time until the task list is loaded and the first
+ * command can be answered. Both are printed and appended to {@code startup.csv} next to the task file,
+ * so they can be compared between versions and with or without the class-data sharing archive.
+ *
+ * All methods must be called on the JavaFX application thread.
+ */
+class StartupTimes {
+
+    /**
+     * System property that makes the window run one command and close once it is ready, so a class-data
+     * sharing archive can be created from the classes a normal start loads.
+     */
+    static final String TRAINING_PROPERTY = "yapchit.startupTraining";
+
+    private static final Path LOG_PATH = Path.of("./src/main/data/startup.csv");
+
+    private final long processStart = ProcessHandle.current().info().startInstant()
+            .map(Instant::toEpochMilli)
+            .orElse(System.currentTimeMillis());
+    private long firstFrameMillis = -1;
+    private long readyMillis = -1;
+
+    /**
+     * Records the time the scene shows its first frame.
+     *
+     * @param scene scene of the main window, before it is shown.
+     */
+    void recordFirstFrame(Scene scene) {
+        Runnable[] listener = new Runnable[1];
+        listener[0] = () -> {
+            if (firstFrameMillis == -1) {
+                firstFrameMillis = System.currentTimeMillis() - processStart;
+                // Listeners cannot be removed while the scene is running them.
+                Platform.runLater(() -> scene.removePostLayoutPulseListener(listener[0]));
+                reportWhenDone();
+            }
+        };
+        scene.addPostLayoutPulseListener(listener[0]);
+    }
+
+    /**
+     * Records the time the task list is loaded and commands can be answered.
+     */
+    void recordReady() {
+        readyMillis = System.currentTimeMillis() - processStart;
+        reportWhenDone();
+    }
+
+    /**
+     * Returns whether the window was started only to create a class-data sharing archive.
+     *
+     * @return true if the window should close once it is ready.
+     */
+    static boolean isTraining() {
+        return Boolean.getBoolean(TRAINING_PROPERTY);
+    }
+
+    private void reportWhenDone() {
+        if (firstFrameMillis == -1 || readyMillis == -1) {
+            return;
+        }
+
+        long frame = firstFrameMillis;
+        long ready = readyMillis;
+        Ui.print("\tStarted: first frame after " + frame + " ms, ready for commands after " + ready + " ms");
+        // Reading the JVM options loads the management classes, so it is kept off the JavaFX thread.
+        CompletableFuture.runAsync(() -> appendToLog(frame, ready));
+    }
+
+    private static void appendToLog(long frame, long ready) {
+        boolean isSharingArchive = ManagementFactory.getRuntimeMXBean().getInputArguments().stream()
+                .anyMatch(arg -> arg.startsWith("-XX:SharedArchiveFile"));
+        try {
+            if (!Files.exists(LOG_PATH)) {
+                Files.writeString(LOG_PATH, "time,firstFrameMillis,firstCommandMillis,classDataArchive\n",
+                        StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            Files.writeString(LOG_PATH, Instant.now() + "," + frame + "," + ready + "," + isSharingArchive + "\n",
+                    StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            Ui.print("\tCould not record startup times. " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package yapchit.yapchitui;
+
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.beans.property.ReadOnlyStringWrapper;
+import javafx.collections.transformation.SortedList;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import yapchit.yapchitbackend.tasks.Deadline;
+import yapchit.yapchitbackend.tasks.Event;
+import yapchit.yapchitbackend.tasks.RecurringTask;
+import yapchit.yapchitbackend.tasks.Task;
+import yapchit.yapchitbackend.tasks.ToDo;
+
+/**
+ * Table showing the type, completion, name and due details of every task.
+ * Rows follow the task list order until a column header is clicked to sort.
+ */
+public class TaskTable extends TableView<Task> {
+
+    /**
+     * Creates a new table showing the tasks of the given model.
+     *
+     * @param model model holding the tasks to show.
+     */
+    public TaskTable(TaskTableModel model) {
+        TableColumn<Task, String> type = new TableColumn<>("Type");
+        type.setCellValueFactory(c -> new ReadOnlyStringWrapper(getType(c.getValue())));
+
+        TableColumn<Task, Boolean> done = new TableColumn<>("Done");
+        done.setCellValueFactory(c -> new ReadOnlyObjectWrapper<>(c.getValue().getDone()));
+
+        TableColumn<Task, String> name = new TableColumn<>("Name");
+        name.setCellValueFactory(c -> new ReadOnlyStringWrapper(c.getValue().getName()));
+        name.setPrefWidth(200.0);
+
+        TableColumn<Task, String> due = new TableColumn<>("Due");
+        due.setCellValueFactory(c -> new ReadOnlyStringWrapper(getDue(c.getValue())));
+        due.setPrefWidth(150.0);
+
+        getColumns().setAll(type, done, name, due);
+
+        SortedList<Task> sorted = new SortedList<>(model.getTasks());
+        sorted.comparatorProperty().bind(comparatorProperty());
+        setItems(sorted);
+    }
+
+    private static String getType(Task t) {
+        if (t instanceof ToDo) {
+            return "ToDo";
+        }
+        if (t instanceof Deadline) {
+            return "Deadline";
+        }
+        if (t instanceof Event) {
+            return "Event";
+        }
+        if (t instanceof RecurringTask) {
+            return ((RecurringTask) t).isEvent() ? "Recurring Event" : "Recurring Deadline";
+        }
+        return "";
+    }
+
+    private static String getDue(Task t) {
+        if (t instanceof Deadline) {
+            return String.valueOf(((Deadline) t).getBy());
+        }
+        if (t instanceof Event) {
+            return ((Event) t).getFrom() + " - " + ((Event) t).getTo();
+        }
+        if (t instanceof RecurringTask) {
+            RecurringTask r = (RecurringTask) t;
+            return "every " + r.getRecurrence().getKeyword() + " from " + r.getStart();
+        }
+        return "";
+    }
+}
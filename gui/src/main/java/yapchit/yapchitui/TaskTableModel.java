@@ -0,0 +1,60 @@
+package yapchit.yapchitui;
+
+import java.util.BitSet;
+import java.util.List;
+
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import yapchit.yapchitbackend.TaskListListener;
+import yapchit.yapchitbackend.tasks.Task;
+
+/**
+ * Observable mirror of the backend task list for use in JavaFX controls.
+ * Changes reported by the backend are applied on the JavaFX application thread, one row at a time,
+ * so only the affected rows of a bound table are redrawn.
+ */
+public class TaskTableModel implements TaskListListener {
+
+    private final ObservableList<Task> tasks = FXCollections.observableArrayList();
+
+    /**
+     * Returns the tasks in list order. Must only be used on the JavaFX application thread.
+     *
+     * @return ObservableList of tasks.
+     */
+    public ObservableList<Task> getTasks() {
+        return this.tasks;
+    }
+
+    @Override
+    public void tasksReset(List<Task> snapshot) {
+        Platform.runLater(() -> tasks.setAll(snapshot));
+    }
+
+    @Override
+    public void taskAdded(int index, Task task) {
+        Platform.runLater(() -> tasks.add(index, task));
+    }
+
+    @Override
+    public void tasksRemoved(BitSet indices) {
+        Platform.runLater(() -> {
+            int end = indices.length();
+            while (end > 0) {
+                int start = indices.previousClearBit(end - 1) + 1;
+                tasks.remove(start, end);
+                end = indices.previousSetBit(start - 1) + 1;
+            }
+        });
+    }
+
+    @Override
+    public void tasksUpdated(BitSet indices) {
+        Platform.runLater(() -> {
+            for (int i = indices.nextSetBit(0); i >= 0; i = indices.nextSetBit(i + 1)) {
+                tasks.set(i, tasks.get(i));
+            }
+        });
+    }
+}
@@ -0,0 +1,153 @@
+package yapchit.yapchitui;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
+
+import yapchit.yapchitbackend.DataFileWatcher;
+import yapchit.yapchitbackend.TaskListListener;
+import yapchit.yapchitbackend.Ui;
+import yapchit.yapchitbackend.WorkerThreads;
+import yapchit.yapchitbackend.YapchitBackend;
+
+/**
+ * Yapchit is a bot that allows users to create and manage their tasks.
+ * The Yapchit class is the entry point into the program and encapsulates
+ * another class that enables the functionality of Yapchit.
+ *
+ * @author Archit Goswami
+ * @version 1.0
+ * @since 2024-02-01
+ */
+public class Yapchit {
+
+
+    private YapchitBackend yapchitBackend;
+    private volatile boolean hasNext = true;
+    private DataFileWatcher watcher;
+
+    /** Runs all backend work, one command at a time and in the order it was submitted. */
+    private final ExecutorService backendExecutor = WorkerThreads.newSingleThreadExecutor("yapchit-backend");
+
+    /**
+     * Constructs a new instance of the Yapchit class.
+     * Yapchit is a chatbot that responds to user input
+     * based off of a fixed set of criteria. Yapchit encapsulates the yapchit backend instance
+     * which handles the core functionality of the bot.
+     */
+    public Yapchit() {
+        this.yapchitBackend= new YapchitBackend(YapchitBackend.DEFAULT_FILE_PATH);
+        assert yapchitBackend != null : "backend must be initialised";
+        // Registering loads the JMX classes, which is not needed before the window is shown.
+        backendExecutor.execute(() -> yapchitBackend.getMetrics().register("gui"));
+    }
+
+    /**
+     * Returns reponse based on input text. Calls backend to handle response.
+     *
+     * @param inputText input text to get response for.
+     * @return String response.
+     */
+    protected String getResponse(String inputText) {
+        String yapchitText;
+        if (yapchitBackend.checkIsBye(inputText)){
+            yapchitText = yapchitBackend.getOutro();
+            this.hasNext = false;
+            stopWatchingDataFile();
+        } else {
+            yapchitText = yapchitBackend.run(inputText);
+        }
+
+        return yapchitText;
+    }
+
+    /**
+     * Queues input to be handled by the backend without blocking the caller.
+     * Commands are handled one at a time in the order they are submitted.
+     *
+     * @param inputText input text to get response for.
+     * @return CompletableFuture completed with the response.
+     */
+    protected CompletableFuture<String> getResponseAsync(String inputText) {
+        return CompletableFuture.supplyAsync(() -> getResponse(inputText), backendExecutor);
+    }
+
+    /**
+     * Gets hasNext boolean.
+     *
+     * @return Boolean value of hasNext.
+     */
+    protected boolean getHasNext() {
+        return this.hasNext;
+    }
+
+    /**
+     * Gets intro from backend.
+     *
+     * @return String intro.
+     */
+    protected String getIntro() {
+        return yapchitBackend.getIntro();
+    }
+
+    /**
+     * Loads the task list and gets the intro without blocking the caller.
+     * Commands submitted afterwards are only handled once loading completes.
+     *
+     * @return CompletableFuture completed with the intro.
+     */
+    protected CompletableFuture<String> getIntroAsync() {
+        return CompletableFuture.supplyAsync(this::getIntro, backendExecutor);
+    }
+
+    /**
+     * Starts notifying the listener of changes to the task list.
+     * The listener is notified on the backend thread, in the order commands change the list.
+     *
+     * @param listener listener to notify.
+     */
+    protected void addTaskListListener(TaskListListener listener) {
+        backendExecutor.execute(() -> yapchitBackend.addTaskListListener(listener));
+    }
+
+    /**
+     * Starts reloading tasks changed in the data file by other programs.
+     * The reload runs on the backend thread, after commands submitted before it.
+     *
+     * @param onReload called on the backend thread with a message describing each reload.
+     * @throws IOException if the data file cannot be watched.
+     */
+    protected void watchDataFile(Consumer<String> onReload) throws IOException {
+        watcher = new DataFileWatcher(yapchitBackend.getFilePath(), () -> backendExecutor.execute(() -> {
+            String message = yapchitBackend.reloadIfChanged();
+            if (!message.isEmpty()) {
+                onReload.accept(message);
+            }
+        }));
+        watcher.start();
+    }
+
+    /**
+     * Starts reminding of tasks as they become due.
+     *
+     * @param onDue called on the reminder thread with a message listing each batch of due tasks.
+     */
+    protected void watchReminders(Consumer<String> onDue) {
+        Ui ui = new Ui();
+        backendExecutor.execute(() -> yapchitBackend.getReminders()
+                .addListener(reminders -> onDue.accept(ui.printReminders(reminders))));
+    }
+
+    private void stopWatchingDataFile() {
+        if (watcher == null) {
+            return;
+        }
+        try {
+            watcher.close();
+        } catch (IOException e) {
+            // Watching stops with the program anyway.
+        }
+    }
+
+}
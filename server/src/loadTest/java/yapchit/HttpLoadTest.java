@@ -0,0 +1,115 @@
+package yapchit;
+
+import yapchit.yapchitbackend.YapchitBackend;
+import yapchit.yapchitserver.YapchitHttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Load test for the HTTP API.
+ * Starts a server on a temporary data file, then has a number of clients send a mix of list, find
+ * and add requests for a fixed time, and reports requests per second and latency percentiles.
+ *
+ * Arguments: [clients] [seconds] [write percentage].
+ */
+public class HttpLoadTest {
+
+    private static final int MAX_SAMPLES = 1 << 22;
+
+    /**
+     * Runs the load test.
+     *
+     * @param args optional number of clients, duration in seconds and percentage of writes.
+     * @throws Exception if the server cannot be started or the test is interrupted.
+     */
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 32;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int writePercent = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+        Path dataFile = Files.createTempFile("yapchit-load", ".txt");
+        Files.writeString(dataFile, "todo seed task0\n");
+        YapchitHttpServer server = new YapchitHttpServer(new YapchitBackend(dataFile.toString()));
+        InetSocketAddress address = server.start(0);
+        String base = "http://localhost:" + address.getPort() + "/api";
+
+        HttpClient client = HttpClient.newHttpClient();
+        AtomicLongArray latencies = new AtomicLongArray(MAX_SAMPLES);
+        AtomicInteger count = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        for (int c = 0; c < clients; c++) {
+            pool.execute(() -> {
+                while (System.nanoTime() < end) {
+                    HttpRequest request = nextRequest(base, writePercent);
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (IOException | InterruptedException e) {
+                        errors.incrementAndGet();
+                    }
+                    int i = count.getAndIncrement();
+                    if (i < MAX_SAMPLES) {
+                        latencies.set(i, System.nanoTime() - start);
+                    }
+                }
+            });
+        }
+        pool.shutdown();
+        pool.awaitTermination(seconds + 60L, TimeUnit.SECONDS);
+        server.stop();
+
+        int n = Math.min(count.get(), MAX_SAMPLES);
+        long[] sorted = new long[n];
+        for (int i = 0; i < n; i++) {
+            sorted[i] = latencies.get(i);
+        }
+        Arrays.sort(sorted);
+
+        System.out.printf("requests=%d errors=%d rps=%.1f%n", count.get(), errors.get(),
+                count.get() / (double) seconds);
+        System.out.printf("p50=%.3fms p99=%.3fms p999=%.3fms max=%.3fms%n",
+                percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 0.999),
+                percentile(sorted, 1.0));
+        Files.deleteIfExists(dataFile);
+    }
+
+    private static HttpRequest nextRequest(String base, int writePercent) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (random.nextInt(100) < writePercent) {
+            return HttpRequest.newBuilder(URI.create(base + "/command"))
+                    .POST(HttpRequest.BodyPublishers.ofString("todo task" + random.nextInt(1000)))
+                    .build();
+        }
+
+        String query = random.nextBoolean() ? "?page=1&size=50" : "?find=task" + random.nextInt(10) + "&size=50";
+        return HttpRequest.newBuilder(URI.create(base + "/tasks" + query)).GET().build();
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int idx = (int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1);
+        return sorted[Math.max(0, idx)] / 1_000_000.0;
+    }
+}
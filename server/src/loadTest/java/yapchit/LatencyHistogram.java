@@ -0,0 +1,102 @@
+package yapchit;
+
+/**
+ * Histogram of latencies with a fixed relative precision, in the style of HdrHistogram.
+ * Values below 128 are counted exactly; larger values are counted in buckets of 64 per power of two,
+ * so every reported value is within 1.6% of the recorded one, while memory stays constant.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int HALF = SUB_BUCKETS / 2;
+
+    private final long[] counts = new long[SUB_BUCKETS + (64 - SUB_BUCKET_BITS) * HALF];
+    private long total;
+    private long sum;
+    private long max;
+
+    /**
+     * Records one value.
+     *
+     * @param value value to record, such as a latency in nanoseconds. Negative values count as 0.
+     */
+    public void record(long value) {
+        long v = Math.max(0, value);
+        counts[indexOf(v)]++;
+        total++;
+        sum += v;
+        max = Math.max(max, v);
+    }
+
+    /**
+     * Adds all values recorded by another histogram.
+     *
+     * @param other histogram to add.
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        total += other.total;
+        sum += other.sum;
+        max = Math.max(max, other.max);
+    }
+
+    public long getCount() {
+        return this.total;
+    }
+
+    public long getMax() {
+        return this.max;
+    }
+
+    /**
+     * Returns the mean of the recorded values.
+     *
+     * @return double mean, or 0 if nothing was recorded.
+     */
+    public double getMean() {
+        return total == 0 ? 0 : (double) sum / total;
+    }
+
+    /**
+     * Returns the value below or at which the given fraction of recorded values fall.
+     *
+     * @param fraction fraction between 0 and 1, such as 0.99 for the 99th percentile.
+     * @return long percentile value, or 0 if nothing was recorded.
+     */
+    public long getPercentile(double fraction) {
+        if (total == 0) {
+            return 0;
+        }
+
+        long target = Math.max(1, (long) Math.ceil(fraction * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return Math.min(max, highestValueAt(i));
+            }
+        }
+        return max;
+    }
+
+    private static int indexOf(long v) {
+        if (v < SUB_BUCKETS) {
+            return (int) v;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(v) - (SUB_BUCKET_BITS - 1);
+        int sub = (int) (v >>> shift);
+        return SUB_BUCKETS + (shift - 1) * HALF + (sub - HALF);
+    }
+
+    private static long highestValueAt(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKETS) / HALF + 1;
+        long sub = (index - SUB_BUCKETS) % HALF + HALF;
+        return ((sub + 1) << shift) - 1;
+    }
+}
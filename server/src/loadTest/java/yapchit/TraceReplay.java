@@ -0,0 +1,176 @@
+package yapchit;
+
+import yapchit.yapchitbackend.YapchitBackend;
+import yapchit.yapchitexceptions.YapchitException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Generates command traces and replays them against {@link YapchitBackend#run}, recording the latency of
+ * each kind of command, including saving the data file, in {@link LatencyHistogram}s.
+ * Runs entirely offline, on a data file in a temporary directory.
+ *
+ * <pre>
+ * generate trace=FILE [count=N] [initial=N] [mix=todo:25,find:20,...] [nameMean=N] [nameMax=N] [seed=N]
+ * replay   trace=FILE [rate=N] [out=DIR]
+ * run      [count=N] [initial=N] [mix=...] [nameMean=N] [nameMax=N] [seed=N] [rate=N] [out=DIR]
+ * </pre>
+ *
+ * With a rate, commands are started on a fixed schedule, and latency is measured from when a command
+ * was due, so time spent waiting behind a slow command is counted. Without one, commands run flat out.
+ * Results are written to {@code workload.csv} and {@code workload.json} in the output directory.
+ */
+public class TraceReplay {
+
+    private static final String INITIAL_HEADER = "# initial=";
+
+    /**
+     * Runs the tool.
+     *
+     * @param args mode followed by key=value options, as described above.
+     * @throws IOException if a file cannot be read or written.
+     */
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 1; i < args.length; i++) {
+            String[] kv = args[i].split("=", 2);
+            options.put(kv[0], kv.length > 1 ? kv[1] : "");
+        }
+        String mode = args.length > 0 ? args[0] : "run";
+
+        switch (mode) {
+        case "generate":
+            writeTrace(Path.of(require(options, "trace")), generate(options), initialSize(options));
+            break;
+        case "replay":
+            List<String> lines = Files.readAllLines(Path.of(require(options, "trace")));
+            int initial = lines.isEmpty() || !lines.get(0).startsWith(INITIAL_HEADER) ? 0
+                    : Integer.parseInt(lines.get(0).substring(INITIAL_HEADER.length()).strip());
+            lines.removeIf(line -> line.isBlank() || line.startsWith("#"));
+            replay(lines, initial, options);
+            break;
+        case "run":
+            replay(generate(options), initialSize(options), options);
+            break;
+        default:
+            System.out.println("Usage: generate|replay|run [key=value ...]");
+        }
+    }
+
+    private static String require(Map<String, String> options, String key) {
+        String value = options.get(key);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing option " + key + "=...");
+        }
+        return value;
+    }
+
+    private static int initialSize(Map<String, String> options) {
+        return Integer.parseInt(options.getOrDefault("initial", "1000"));
+    }
+
+    private static List<String> generate(Map<String, String> options) {
+        WorkloadGenerator generator = new WorkloadGenerator(
+                options.getOrDefault("mix", WorkloadGenerator.DEFAULT_MIX),
+                initialSize(options),
+                Integer.parseInt(options.getOrDefault("nameMean", "20")),
+                Integer.parseInt(options.getOrDefault("nameMax", "60")),
+                Long.parseLong(options.getOrDefault("seed", "42")));
+        return generator.generate(Integer.parseInt(options.getOrDefault("count", "100000")));
+    }
+
+    private static void writeTrace(Path trace, List<String> commands, int initial) throws IOException {
+        List<String> lines = new ArrayList<>(commands.size() + 1);
+        lines.add(INITIAL_HEADER + initial);
+        lines.addAll(commands);
+        Files.write(trace, lines);
+        System.out.println("Wrote " + commands.size() + " commands to " + trace);
+    }
+
+    private static void replay(List<String> commands, int initial, Map<String, String> options) throws IOException {
+        double rate = Double.parseDouble(options.getOrDefault("rate", "0"));
+        Path out = Path.of(options.getOrDefault("out", "build/reports/workload"));
+
+        Path dataFile = Files.createTempDirectory("yapchit-workload").resolve("dataStore.txt");
+        StringBuilder seed = new StringBuilder();
+        for (int i = 0; i < initial; i++) {
+            seed.append("todo seed task ").append(i).append("0\n");
+        }
+        Files.writeString(dataFile, seed);
+        YapchitBackend backend = new YapchitBackend(dataFile.toString());
+        backend.getIntro();
+
+        Map<String, LatencyHistogram> histograms = new TreeMap<>();
+        long intervalNanos = rate > 0 ? (long) (1_000_000_000L / rate) : 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < commands.size(); i++) {
+            String command = commands.get(i);
+            long due = rate > 0 ? start + i * intervalNanos : System.nanoTime();
+            while (System.nanoTime() < due) {
+                LockSupport.parkNanos(due - System.nanoTime());
+            }
+
+            backend.run(command);
+            long latency = System.nanoTime() - due;
+            histograms.computeIfAbsent(kindOf(backend, command), k -> new LatencyHistogram()).record(latency);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        LatencyHistogram all = new LatencyHistogram();
+        histograms.values().forEach(all::add);
+        histograms.put("all", all);
+
+        Files.createDirectories(out);
+        Files.writeString(out.resolve("workload.csv"), toCsv(histograms));
+        Files.writeString(out.resolve("workload.json"), toJson(histograms, commands.size(), initial, rate, seconds));
+        System.out.print(toCsv(histograms));
+        System.out.printf("commands=%d seconds=%.2f throughput=%.1f/s results=%s%n",
+                commands.size(), seconds, commands.size() / seconds, out.toAbsolutePath());
+    }
+
+    private static String kindOf(YapchitBackend backend, String command) {
+        try {
+            return backend.getParser().parseInputOperation(command).name().toLowerCase(Locale.ROOT);
+        } catch (YapchitException e) {
+            return "invalid";
+        }
+    }
+
+    private static String toCsv(Map<String, LatencyHistogram> histograms) {
+        StringBuilder sb = new StringBuilder("operation,count,mean_us,p50_us,p99_us,p999_us,max_us\n");
+        for (Map.Entry<String, LatencyHistogram> entry : histograms.entrySet()) {
+            LatencyHistogram h = entry.getValue();
+            sb.append(String.format(Locale.ROOT, "%s,%d,%.1f,%.1f,%.1f,%.1f,%.1f%n", entry.getKey(), h.getCount(),
+                    h.getMean() / 1000, h.getPercentile(0.5) / 1000.0, h.getPercentile(0.99) / 1000.0,
+                    h.getPercentile(0.999) / 1000.0, h.getMax() / 1000.0));
+        }
+        return sb.toString();
+    }
+
+    private static String toJson(Map<String, LatencyHistogram> histograms, int commands, int initial,
+            double rate, double seconds) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "{\"commands\":%d,\"initialTasks\":%d,\"targetRate\":%.1f,"
+                + "\"seconds\":%.3f,\"throughput\":%.1f,\"operations\":{", commands, initial, rate, seconds,
+                commands / seconds));
+        String separator = "";
+        for (Map.Entry<String, LatencyHistogram> entry : histograms.entrySet()) {
+            LatencyHistogram h = entry.getValue();
+            sb.append(separator).append(String.format(Locale.ROOT, "\"%s\":{\"count\":%d,\"meanUs\":%.1f,"
+                    + "\"p50Us\":%.1f,\"p99Us\":%.1f,\"p999Us\":%.1f,\"maxUs\":%.1f}", entry.getKey(), h.getCount(),
+                    h.getMean() / 1000, h.getPercentile(0.5) / 1000.0, h.getPercentile(0.99) / 1000.0,
+                    h.getPercentile(0.999) / 1000.0, h.getMax() / 1000.0));
+            separator = ",";
+        }
+        return sb.append("}}\n").toString();
+    }
+}
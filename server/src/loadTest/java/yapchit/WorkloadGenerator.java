@@ -0,0 +1,151 @@
+package yapchit;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generates realistic traces of commands: a mix of adds, marks, finds, updates, lists and deletes in
+ * configurable ratios, with task names of a configurable length.
+ * The generator tracks the size of the list as the trace goes, so every command in the trace is valid.
+ * Traces are reproducible for the same settings and seed.
+ */
+public class WorkloadGenerator {
+
+    /** Ratios of the command kinds used when none are given. */
+    public static final String DEFAULT_MIX = "todo:25,deadline:5,event:5,mark:15,unmark:5,find:20,update:10,"
+            + "delete:10,list:5";
+
+    private static final String[] WORDS = {"read", "book", "write", "essay", "call", "mum", "buy", "milk",
+        "return", "library", "submit", "report", "clean", "room", "plan", "trip", "review", "notes", "fix",
+        "bike", "pay", "rent", "water", "plants", "email", "tutor", "prepare", "slides", "walk", "dog",
+        "flights", "renew", "passport", "finish", "project", "practise", "piano", "cook", "dinner"};
+
+    private final Map<String, Integer> mix;
+    private final int totalWeight;
+    private final int nameMean;
+    private final int nameMax;
+    private final Random random;
+    private int listSize;
+
+    /**
+     * Creates a generator.
+     *
+     * @param mix ratios of the command kinds, such as {@code todo:30,find:70}.
+     * @param initialSize number of tasks in the list before the trace starts.
+     * @param nameMean average length of task names in characters.
+     * @param nameMax longest task name in characters.
+     * @param seed seed of the random choices.
+     */
+    public WorkloadGenerator(String mix, int initialSize, int nameMean, int nameMax, long seed) {
+        this.mix = parseMix(mix);
+        this.totalWeight = this.mix.values().stream().mapToInt(Integer::intValue).sum();
+        this.listSize = initialSize;
+        this.nameMean = nameMean;
+        this.nameMax = nameMax;
+        this.random = new Random(seed);
+        if (totalWeight <= 0) {
+            throw new IllegalArgumentException("The command mix needs at least one positive ratio: " + mix);
+        }
+    }
+
+    private static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> parsed = new LinkedHashMap<>();
+        for (String part : mix.split(",")) {
+            String[] kv = part.strip().split(":");
+            if (kv.length != 2) {
+                throw new IllegalArgumentException("Expected kind:ratio but got " + part);
+            }
+            parsed.put(kv[0].strip(), Integer.parseInt(kv[1].strip()));
+        }
+        return parsed;
+    }
+
+    /**
+     * Returns a trace of the given number of commands.
+     *
+     * @param count number of commands.
+     * @return List of commands, in order.
+     */
+    public List<String> generate(int count) {
+        List<String> trace = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            trace.add(next());
+        }
+        return trace;
+    }
+
+    /**
+     * Returns the next command of the trace.
+     *
+     * @return String command.
+     */
+    public String next() {
+        String kind = pickKind();
+        if (listSize == 0 && !kind.equals("todo") && !kind.equals("deadline") && !kind.equals("event")) {
+            kind = "todo";
+        }
+
+        switch (kind) {
+        case "todo":
+            listSize++;
+            return "todo " + name();
+        case "deadline":
+            listSize++;
+            return String.format("deadline %s /by 2025-%02d-%02d", name(), 1 + random.nextInt(12),
+                    1 + random.nextInt(28));
+        case "event":
+            listSize++;
+            return "event " + name() + " /from " + word() + " /to " + word();
+        case "mark":
+        case "unmark":
+            return kind + " " + index();
+        case "find":
+            return "find " + word();
+        case "update":
+            return "update " + index() + " " + name();
+        case "delete":
+            String command = "delete " + index();
+            listSize--;
+            return command;
+        case "list":
+            return "list";
+        default:
+            throw new IllegalArgumentException("Unknown command kind in mix: " + kind);
+        }
+    }
+
+    private String pickKind() {
+        int r = random.nextInt(totalWeight);
+        for (Map.Entry<String, Integer> entry : mix.entrySet()) {
+            r -= entry.getValue();
+            if (r < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new AssertionError("weights changed while picking");
+    }
+
+    private int index() {
+        return 1 + random.nextInt(listSize);
+    }
+
+    private String word() {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    /**
+     * Returns a name of words whose length follows a normal distribution around the mean.
+     */
+    private String name() {
+        int target = (int) Math.round(nameMean + random.nextGaussian() * nameMean / 2.0);
+        target = Math.max(3, Math.min(nameMax, target));
+        StringBuilder name = new StringBuilder(word());
+        while (name.length() < target) {
+            name.append(' ').append(word());
+        }
+        return name.length() > nameMax ? name.substring(0, nameMax).strip() : name.toString();
+    }
+}
@@ -0,0 +1,64 @@
+package yapchit;
+
+import yapchit.yapchitbackend.Ui;
+import yapchit.yapchitreplication.ReplicationMain;
+import yapchit.yapchitserver.YapchitConsole;
+import yapchit.yapchitserver.YapchitHttpServer;
+import yapchit.yapchitserver.YapchitLineServer;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Entry point of the server jar, which runs Yapchit without a window and without JavaFX.
+ */
+public class HeadlessLauncher {
+
+    /**
+     * Starts the HTTP API when the first argument is {@code --http}, the plain-text line server when it is
+     * {@code --line}, a replicated primary or standby when it is {@code --replica}, or Yapchit in the terminal
+     * when it is {@code --cli}.
+     *
+     * @param args command line arguments.
+     * @throws IOException if a server cannot be started.
+     */
+    public static void main(String[] args) throws IOException {
+        String mode = args.length > 0 ? args[0] : "";
+        String[] rest = args.length > 0 ? Arrays.copyOfRange(args, 1, args.length) : args;
+
+        switch (mode) {
+        case "--http":
+            YapchitHttpServer.main(rest);
+            break;
+
+        case "--line":
+            YapchitLineServer.main(rest);
+            break;
+
+        case "--replica":
+            ReplicationMain.main(rest);
+            break;
+
+        case "--cli":
+            YapchitConsole.main(rest);
+            break;
+
+        default:
+            Ui.print("\tUsage: --http [port] [data file] [tenant folder]\n"
+                    + "\t       --line [port] [data file]\n"
+                    + "\t       --replica primary|follower ...\n"
+                    + "\t       --cli [data file]");
+        }
+    }
+
+    /**
+     * Returns whether the arguments ask for one of the servers rather than the window.
+     *
+     * @param args command line arguments.
+     * @return true if the first argument is a server option.
+     */
+    public static boolean isHeadless(String[] args) {
+        return args.length > 0 && (args[0].equals("--http") || args[0].equals("--line")
+                || args[0].equals("--replica") || args[0].equals("--cli"));
+    }
+}
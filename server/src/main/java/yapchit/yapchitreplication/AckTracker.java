@@ -0,0 +1,139 @@
+package yapchit.yapchitreplication;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps track of the last journal record each follower has confirmed applying.
+ * Confirmations arrive either from socket followers, or as ack files written by followers into
+ * a shared directory.
+ *
+ * Followers are expected from the time they are configured or first seen, and stay expected while they
+ * are disconnected, so a standby that is down holds back confirmations rather than being left out of them.
+ */
+public class AckTracker {
+
+    /** Extension of the files followers write their last applied sequence number into. */
+    public static final String ACK_FILE_SUFFIX = ".ack";
+
+    private static final long POLL_MILLIS = 5;
+
+    private final Map<String, Long> acked = new ConcurrentHashMap<>();
+    private final Path ackDirectory;
+
+    /**
+     * Creates a tracker for socket followers.
+     */
+    public AckTracker() {
+        this(null);
+    }
+
+    /**
+     * Creates a tracker that also reads ack files from the given directory.
+     *
+     * @param ackDirectory directory of ack files, or null if followers connect over sockets.
+     */
+    public AckTracker(Path ackDirectory) {
+        this(ackDirectory, List.of());
+    }
+
+    /**
+     * Creates a tracker that expects the given followers, even before they first connect.
+     *
+     * @param ackDirectory directory of ack files, or null if followers connect over sockets.
+     * @param followerIds ids of the followers expected to confirm records.
+     */
+    public AckTracker(Path ackDirectory, Collection<String> followerIds) {
+        this.ackDirectory = ackDirectory;
+        for (String id : followerIds) {
+            acked.put(id, 0L);
+        }
+    }
+
+    /**
+     * Records that a follower has applied the journal up to the given sequence number.
+     *
+     * @param followerId id of the follower.
+     * @param sequence last applied sequence number.
+     */
+    public synchronized void ack(String followerId, long sequence) {
+        acked.merge(followerId, sequence, Math::max);
+        notifyAll();
+    }
+
+    /**
+     * Stops expecting a follower, for example because it was taken out of service.
+     * Followers that only disconnect stay expected.
+     *
+     * @param followerId id of the follower.
+     */
+    public synchronized void remove(String followerId) {
+        acked.remove(followerId);
+        notifyAll();
+    }
+
+    /**
+     * Waits until enough followers have applied the given record for the durability level.
+     *
+     * @param sequence sequence number of the record.
+     * @param durability how many followers must have applied it.
+     * @param timeoutMillis maximum time to wait.
+     * @return true if the durability level was reached in time.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public synchronized boolean await(long sequence, Durability durability, long timeoutMillis)
+            throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (true) {
+            readAckFiles();
+            if (isSatisfied(sequence, durability)) {
+                return true;
+            }
+
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return false;
+            }
+            wait(ackDirectory == null ? remaining : Math.min(remaining, POLL_MILLIS));
+        }
+    }
+
+    private boolean isSatisfied(long sequence, Durability durability) {
+        switch (durability) {
+        case ASYNC:
+            return true;
+        case ONE:
+            return acked.values().stream().anyMatch(s -> s >= sequence);
+        case ALL:
+            return !acked.isEmpty() && acked.values().stream().allMatch(s -> s >= sequence);
+        default:
+            throw new AssertionError(durability);
+        }
+    }
+
+    private void readAckFiles() {
+        if (ackDirectory == null || !Files.isDirectory(ackDirectory)) {
+            return;
+        }
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(ackDirectory, "*" + ACK_FILE_SUFFIX)) {
+            for (Path f : files) {
+                String name = f.getFileName().toString();
+                String id = name.substring(0, name.length() - ACK_FILE_SUFFIX.length());
+                try {
+                    acked.merge(id, Long.parseLong(Files.readString(f).strip()), Math::max);
+                } catch (IOException | NumberFormatException e) {
+                    // Being replaced by the follower; read again on the next poll.
+                }
+            }
+        } catch (IOException e) {
+            // Directory unavailable; treated as no new acks.
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package yapchit.yapchitreplication;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Keeps a follower up to date with a primary that writes its journal into a shared directory.
+ * The follower tails {@value #JOURNAL_FILE} and reports its progress by replacing
+ * {@code acks/<id>.ack}, which the primary's {@link AckTracker} reads.
+ */
+public class DirectoryFollower implements AutoCloseable {
+
+    /** Name of the journal file in the shared directory. */
+    public static final String JOURNAL_FILE = "journal.log";
+    /** Name of the directory of ack files in the shared directory. */
+    public static final String ACK_DIRECTORY = "acks";
+
+    private static final long POLL_MILLIS = 20;
+
+    private final ReplicatedBackend backend;
+    private final Path ackFile;
+    private final Path journalFile;
+    private final Thread thread;
+    private volatile boolean isClosed;
+
+    /**
+     * Creates a link to the shared directory. The follower's task list must already be loaded.
+     *
+     * @param backend follower to keep up to date.
+     * @param followerId id used to name the follower's ack file.
+     * @param directory shared directory.
+     */
+    public DirectoryFollower(ReplicatedBackend backend, String followerId, Path directory) {
+        this.backend = backend;
+        this.journalFile = directory.resolve(JOURNAL_FILE);
+        this.ackFile = directory.resolve(ACK_DIRECTORY).resolve(followerId + AckTracker.ACK_FILE_SUFFIX);
+        this.thread = new Thread(this::follow, "yapchit-follower");
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Starts following the shared journal in the background.
+     */
+    public void start() {
+        thread.start();
+    }
+
+    private void follow() {
+        try (JournalReader reader = new JournalReader(journalFile, backend.getLastSequence())) {
+            writeAck(backend.getLastSequence());
+            while (!isClosed) {
+                JournalRecord r = reader.poll();
+                if (r == null) {
+                    Thread.sleep(POLL_MILLIS);
+                    continue;
+                }
+                backend.apply(r);
+                writeAck(r.getSequence());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            // Closed.
+        }
+    }
+
+    private void writeAck(long sequence) throws IOException {
+        Files.createDirectories(ackFile.getParent());
+        Path tmp = ackFile.resolveSibling(ackFile.getFileName() + ".tmp");
+        Files.writeString(tmp, Long.toString(sequence));
+        Files.move(tmp, ackFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Stops following the shared journal, for example before promoting the follower.
+     */
+    @Override
+    public void close() {
+        isClosed = true;
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package yapchit.yapchitreplication;
+
+/**
+ * How many followers must confirm a change before the primary answers the command that made it.
+ */
+public enum Durability {
+    /** Answer right away; followers catch up in the background. */
+    ASYNC,
+    /** Wait until at least one follower has applied the change. */
+    ONE,
+    /**
+     * Wait until every follower has applied the change: those expected from the start and every one that has
+     * connected, even if it is disconnected now. No change is confirmed before a follower is known.
+     */
+    ALL;
+}
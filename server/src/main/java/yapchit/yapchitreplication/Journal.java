@@ -0,0 +1,114 @@
+package yapchit.yapchitreplication;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Append-only file of {@link JournalRecord}s describing every change made to a task list.
+ * Each record is written with a single write and forced to disk, so readers in other threads or
+ * processes never see part of a record as a complete line.
+ */
+public class Journal implements AutoCloseable {
+
+    private final Path path;
+    private final FileChannel channel;
+    private long lastSequence;
+
+    /**
+     * Opens the journal at the given path, creating it if needed.
+     *
+     * @param path path of the journal file.
+     * @throws IOException if the file cannot be opened or read.
+     */
+    public Journal(Path path) throws IOException {
+        this.path = path;
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+
+        try (JournalReader reader = new JournalReader(path, 0)) {
+            JournalRecord r;
+            while ((r = reader.poll()) != null) {
+                lastSequence = r.getSequence();
+            }
+        }
+    }
+
+    public Path getPath() {
+        return this.path;
+    }
+
+    /**
+     * Returns the sequence number of the last record, or 0 if the journal is empty.
+     *
+     * @return long last sequence number.
+     */
+    public synchronized long getLastSequence() {
+        return this.lastSequence;
+    }
+
+    /**
+     * Appends a record with the next sequence number.
+     *
+     * @param type {@link JournalRecord#COMMAND} or {@link JournalRecord#SNAPSHOT}.
+     * @param payload command or data file contents.
+     * @return JournalRecord that was appended.
+     */
+    public synchronized JournalRecord append(char type, String payload) {
+        JournalRecord record = new JournalRecord(lastSequence + 1, type, payload);
+        append(record);
+        return record;
+    }
+
+    /**
+     * Appends a record received from a primary, which must directly follow the last record.
+     *
+     * @param record record to append.
+     */
+    public synchronized void append(JournalRecord record) {
+        assert record.getSequence() == lastSequence + 1 : "journal records must be consecutive";
+        ByteBuffer bytes = ByteBuffer.wrap((record.encode() + "\n").getBytes(StandardCharsets.UTF_8));
+        try {
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        lastSequence = record.getSequence();
+        notifyAll();
+    }
+
+    /**
+     * Waits until the journal has a record after the given sequence number.
+     *
+     * @param sequence sequence number already seen.
+     * @param timeoutMillis maximum time to wait.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public synchronized void awaitAfter(long sequence, long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (lastSequence <= sequence) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return;
+            }
+            wait(remaining);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
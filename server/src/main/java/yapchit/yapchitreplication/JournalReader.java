@@ -0,0 +1,93 @@
+package yapchit.yapchitreplication;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads the records of a journal file that may still be growing, like {@code tail -f}.
+ * Only complete lines are returned; a partly written record is left until the rest of it arrives.
+ */
+public class JournalReader implements AutoCloseable {
+
+    private final Path path;
+    private final long afterSequence;
+    private final ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+    private final ByteArrayOutputStream line = new ByteArrayOutputStream();
+    private FileChannel channel;
+    private long position;
+
+    /**
+     * Creates a reader returning the records after the given sequence number.
+     *
+     * @param path path of the journal file, which need not exist yet.
+     * @param afterSequence records up to and including this sequence number are skipped.
+     */
+    public JournalReader(Path path, long afterSequence) {
+        this.path = path;
+        this.afterSequence = afterSequence;
+        buffer.flip();
+    }
+
+    /**
+     * Returns the next complete record, or null if there is none yet.
+     *
+     * @return JournalRecord read, or null.
+     */
+    public JournalRecord poll() {
+        try {
+            while (true) {
+                while (buffer.hasRemaining()) {
+                    byte b = buffer.get();
+                    if (b != '\n') {
+                        line.write(b);
+                        continue;
+                    }
+
+                    JournalRecord r = JournalRecord.decode(line.toString(StandardCharsets.UTF_8));
+                    line.reset();
+                    if (r.getSequence() > afterSequence) {
+                        return r;
+                    }
+                }
+
+                if (!fill()) {
+                    return null;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private boolean fill() throws IOException {
+        if (channel == null) {
+            if (!Files.exists(path)) {
+                return false;
+            }
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+        }
+
+        buffer.clear();
+        int n = channel.read(buffer, position);
+        buffer.flip();
+        if (n <= 0) {
+            return false;
+        }
+        position += n;
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package yapchit.yapchitreplication;
+
+/**
+ * One entry of the replication journal: a command that changed the task list, or a snapshot of the whole
+ * data file that followers start from.
+ *
+ * Records are stored as one line: sequence number, type and escaped payload, separated by tabs.
+ */
+public class JournalRecord {
+
+    /** Type of a record holding a command to run. */
+    public static final char COMMAND = 'C';
+    /** Type of a record holding the full contents of the data file. */
+    public static final char SNAPSHOT = 'S';
+
+    private final long sequence;
+    private final char type;
+    private final String payload;
+
+    /**
+     * Creates a new record.
+     *
+     * @param sequence position of the record in the journal, starting from 1.
+     * @param type {@link #COMMAND} or {@link #SNAPSHOT}.
+     * @param payload command or data file contents.
+     */
+    public JournalRecord(long sequence, char type, String payload) {
+        this.sequence = sequence;
+        this.type = type;
+        this.payload = payload;
+    }
+
+    public long getSequence() {
+        return this.sequence;
+    }
+
+    public char getType() {
+        return this.type;
+    }
+
+    public String getPayload() {
+        return this.payload;
+    }
+
+    /**
+     * Returns the record as a single line, without the line terminator.
+     *
+     * @return String encoded record.
+     */
+    public String encode() {
+        StringBuilder sb = new StringBuilder(payload.length() + 24);
+        sb.append(sequence).append('\t').append(type).append('\t');
+        for (int i = 0; i < payload.length(); i++) {
+            char c = payload.charAt(i);
+            switch (c) {
+            case '\\':
+                sb.append("\\\\");
+                break;
+            case '\n':
+                sb.append("\\n");
+                break;
+            case '\r':
+                sb.append("\\r");
+                break;
+            case '\t':
+                sb.append("\\t");
+                break;
+            default:
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Reads a record from a line produced by {@link #encode()}.
+     *
+     * @param line encoded record.
+     * @return JournalRecord read from the line.
+     * @throws IllegalArgumentException if the line is not a valid record.
+     */
+    public static JournalRecord decode(String line) {
+        int firstTab = line.indexOf('\t');
+        if (firstTab < 1 || line.length() < firstTab + 3 || line.charAt(firstTab + 2) != '\t') {
+            throw new IllegalArgumentException("Invalid journal record: " + line);
+        }
+
+        long sequence = Long.parseLong(line.substring(0, firstTab));
+        char type = line.charAt(firstTab + 1);
+        StringBuilder payload = new StringBuilder();
+        for (int i = firstTab + 3; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c != '\\' || i + 1 == line.length()) {
+                payload.append(c);
+                continue;
+            }
+
+            char escaped = line.charAt(++i);
+            switch (escaped) {
+            case 'n':
+                payload.append('\n');
+                break;
+            case 'r':
+                payload.append('\r');
+                break;
+            case 't':
+                payload.append('\t');
+                break;
+            default:
+                payload.append(escaped);
+            }
+        }
+        return new JournalRecord(sequence, type, payload.toString());
+    }
+}
@@ -0,0 +1,250 @@
+package yapchit.yapchitreplication;
+
+import yapchit.yapchitbackend.Storage;
+import yapchit.yapchitbackend.YapchitBackend;
+import yapchit.yapchitexceptions.YapchitException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * A backend whose changes are written to a {@link Journal} so that standby processes can replay them.
+ *
+ * On the primary, every command that changed the task list is journaled once it is saved, and the
+ * response is held back until enough followers have applied it for the chosen {@link Durability}.
+ * On a follower, only list and find are accepted from users; changes arrive from the primary through
+ * {@link #apply(JournalRecord)}. A follower can be promoted to take over as primary.
+ *
+ * Commands are replayed rather than their results, which is safe because running a command only depends
+ * on the task list it runs against. Nothing is left to the clock of the follower: a 'mark' command is
+ * journaled with the date it marked tasks done on, and tasks done long ago are archived by the primary
+ * through an 'archive' command journaled like any other, never by a follower on its own.
+ * The first record of a journal is a snapshot of the primary's task list as loaded, so a follower always
+ * starts from the primary's state, whatever it had stored before.
+ * A change is journaled after it is saved, so a crash between the two loses it on the followers;
+ * nothing stops two promoted followers from both accepting changes. Edits made to the data file by other
+ * programs are not picked up, as they would never reach the journal.
+ */
+public class ReplicatedBackend extends YapchitBackend {
+
+    /** Extension added to the data file path for a follower's copy of the journal. */
+    public static final String JOURNAL_SUFFIX = ".journal";
+    /** Longest time a command waits for followers before answering with a warning. */
+    public static final long ACK_TIMEOUT_MILLIS = 5000;
+
+    /**
+     * Whether the backend accepts changes from users or from a primary.
+     */
+    public enum Role {
+        PRIMARY,
+        FOLLOWER;
+    }
+
+    private final Journal journal;
+    private final AckTracker acks;
+    private final Durability durability;
+    private volatile Role role;
+
+    /**
+     * Creates a primary backend.
+     *
+     * @param filePath path of the data file.
+     * @param journal journal changes are written to.
+     * @param acks tracker of the followers' progress.
+     * @param durability how many followers must apply a change before it is answered.
+     */
+    public ReplicatedBackend(String filePath, Journal journal, AckTracker acks, Durability durability) {
+        super(filePath);
+        this.journal = journal;
+        this.acks = acks;
+        this.durability = durability;
+        this.role = Role.PRIMARY;
+    }
+
+    /**
+     * Creates a follower backend, keeping its copy of the journal next to its data file.
+     *
+     * @param filePath path of the data file.
+     * @throws IOException if the journal cannot be opened.
+     */
+    public ReplicatedBackend(String filePath) throws IOException {
+        super(filePath);
+        this.journal = new Journal(Paths.get(filePath + JOURNAL_SUFFIX));
+        this.acks = new AckTracker();
+        this.durability = Durability.ASYNC;
+        this.role = Role.FOLLOWER;
+    }
+
+    public Role getRole() {
+        return this.role;
+    }
+
+    public Journal getJournal() {
+        return this.journal;
+    }
+
+    public AckTracker getAcks() {
+        return this.acks;
+    }
+
+    /**
+     * Returns the sequence number of the last change applied to this backend.
+     *
+     * @return long last applied sequence number.
+     */
+    public long getLastSequence() {
+        return journal.getLastSequence();
+    }
+
+    /**
+     * Loads the task list. A primary with an empty journal journals the loaded task list first, so
+     * followers start from the same state, and only then archives tasks done long ago.
+     *
+     * @return String intro message.
+     */
+    @Override
+    public synchronized String getIntro() {
+        String intro = super.getIntro();
+        if (role == Role.PRIMARY && journal.getLastSequence() == 0) {
+            journal.append(JournalRecord.SNAPSHOT, Storage.getRecords(getTasks()));
+            archiveExpired();
+        }
+        return intro;
+    }
+
+    /**
+     * Runs a command. Changes are only accepted by the primary, and are journaled and replicated
+     * before the response is returned.
+     *
+     * @param input the input to the method.
+     * @return String the response.
+     */
+    @Override
+    public String run(String input) {
+        String response;
+        long before;
+        long last;
+        synchronized (this) {
+            YapchitBackend.Operations k;
+            try {
+                k = getParser().parseInputOperation(input);
+            } catch (YapchitException e) {
+                return e.getMessage();
+            }
+
+            if (k.isReadOnly()) {
+                return super.run(input);
+            }
+            if (role == Role.FOLLOWER) {
+                return "\tThis is a read-only standby. Send changes to the primary, or promote this one.";
+            }
+
+            before = journal.getLastSequence();
+            response = super.run(input);
+            last = journal.getLastSequence();
+        }
+        if (last == before) {
+            // The command failed and changed nothing.
+            return response;
+        }
+
+        // Other commands and changes from a primary go ahead while this one waits for the followers.
+        try {
+            if (!acks.await(last, durability, ACK_TIMEOUT_MILLIS)) {
+                response += "\n\t(Not yet confirmed by the standby; it will catch up when reachable.)";
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return response;
+    }
+
+    /**
+     * Journals a change made on the primary. On a follower the change came from the primary's journal.
+     *
+     * @param command the command that was run.
+     */
+    @Override
+    protected void commandSaved(String command) {
+        if (role == Role.PRIMARY) {
+            journal.append(JournalRecord.COMMAND, command);
+        }
+    }
+
+    /**
+     * Archives tasks done long ago on the primary, once its journal holds the snapshot to replay the archive
+     * command on. Followers archive them when that command reaches them.
+     */
+    @Override
+    protected void archiveExpired() {
+        if (role == Role.PRIMARY && journal.getLastSequence() > 0) {
+            super.archiveExpired();
+        }
+    }
+
+    /**
+     * Ignores edits made to the data file by other programs; they are overwritten by the next change.
+     *
+     * @return String empty message.
+     */
+    @Override
+    public String reloadIfChanged() {
+        return "";
+    }
+
+    /**
+     * Reports no changes, as edits made to the data file by other programs are ignored.
+     *
+     * @return boolean false.
+     */
+    @Override
+    public boolean hasExternalChanges() {
+        return false;
+    }
+
+    /**
+     * Applies a change received from the primary. Records already applied are ignored.
+     *
+     * @param record record to apply.
+     * @throws IllegalStateException if records are missing before this one.
+     */
+    public synchronized void apply(JournalRecord record) {
+        long last = journal.getLastSequence();
+        if (record.getSequence() <= last) {
+            return;
+        }
+        if (record.getSequence() != last + 1) {
+            throw new IllegalStateException("Missing journal records " + (last + 1) + " to "
+                    + (record.getSequence() - 1));
+        }
+
+        journal.append(record);
+        if (record.getType() == JournalRecord.SNAPSHOT) {
+            writeDataFile(record.getPayload());
+            super.getIntro();
+        } else {
+            super.run(record.getPayload());
+        }
+    }
+
+    /**
+     * Makes this follower the primary. It stops being read-only, and continues the journal from the
+     * last change it applied.
+     */
+    public synchronized void promote() {
+        role = Role.PRIMARY;
+    }
+
+    private void writeDataFile(String contents) {
+        Path path = Paths.get(getFilePath()).toAbsolutePath();
+        try {
+            Files.createDirectories(path.getParent());
+            Files.writeString(path, contents);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
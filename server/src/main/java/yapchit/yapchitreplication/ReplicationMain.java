@@ -0,0 +1,137 @@
+package yapchit.yapchitreplication;
+
+import yapchit.yapchitbackend.Ui;
+import yapchit.yapchitserver.YapchitLineServer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Runs a replicated primary or a warm standby, each serving its task list with the line server.
+ *
+ * <pre>
+ * primary  &lt;data file&gt; socket:&lt;port&gt;|dir:&lt;shared dir&gt; [async|one|all] [line port]
+ * follower &lt;id&gt; &lt;data file&gt; socket:&lt;port&gt;|dir:&lt;shared dir&gt; [line port]
+ * </pre>
+ *
+ * A primary expects the followers listed in the {@value #FOLLOWERS_PROPERTY} system property, separated by
+ * commas, as well as every follower that connects. A follower answers list and find on its line port.
+ * Typing {@code promote [replication port]} into a follower's console makes it the primary, optionally shipping
+ * its journal to other followers on the port.
+ */
+public class ReplicationMain {
+
+    /** System property listing the ids of the followers a primary expects, separated by commas. */
+    public static final String FOLLOWERS_PROPERTY = "yapchit.followers";
+
+    /**
+     * Starts a primary or a follower until the process is stopped.
+     *
+     * @param args role followed by its arguments, as described above.
+     * @throws IOException if the process cannot be started.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length >= 3 && args[0].equals("primary")) {
+            runPrimary(args);
+        } else if (args.length >= 4 && args[0].equals("follower")) {
+            runFollower(args);
+        } else {
+            Ui.print("\tUsage: primary <data file> socket:<port>|dir:<shared dir> [async|one|all] [line port]\n"
+                    + "\t       follower <id> <data file> socket:<port>|dir:<shared dir> [line port]");
+        }
+    }
+
+    private static void runPrimary(String[] args) throws IOException {
+        String filePath = args[1];
+        String link = args[2];
+        Durability durability = args.length > 3 ? Durability.valueOf(args[3].toUpperCase(Locale.ROOT))
+                : Durability.ASYNC;
+        int linePort = args.length > 4 ? Integer.parseInt(args[4]) : YapchitLineServer.DEFAULT_PORT;
+
+        ReplicatedBackend backend;
+        ReplicationServer replicationServer = null;
+        if (link.startsWith("dir:")) {
+            Path dir = Paths.get(link.substring(4));
+            Journal journal = new Journal(dir.resolve(DirectoryFollower.JOURNAL_FILE));
+            AckTracker acks = new AckTracker(dir.resolve(DirectoryFollower.ACK_DIRECTORY), getExpectedFollowers());
+            backend = new ReplicatedBackend(filePath, journal, acks, durability);
+        } else {
+            Journal journal = new Journal(Paths.get(filePath + ReplicatedBackend.JOURNAL_SUFFIX));
+            AckTracker acks = new AckTracker(null, getExpectedFollowers());
+            backend = new ReplicatedBackend(filePath, journal, acks, durability);
+            replicationServer = new ReplicationServer(journal, acks);
+        }
+
+        backend.getMetrics().register("primary");
+        YapchitLineServer lineServer = new YapchitLineServer(backend);
+        InetSocketAddress address = lineServer.start(linePort);
+        if (replicationServer != null) {
+            replicationServer.start(parsePort(link));
+        }
+        Ui.print("\tYapchit primary listening on localhost:" + address.getPort() + ", replicating via " + link);
+    }
+
+    private static void runFollower(String[] args) throws IOException {
+        String followerId = args[1];
+        String filePath = args[2];
+        String link = args[3];
+        int linePort = args.length > 4 ? Integer.parseInt(args[4]) : YapchitLineServer.DEFAULT_PORT;
+
+        ReplicatedBackend backend = new ReplicatedBackend(filePath);
+        backend.getMetrics().register("follower-" + followerId);
+        YapchitLineServer lineServer = new YapchitLineServer(backend);
+        InetSocketAddress address = lineServer.start(linePort);
+
+        AutoCloseable follower;
+        if (link.startsWith("dir:")) {
+            DirectoryFollower f = new DirectoryFollower(backend, followerId, Paths.get(link.substring(4)));
+            f.start();
+            follower = f;
+        } else {
+            SocketFollower f = new SocketFollower(backend, followerId, parsePort(link));
+            f.start();
+            follower = f;
+        }
+        Ui.print("\tYapchit standby listening on localhost:" + address.getPort() + ", following " + link);
+
+        BufferedReader console = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        String line;
+        while ((line = console.readLine()) != null) {
+            String[] parts = line.strip().split("\\s+");
+            if (!parts[0].equals("promote")) {
+                continue;
+            }
+
+            try {
+                follower.close();
+            } catch (Exception e) {
+                Ui.print(e.getMessage());
+            }
+            backend.promote();
+            if (parts.length > 1) {
+                new ReplicationServer(backend.getJournal(), backend.getAcks()).start(Integer.parseInt(parts[1]));
+            }
+            Ui.print("\tPromoted to primary at journal sequence " + backend.getLastSequence());
+            return;
+        }
+    }
+
+    private static List<String> getExpectedFollowers() {
+        String ids = System.getProperty(FOLLOWERS_PROPERTY, "").strip();
+        return ids.isEmpty() ? List.of() : List.of(ids.split("\\s*,\\s*"));
+    }
+
+    private static int parsePort(String link) {
+        if (!link.startsWith("socket:")) {
+            throw new IllegalArgumentException("Expected socket:<port> or dir:<shared dir> but got " + link);
+        }
+        return Integer.parseInt(link.substring("socket:".length()));
+    }
+}
@@ -0,0 +1,139 @@
+package yapchit.yapchitreplication;
+
+import yapchit.yapchitbackend.WorkerThreads;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Ships the journal of a primary to followers connecting over TCP.
+ *
+ * A follower opens a connection and sends {@code FOLLOW <id> <last applied sequence>}. The primary then
+ * sends every later journal record, one per line, and keeps sending new records as they are appended.
+ * The follower answers each applied record with {@code ACK <sequence>}.
+ */
+public class ReplicationServer implements AutoCloseable {
+
+    /** Port the primary listens for followers on when none is given. */
+    public static final int DEFAULT_PORT = 7171;
+
+    private static final long IDLE_WAIT_MILLIS = 500;
+
+    private final Journal journal;
+    private final AckTracker acks;
+    private final ExecutorService threads = WorkerThreads.newThreadPerTaskExecutor("yapchit-replication-");
+    private final Set<Socket> sockets = ConcurrentHashMap.newKeySet();
+    private ServerSocket serverSocket;
+    private volatile boolean isClosed;
+
+    /**
+     * Creates a server shipping the given journal.
+     *
+     * @param journal journal to ship.
+     * @param acks tracker updated with the followers' acknowledgements.
+     */
+    public ReplicationServer(Journal journal, AckTracker acks) {
+        this.journal = journal;
+        this.acks = acks;
+    }
+
+    /**
+     * Starts accepting followers on the loopback interface.
+     *
+     * @param port port to listen on, or 0 to pick a free port.
+     * @return InetSocketAddress the server is listening on.
+     * @throws IOException if the server cannot be started.
+     */
+    public InetSocketAddress start(int port) throws IOException {
+        serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        threads.execute(this::acceptFollowers);
+        return (InetSocketAddress) serverSocket.getLocalSocketAddress();
+    }
+
+    private void acceptFollowers() {
+        while (!isClosed) {
+            try {
+                Socket socket = serverSocket.accept();
+                sockets.add(socket);
+                threads.execute(() -> serveFollower(socket));
+            } catch (IOException e) {
+                // Closed, or a failed connection attempt that the follower will retry.
+            }
+        }
+    }
+
+    private void serveFollower(Socket socket) {
+        try (socket) {
+            BufferedReader in = new BufferedReader(
+                    new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            String[] hello = String.valueOf(in.readLine()).split(" ");
+            if (hello.length != 3 || !hello[0].equals("FOLLOW")) {
+                return;
+            }
+
+            String id = hello[1];
+            long from = Long.parseLong(hello[2]);
+            acks.ack(id, from);
+            threads.execute(() -> sendRecords(socket, from));
+
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.startsWith("ACK ")) {
+                    acks.ack(id, Long.parseLong(line.substring(4).strip()));
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // Follower went away; it reconnects with its last applied sequence.
+        } finally {
+            // The follower stays expected by the tracker, so ALL keeps waiting for it while it is away.
+            sockets.remove(socket);
+        }
+    }
+
+    private void sendRecords(Socket socket, long from) {
+        try (JournalReader reader = new JournalReader(journal.getPath(), from)) {
+            Writer out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+            long sent = from;
+            while (!socket.isClosed()) {
+                JournalRecord r = reader.poll();
+                if (r == null) {
+                    out.flush();
+                    journal.awaitAfter(sent, IDLE_WAIT_MILLIS);
+                    continue;
+                }
+                out.write(r.encode());
+                out.write('\n');
+                sent = r.getSequence();
+            }
+        } catch (IOException e) {
+            // Follower went away.
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Stops accepting followers and disconnects the connected ones.
+     */
+    @Override
+    public void close() throws IOException {
+        isClosed = true;
+        serverSocket.close();
+        for (Socket s : sockets) {
+            s.close();
+        }
+        threads.shutdown();
+    }
+}
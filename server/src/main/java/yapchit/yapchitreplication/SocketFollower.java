@@ -0,0 +1,95 @@
+package yapchit.yapchitreplication;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Keeps a follower up to date with a primary's {@link ReplicationServer}, reconnecting when the
+ * connection is lost.
+ */
+public class SocketFollower implements AutoCloseable {
+
+    private static final long RETRY_MILLIS = 1000;
+
+    private final ReplicatedBackend backend;
+    private final String followerId;
+    private final int port;
+    private final Thread thread;
+    private volatile Socket socket;
+    private volatile boolean isClosed;
+
+    /**
+     * Creates a link to a primary on the local machine. The follower's task list must already be loaded.
+     *
+     * @param backend follower to keep up to date.
+     * @param followerId id reported to the primary.
+     * @param port port of the primary's replication server.
+     */
+    public SocketFollower(ReplicatedBackend backend, String followerId, int port) {
+        this.backend = backend;
+        this.followerId = followerId;
+        this.port = port;
+        this.thread = new Thread(this::follow, "yapchit-follower");
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Starts following the primary in the background.
+     */
+    public void start() {
+        thread.start();
+    }
+
+    private void follow() {
+        while (!isClosed) {
+            try (Socket s = new Socket(InetAddress.getLoopbackAddress(), port)) {
+                socket = s;
+                OutputStream out = s.getOutputStream();
+                out.write(("FOLLOW " + followerId + " " + backend.getLastSequence() + "\n")
+                        .getBytes(StandardCharsets.UTF_8));
+                out.flush();
+
+                BufferedReader in = new BufferedReader(
+                        new InputStreamReader(s.getInputStream(), StandardCharsets.UTF_8));
+                String line;
+                while ((line = in.readLine()) != null) {
+                    JournalRecord r = JournalRecord.decode(line);
+                    backend.apply(r);
+                    out.write(("ACK " + r.getSequence() + "\n").getBytes(StandardCharsets.UTF_8));
+                    out.flush();
+                }
+            } catch (IOException e) {
+                // Primary unreachable; retried below.
+            }
+
+            try {
+                Thread.sleep(RETRY_MILLIS);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Stops following the primary, for example before promoting the follower.
+     */
+    @Override
+    public void close() throws IOException {
+        isClosed = true;
+        Socket s = socket;
+        if (s != null) {
+            s.close();
+        }
+        thread.interrupt();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
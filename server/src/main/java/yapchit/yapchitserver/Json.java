@@ -0,0 +1,173 @@
+package yapchit.yapchitserver;
+
+import yapchit.yapchitbackend.TaskEvent;
+import yapchit.yapchitbackend.tasks.Deadline;
+import yapchit.yapchitbackend.tasks.Event;
+import yapchit.yapchitbackend.tasks.RecurringTask;
+import yapchit.yapchitbackend.tasks.Task;
+import yapchit.yapchitbackend.tasks.ToDo;
+
+import java.io.IOException;
+
+/**
+ * Writes the small set of JSON values used by the Yapchit servers.
+ */
+public final class Json {
+
+    private Json() {
+    }
+
+    /**
+     * Writes a string as a quoted and escaped JSON string.
+     *
+     * @param s string to write.
+     * @param out output to write to.
+     * @throws IOException if the output cannot be written to.
+     */
+    public static void writeString(String s, Appendable out) throws IOException {
+        if (s == null) {
+            out.append("null");
+            return;
+        }
+
+        out.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+            case '"':
+                out.append("\\\"");
+                break;
+            case '\\':
+                out.append("\\\\");
+                break;
+            case '\n':
+                out.append("\\n");
+                break;
+            case '\r':
+                out.append("\\r");
+                break;
+            case '\t':
+                out.append("\\t");
+                break;
+            default:
+                if (c < 0x20) {
+                    out.append(String.format("\\u%04x", (int) c));
+                } else {
+                    out.append(c);
+                }
+            }
+        }
+        out.append('"');
+    }
+
+    /**
+     * Writes a task as a JSON object with its list number, type, completion and details.
+     *
+     * @param number 1-based number of the task in the list.
+     * @param t task to write.
+     * @param out output to write to.
+     * @throws IOException if the output cannot be written to.
+     */
+    public static void writeTask(int number, Task t, Appendable out) throws IOException {
+        out.append("{\"index\":").append(String.valueOf(number));
+        out.append(",\"type\":");
+        writeString(getType(t), out);
+        out.append(",\"done\":").append(String.valueOf(t.getDone()));
+        out.append(",\"name\":");
+        writeString(t.getName(), out);
+
+        if (t instanceof Deadline) {
+            out.append(",\"by\":");
+            writeString(String.valueOf(((Deadline) t).getBy()), out);
+        }
+
+        if (t instanceof Event) {
+            out.append(",\"from\":");
+            writeString(((Event) t).getFrom(), out);
+            out.append(",\"to\":");
+            writeString(((Event) t).getTo(), out);
+        }
+
+        if (t instanceof RecurringTask) {
+            RecurringTask r = (RecurringTask) t;
+            out.append(r.isEvent() ? ",\"on\":" : ",\"by\":");
+            writeString(String.valueOf(r.getStart()), out);
+            out.append(",\"every\":");
+            writeString(r.getRecurrence().getKeyword(), out);
+            if (r.getUntil() != null) {
+                out.append(",\"until\":");
+                writeString(String.valueOf(r.getUntil()), out);
+            }
+        }
+        out.append('}');
+    }
+
+    /**
+     * Writes a task event as a JSON object with its sequence number, type and task.
+     *
+     * @param event event to write.
+     * @param out output to write to.
+     * @throws IOException if the output cannot be written to.
+     */
+    public static void writeEvent(TaskEvent event, Appendable out) throws IOException {
+        out.append("{\"sequence\":").append(String.valueOf(event.getSequence()));
+        out.append(",\"type\":");
+        writeString(event.getType().name().toLowerCase(), out);
+        out.append(",\"task\":");
+        writeTask(event.getIndex() + 1, event.getTask(), out);
+        out.append('}');
+    }
+
+    /**
+     * Returns a task event as a JSON object.
+     *
+     * @param event event to write.
+     * @return String containing the JSON object.
+     */
+    public static String event(TaskEvent event) {
+        StringBuilder sb = new StringBuilder();
+        try {
+            writeEvent(event, sb);
+        } catch (IOException e) {
+            throw new AssertionError("StringBuilder does not throw", e);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Returns a JSON object with a single string field.
+     *
+     * @param field name of the field.
+     * @param value value of the field.
+     * @return String containing the JSON object.
+     */
+    public static String object(String field, String value) {
+        StringBuilder sb = new StringBuilder();
+        try {
+            sb.append('{');
+            writeString(field, sb);
+            sb.append(':');
+            writeString(value, sb);
+            sb.append('}');
+        } catch (IOException e) {
+            throw new AssertionError("StringBuilder does not throw", e);
+        }
+        return sb.toString();
+    }
+
+    private static String getType(Task t) {
+        if (t instanceof ToDo) {
+            return "todo";
+        }
+        if (t instanceof Deadline) {
+            return "deadline";
+        }
+        if (t instanceof Event) {
+            return "event";
+        }
+        if (t instanceof RecurringTask) {
+            return "recurring";
+        }
+        return "task";
+    }
+}
@@ -0,0 +1,277 @@
+package yapchit.yapchitserver;
+
+import yapchit.yapchitbackend.WorkerThreads;
+import yapchit.yapchitbackend.YapchitBackend;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Hosts the task lists of many tenants in one process.
+ * Each tenant's list is stored in its own file in the data directory and loaded into its own
+ * YapchitBackend the first time it is used. At most a fixed number of tenants stay loaded: the least
+ * recently used tenant is saved and unloaded when another one has to be loaded, and tenants that have
+ * been idle for too long are unloaded in the background.
+ *
+ * Commands for one tenant run one at a time; different tenants are served in parallel.
+ * Tenants' backends are not registered as MBeans, so that thousands of tenants do not each add one;
+ * the registry's hit, miss and eviction counts report on them instead.
+ */
+public class TenantRegistry implements AutoCloseable {
+
+    private static final Pattern TENANT_ID = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+    private final Path dataDirectory;
+    private final int maxLoaded;
+    private final long maxIdleNanos;
+
+    /** Loaded tenants in least to most recently used order. Guarded by this registry. */
+    private final LinkedHashMap<String, Tenant> tenants = new LinkedHashMap<>(16, 0.75f, true);
+    /** Tenants that are being saved and unloaded. Guarded by this registry. */
+    private final Map<String, Tenant> unloading = new HashMap<>();
+
+    private final ScheduledExecutorService idleChecker;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates a new registry.
+     *
+     * @param dataDirectory directory holding one data file per tenant.
+     * @param maxLoaded maximum number of tenants kept loaded at once.
+     * @param maxIdle time after which an unused tenant is unloaded.
+     */
+    public TenantRegistry(Path dataDirectory, int maxLoaded, Duration maxIdle) {
+        assert maxLoaded > 0 : "at least one tenant must be able to be loaded";
+        this.dataDirectory = dataDirectory;
+        this.maxLoaded = maxLoaded;
+        this.maxIdleNanos = maxIdle.toNanos();
+
+        long checkMillis = Math.max(1, maxIdle.toMillis() / 2);
+        this.idleChecker = Executors.newSingleThreadScheduledExecutor(
+                WorkerThreads.newThreadFactory("yapchit-tenant-idle-"));
+        idleChecker.scheduleWithFixedDelay(this::evictIdle, checkMillis, checkMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Runs a command for a tenant, loading the tenant's list if needed.
+     *
+     * @param tenantId id of the tenant, made of letters, digits, '-' and '_'.
+     * @param input command to run.
+     * @return String response of the backend.
+     */
+    public String run(String tenantId, String input) {
+        return withTenant(tenantId, backend -> backend.run(input));
+    }
+
+    /**
+     * Runs an action with exclusive access to a tenant's backend, loading the tenant's list if needed.
+     *
+     * @param tenantId id of the tenant, made of letters, digits, '-' and '_'.
+     * @param action action to run.
+     * @param <R> type of the action's result.
+     * @return result of the action.
+     * @throws IllegalArgumentException if the tenant id is invalid.
+     */
+    public <R> R withTenant(String tenantId, Function<YapchitBackend, R> action) {
+        if (!TENANT_ID.matcher(tenantId).matches()) {
+            throw new IllegalArgumentException("Invalid tenant id: " + tenantId);
+        }
+
+        while (true) {
+            Tenant tenant = acquire(tenantId);
+            tenant.lock.lock();
+            try {
+                if (tenant.isUnloaded) {
+                    // Evicted between lookup and locking; look it up again.
+                    continue;
+                }
+                tenant.load();
+                return action.apply(tenant.backend);
+            } finally {
+                tenant.lastUsed = System.nanoTime();
+                tenant.lock.unlock();
+            }
+        }
+    }
+
+    private Tenant acquire(String tenantId) {
+        List<Tenant> evicted = new ArrayList<>();
+        Tenant tenant;
+
+        synchronized (this) {
+            tenant = tenants.get(tenantId);
+            if (tenant != null) {
+                hits.increment();
+                return tenant;
+            }
+
+            misses.increment();
+            tenant = new Tenant(tenantId, unloading.get(tenantId));
+            tenants.put(tenantId, tenant);
+
+            Iterator<Tenant> eldest = tenants.values().iterator();
+            while (tenants.size() > maxLoaded && eldest.hasNext()) {
+                Tenant candidate = eldest.next();
+                if (candidate != tenant) {
+                    eldest.remove();
+                    unloading.put(candidate.id, candidate);
+                    evicted.add(candidate);
+                }
+            }
+        }
+
+        for (Tenant t : evicted) {
+            unload(t);
+        }
+        return tenant;
+    }
+
+    /**
+     * Saves and unloads tenants that have not been used for longer than the idle time.
+     */
+    public void evictIdle() {
+        long now = System.nanoTime();
+        List<Tenant> evicted = new ArrayList<>();
+
+        synchronized (this) {
+            Iterator<Tenant> it = tenants.values().iterator();
+            while (it.hasNext()) {
+                Tenant t = it.next();
+                if (now - t.lastUsed > maxIdleNanos) {
+                    it.remove();
+                    unloading.put(t.id, t);
+                    evicted.add(t);
+                }
+            }
+        }
+
+        for (Tenant t : evicted) {
+            unload(t);
+        }
+    }
+
+    private void unload(Tenant tenant) {
+        tenant.lock.lock();
+        try {
+            tenant.isUnloaded = true;
+            if (tenant.isLoaded) {
+                tenant.backend.getOutro();
+            }
+            evictions.increment();
+        } finally {
+            tenant.lock.unlock();
+            synchronized (this) {
+                unloading.remove(tenant.id, tenant);
+            }
+            tenant.unloaded.complete(null);
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Returns the number of tenants currently loaded.
+     *
+     * @return int number of loaded tenants.
+     */
+    public synchronized int getLoadedCount() {
+        return tenants.size();
+    }
+
+    /**
+     * Returns a one-line summary of the registry's hit, miss and eviction counts.
+     *
+     * @return String summary of the registry metrics.
+     */
+    public String formatStats() {
+        long lookups = getHits() + getMisses();
+        double hitRate = lookups == 0 ? 0 : 100.0 * getHits() / lookups;
+        return String.format("loaded=%d hits=%d misses=%d hitRate=%.1f%% evictions=%d",
+                getLoadedCount(), getHits(), getMisses(), hitRate, getEvictions());
+    }
+
+    /**
+     * Stops idle eviction and saves and unloads all tenants.
+     */
+    @Override
+    public void close() {
+        idleChecker.shutdownNow();
+
+        List<Tenant> all;
+        synchronized (this) {
+            all = new ArrayList<>(tenants.values());
+            tenants.clear();
+            for (Tenant t : all) {
+                unloading.put(t.id, t);
+            }
+        }
+
+        for (Tenant t : all) {
+            unload(t);
+        }
+    }
+
+    /**
+     * A tenant's backend with its lock. The backend is loaded on first use.
+     */
+    private class Tenant {
+        private final String id;
+        private final YapchitBackend backend;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final CompletableFuture<Void> unloaded = new CompletableFuture<>();
+        /**
+         * The previous instance of this tenant, which must finish saving before this one loads. Cleared once it
+         * has, so that instances reloaded many times do not keep a chain of unloaded backends alive.
+         */
+        private Tenant previous;
+
+        private volatile long lastUsed = System.nanoTime();
+        private boolean isLoaded;
+        private boolean isUnloaded;
+
+        private Tenant(String id, Tenant previous) {
+            this.id = id;
+            this.previous = previous;
+            this.backend = new YapchitBackend(dataDirectory.resolve(id + ".txt").toString());
+        }
+
+        private void load() {
+            if (isLoaded) {
+                return;
+            }
+            if (previous != null) {
+                previous.unloaded.join();
+                previous = null;
+            }
+            backend.getIntro();
+            isLoaded = true;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package yapchit.yapchitserver;
+
+import yapchit.yapchitbackend.Ui;
+import yapchit.yapchitbackend.YapchitBackend;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Runs Yapchit in a terminal, reading commands from standard input and printing responses to standard output.
+ * Lists are written to the terminal page by page as they are rendered, rather than built up first.
+ */
+public class YapchitConsole {
+
+    /**
+     * Runs commands typed into the terminal until 'bye' or the end of the input.
+     *
+     * @param args optional data file path.
+     * @throws IOException if standard input cannot be read.
+     */
+    public static void main(String[] args) throws IOException {
+        String filePath = args.length > 0 ? args[0] : YapchitBackend.DEFAULT_FILE_PATH;
+        YapchitBackend backend = new YapchitBackend(filePath, new Ui(System.out));
+        Ui.print(backend.getIntro());
+
+        BufferedReader console = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        String line;
+        while ((line = console.readLine()) != null && !backend.checkIsBye(line)) {
+            if (!line.isBlank()) {
+                // Lists were already written as they were rendered; this ends their last line.
+                Ui.print(backend.run(line));
+            }
+        }
+        Ui.print(backend.getOutro());
+    }
+}
@@ -0,0 +1,414 @@
+package yapchit.yapchitserver;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import yapchit.yapchitbackend.TaskEvent;
+import yapchit.yapchitbackend.TaskEventPublisher;
+import yapchit.yapchitbackend.TaskList;
+import yapchit.yapchitbackend.Ui;
+import yapchit.yapchitbackend.WorkerThreads;
+import yapchit.yapchitbackend.YapchitBackend;
+import yapchit.yapchitbackend.tasks.Task;
+import yapchit.yapchitexceptions.YapchitException;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Flow;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Serves the Yapchit backend over a local HTTP/JSON API.
+ *
+ * <ul>
+ *     <li>{@code GET /api/tasks[?find=term][&page=N&size=M]} streams tasks as JSON.</li>
+ *     <li>{@code POST /api/command} runs the command in the request body, such as {@code todo read book},
+ *     and returns the response as {@code {"response": "..."}}.</li>
+ *     <li>{@code GET /api/events} streams changes made to the list as server-sent events.</li>
+ *     <li>{@code POST /api/tenants/<tenant>/command} runs a command on a tenant's own list, when the server
+ *     hosts tenants.</li>
+ *     <li>{@code GET /api/tenants/stats} returns how many tenants are loaded, and the hits, misses and
+ *     evictions of the {@link TenantRegistry}.</li>
+ * </ul>
+ *
+ * Each request runs on its own (virtual, where available) thread. Reads run concurrently with each other,
+ * while commands that change the list are handed to a single writer thread and run one at a time.
+ */
+public class YapchitHttpServer {
+
+    /** Port the server listens on when none is given. */
+    public static final int DEFAULT_PORT = 8080;
+    /** Number of tenants kept loaded at once when the server hosts tenants. */
+    public static final int MAX_LOADED_TENANTS = 1000;
+    /** Time after which an unused tenant is unloaded. */
+    public static final Duration TENANT_IDLE_TIME = Duration.ofMinutes(10);
+
+    private static final String TENANTS_PATH = "/api/tenants/";
+
+    private final YapchitBackend backend;
+    private final TenantRegistry tenants;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ExecutorService writer = WorkerThreads.newSingleThreadExecutor("yapchit-http-writer");
+    private final ExecutorService requestExecutor = WorkerThreads.newThreadPerTaskExecutor("yapchit-http-");
+    private HttpServer server;
+    private TaskEventPublisher events;
+
+    /**
+     * Creates a server for the given backend. The backend's task list is loaded when the server starts.
+     *
+     * @param backend backend to serve.
+     */
+    public YapchitHttpServer(YapchitBackend backend) {
+        this(backend, null);
+    }
+
+    /**
+     * Creates a server for the given backend that also hosts the task lists of tenants.
+     *
+     * @param backend backend to serve.
+     * @param tenants registry of the tenants' lists, or null to host none.
+     */
+    public YapchitHttpServer(YapchitBackend backend, TenantRegistry tenants) {
+        this.backend = backend;
+        this.tenants = tenants;
+    }
+
+    /**
+     * Loads the task list and starts listening on the loopback interface.
+     *
+     * @param port port to listen on, or 0 to pick a free port.
+     * @return InetSocketAddress the server is listening on.
+     * @throws IOException if the server cannot be started.
+     */
+    public InetSocketAddress start(int port) throws IOException {
+        String intro = backend.getIntro();
+        Ui.print(intro);
+        events = backend.getEvents();
+
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/api/tasks", this::handleTasks);
+        server.createContext("/api/command", this::handleCommand);
+        server.createContext("/api/events", this::handleEvents);
+        if (tenants != null) {
+            server.createContext(TENANTS_PATH, this::handleTenants);
+        }
+        server.setExecutor(requestExecutor);
+        server.start();
+        return server.getAddress();
+    }
+
+    /**
+     * Stops the server after letting in-flight requests finish, and saves the task list and those of tenants.
+     */
+    public void stop() {
+        server.stop(1);
+        if (tenants != null) {
+            Ui.print("\tTenants: " + tenants.formatStats());
+            tenants.close();
+        }
+        events.close();
+        writer.shutdown();
+        requestExecutor.shutdown();
+        lock.writeLock().lock();
+        try {
+            backend.getOutro();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void handleTasks(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!exchange.getRequestMethod().equals("GET")) {
+                sendJson(exchange, 405, Json.object("error", "Use GET"));
+                return;
+            }
+
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+            int page;
+            int pageSize;
+            try {
+                page = Integer.parseInt(query.getOrDefault("page", "1"));
+                pageSize = Integer.parseInt(query.getOrDefault("size", String.valueOf(Integer.MAX_VALUE)));
+            } catch (NumberFormatException e) {
+                sendJson(exchange, 400, Json.object("error", "page and size must be numbers"));
+                return;
+            }
+            if (page < 1 || pageSize < 1) {
+                sendJson(exchange, 400, Json.object("error", "page and size must be positive"));
+                return;
+            }
+
+            String term = query.get("find");
+            List<Task> pageTasks = new ArrayList<>();
+            List<Integer> numbers = new ArrayList<>();
+            int total;
+
+            reloadIfChanged();
+            // Only the requested page is copied under the lock; it is streamed out after the lock is released.
+            lock.readLock().lock();
+            try {
+                TaskList tasks = backend.getTasks();
+                BitSet matches = term == null ? null : tasks.findIndices(t -> t.getName().contains(term));
+                total = matches == null ? tasks.getListSize() : matches.cardinality();
+
+                long skip = (long) (page - 1) * pageSize;
+                int i = matches == null ? 0 : matches.nextSetBit(0);
+                for (long n = 0; i >= 0 && i < tasks.getListSize() && pageTasks.size() < pageSize; n++) {
+                    if (n >= skip) {
+                        pageTasks.add(tasks.getItem(i).copy());
+                        numbers.add(i + 1);
+                    }
+                    i = matches == null ? i + 1 : matches.nextSetBit(i + 1);
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(200, 0);
+            Writer out = new BufferedWriter(new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8));
+            out.append("{\"total\":").append(String.valueOf(total))
+                    .append(",\"page\":").append(String.valueOf(page))
+                    .append(",\"tasks\":[");
+            for (int j = 0; j < pageTasks.size(); j++) {
+                if (j > 0) {
+                    out.append(',');
+                }
+                Json.writeTask(numbers.get(j), pageTasks.get(j), out);
+            }
+            out.append("]}");
+            out.flush();
+        }
+    }
+
+    private void handleCommand(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!exchange.getRequestMethod().equals("POST")) {
+                sendJson(exchange, 405, Json.object("error", "Use POST"));
+                return;
+            }
+
+            String input = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8).strip();
+            if (backend.checkIsBye(input)) {
+                sendJson(exchange, 400, Json.object("error", "bye is not available over HTTP"));
+                return;
+            }
+
+            String response;
+            if (isReadOnly(input)) {
+                String reloaded = reloadIfChanged();
+                lock.readLock().lock();
+                try {
+                    response = backend.runLoaded(input);
+                    response = reloaded.isEmpty() ? response : reloaded + "\n" + response;
+                } finally {
+                    lock.readLock().unlock();
+                }
+            } else {
+                response = runOnWriter(input);
+            }
+
+            sendJson(exchange, 200, Json.object("response", response));
+        }
+    }
+
+    private void handleEvents(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!exchange.getRequestMethod().equals("GET")) {
+                sendJson(exchange, 405, Json.object("error", "Use GET"));
+                return;
+            }
+
+            exchange.getResponseHeaders().set("Content-Type", "text/event-stream; charset=utf-8");
+            exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+            exchange.sendResponseHeaders(200, 0);
+            Writer out = new BufferedWriter(new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8));
+
+            // The request thread waits here until the client goes away or the server stops.
+            CompletableFuture<Void> finished = new CompletableFuture<>();
+            events.subscribe(new Flow.Subscriber<>() {
+                private Flow.Subscription subscription;
+
+                @Override
+                public void onSubscribe(Flow.Subscription subscription) {
+                    this.subscription = subscription;
+                    subscription.request(Long.MAX_VALUE);
+                }
+
+                @Override
+                public void onNext(TaskEvent item) {
+                    try {
+                        out.write("data: ");
+                        Json.writeEvent(item, out);
+                        out.write("\n\n");
+                        out.flush();
+                    } catch (IOException e) {
+                        subscription.cancel();
+                        finished.complete(null);
+                    }
+                }
+
+                @Override
+                public void onError(Throwable throwable) {
+                    finished.complete(null);
+                }
+
+                @Override
+                public void onComplete() {
+                    finished.complete(null);
+                }
+            });
+            finished.join();
+        }
+    }
+
+    private void handleTenants(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getPath().substring(TENANTS_PATH.length());
+            if (path.equals("stats")) {
+                if (!exchange.getRequestMethod().equals("GET")) {
+                    sendJson(exchange, 405, Json.object("error", "Use GET"));
+                    return;
+                }
+                sendJson(exchange, 200, String.format("{\"loaded\":%d,\"hits\":%d,\"misses\":%d,\"evictions\":%d}",
+                        tenants.getLoadedCount(), tenants.getHits(), tenants.getMisses(), tenants.getEvictions()));
+                return;
+            }
+
+            String[] parts = path.split("/");
+            if (parts.length != 2 || !parts[1].equals("command")) {
+                sendJson(exchange, 404,
+                        Json.object("error", "Use /api/tenants/<tenant>/command or /api/tenants/stats"));
+                return;
+            }
+            if (!exchange.getRequestMethod().equals("POST")) {
+                sendJson(exchange, 405, Json.object("error", "Use POST"));
+                return;
+            }
+
+            String input = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8).strip();
+            if (backend.checkIsBye(input)) {
+                sendJson(exchange, 400, Json.object("error", "bye is not available over HTTP"));
+                return;
+            }
+            try {
+                sendJson(exchange, 200, Json.object("response", tenants.run(parts[0], input)));
+            } catch (IllegalArgumentException e) {
+                sendJson(exchange, 400, Json.object("error", e.getMessage()));
+            }
+        }
+    }
+
+    private String runOnWriter(String input) throws IOException {
+        try {
+            return writer.submit(() -> {
+                lock.writeLock().lock();
+                try {
+                    return backend.run(input);
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for command", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Command failed", e.getCause());
+        }
+    }
+
+    /**
+     * Picks up changes other programs made to the data file before a read. The reload changes the list,
+     * so it runs on the writer thread like any other change instead of under the read lock.
+     */
+    private String reloadIfChanged() throws IOException {
+        if (!backend.hasExternalChanges()) {
+            return "";
+        }
+
+        try {
+            return writer.submit(() -> {
+                lock.writeLock().lock();
+                try {
+                    return backend.reloadIfChanged();
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for reload", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Reload failed", e.getCause());
+        }
+    }
+
+    private boolean isReadOnly(String input) {
+        try {
+            return backend.getParser().parseInputOperation(input).isReadOnly();
+        } catch (YapchitException e) {
+            // Invalid commands do not change anything; the backend reports the error.
+            return true;
+        }
+    }
+
+    private static void sendJson(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        exchange.getResponseBody().write(body);
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return query;
+        }
+
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = eq == -1 ? pair : pair.substring(0, eq);
+            String value = eq == -1 ? "" : pair.substring(eq + 1);
+            query.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return query;
+    }
+
+    /**
+     * Starts the HTTP server until the process is stopped.
+     *
+     * @param args optional port, data file path and directory of tenants' data files, in that order.
+     * @throws IOException if the server cannot be started.
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        String filePath = args.length > 1 ? args[1] : YapchitBackend.DEFAULT_FILE_PATH;
+        TenantRegistry tenants = args.length > 2
+                ? new TenantRegistry(Path.of(args[2]), MAX_LOADED_TENANTS, TENANT_IDLE_TIME)
+                : null;
+
+        YapchitBackend backend = new YapchitBackend(filePath);
+        backend.getMetrics().register("http");
+        YapchitHttpServer httpServer = new YapchitHttpServer(backend, tenants);
+        InetSocketAddress address = httpServer.start(port);
+        Runtime.getRuntime().addShutdownHook(new Thread(httpServer::stop));
+        Ui.print("\tYapchit HTTP API listening on http://localhost:" + address.getPort() + "/api");
+    }
+}
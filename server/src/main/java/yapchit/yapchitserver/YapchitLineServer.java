@@ -0,0 +1,402 @@
+package yapchit.yapchitserver;
+
+import yapchit.yapchitbackend.TaskEvent;
+import yapchit.yapchitbackend.TaskEventPublisher;
+import yapchit.yapchitbackend.Ui;
+import yapchit.yapchitbackend.WorkerThreads;
+import yapchit.yapchitbackend.YapchitBackend;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serves Yapchit over a plain-text TCP protocol.
+ * Clients send the same commands as typed into the window, one per line, and receive the same responses.
+ * Each response is followed by an empty line. Sending {@code events} turns the connection into a stream of
+ * the changes made to the list, one JSON object per line.
+ *
+ * All connections are handled by a single selector thread, so idle connections cost no thread.
+ * Several commands may be sent without waiting for their responses; they are run in order by a single
+ * backend thread and their responses are sent back in the same order.
+ */
+public class YapchitLineServer implements AutoCloseable {
+
+    /** Port the server listens on when none is given. */
+    public static final int DEFAULT_PORT = 7070;
+    /** Longest command accepted, in bytes. Longer lines close the connection. */
+    public static final int MAX_LINE_LENGTH = 8192;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final byte[] RESPONSE_END = "\n\n".getBytes(StandardCharsets.UTF_8);
+
+    private final YapchitBackend backend;
+    private final ExecutorService worker = WorkerThreads.newSingleThreadExecutor("yapchit-line-worker");
+
+    /** Shared by all connections, as only the selector thread reads and writes sockets. */
+    private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final ByteBuffer writeBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    /** Connections that were given new output by the worker since the selector last looked. */
+    private final Queue<Connection> pendingWrites = new ConcurrentLinkedQueue<>();
+
+    private Selector selector;
+    private ServerSocketChannel serverChannel;
+    private Thread selectorThread;
+    private byte[] intro;
+    private TaskEventPublisher events;
+
+    /**
+     * Creates a server for the given backend. The backend's task list is loaded when the server starts.
+     *
+     * @param backend backend to serve.
+     */
+    public YapchitLineServer(YapchitBackend backend) {
+        this.backend = backend;
+    }
+
+    /**
+     * Loads the task list and starts accepting connections on the loopback interface.
+     *
+     * @param port port to listen on, or 0 to pick a free port.
+     * @return InetSocketAddress the server is listening on.
+     * @throws IOException if the server cannot be started.
+     */
+    public InetSocketAddress start(int port) throws IOException {
+        intro = frame(backend.getIntro());
+        events = backend.getEvents();
+
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 1024);
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+
+        selectorThread = new Thread(this::selectLoop, "yapchit-line-selector");
+        selectorThread.start();
+        return (InetSocketAddress) serverChannel.getLocalAddress();
+    }
+
+    private void selectLoop() {
+        try {
+            while (selector.isOpen()) {
+                selector.select();
+
+                Connection ready;
+                while ((ready = pendingWrites.poll()) != null) {
+                    if (ready.key.isValid()) {
+                        ready.key.interestOps(ready.key.interestOps() | SelectionKey.OP_WRITE);
+                    }
+                }
+
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    handleKey(key);
+                }
+            }
+        } catch (IOException | ClosedSelectorException e) {
+            if (selector.isOpen()) {
+                Ui.print("\tLine server stopped: " + e.getMessage());
+            }
+        }
+    }
+
+    private void handleKey(SelectionKey key) throws IOException {
+        if (!key.isValid()) {
+            return;
+        }
+
+        if (key.isAcceptable()) {
+            accept();
+            return;
+        }
+
+        Connection conn = (Connection) key.attachment();
+        try {
+            if (key.isReadable()) {
+                read(conn);
+            }
+            if (key.isValid() && key.isWritable()) {
+                write(conn);
+            }
+        } catch (IOException e) {
+            conn.close();
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = serverChannel.accept()) != null) {
+            channel.configureBlocking(false);
+            SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+            Connection conn = new Connection(channel, key);
+            key.attach(conn);
+            conn.outbox.add(ByteBuffer.wrap(intro));
+            key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+        }
+    }
+
+    private void read(Connection conn) throws IOException {
+        readBuffer.clear();
+        int n = conn.channel.read(readBuffer);
+        if (n == -1) {
+            // The client sent all its commands; close once every one of them has been answered.
+            conn.stopReading();
+            submitClose(conn, null);
+            return;
+        }
+        readBuffer.flip();
+
+        while (readBuffer.hasRemaining()) {
+            byte b = readBuffer.get();
+            if (b != '\n') {
+                if (conn.appendToLine(b) > MAX_LINE_LENGTH) {
+                    conn.close();
+                    return;
+                }
+                continue;
+            }
+
+            String line = conn.takeLine();
+            if (backend.checkIsBye(line)) {
+                conn.stopReading();
+                submitClose(conn, "\tBye. Hope to see you again soon!");
+                return;
+            }
+            if (line.equalsIgnoreCase("events")) {
+                subscribe(conn);
+                continue;
+            }
+            submit(conn, line);
+        }
+    }
+
+    /**
+     * Runs a command on the worker and queues its response on the connection.
+     */
+    private void submit(Connection conn, String command) {
+        worker.execute(() -> {
+            if (!command.isBlank()) {
+                conn.outbox.add(ByteBuffer.wrap(frame(backend.run(command))));
+            }
+            pendingWrites.add(conn);
+            selector.wakeup();
+        });
+    }
+
+    /**
+     * Closes the connection once the responses to all commands submitted before are sent.
+     * Going through the worker keeps the close behind those commands.
+     *
+     * @param farewell message sent last, or null to send none.
+     */
+    private void submitClose(Connection conn, String farewell) {
+        worker.execute(() -> {
+            if (farewell != null) {
+                conn.outbox.add(ByteBuffer.wrap(frame(farewell)));
+            }
+            conn.isClosing = true;
+            pendingWrites.add(conn);
+            selector.wakeup();
+        });
+    }
+
+    /**
+     * Streams task events to the connection. Events are dropped, oldest first, if the client cannot keep up.
+     * Only one event at a time is taken from the publisher, and the next is requested once it has been
+     * written to the socket, so a slow client leaves its events in the publisher's bounded buffer.
+     */
+    private void subscribe(Connection conn) {
+        if (conn.subscription != null) {
+            return;
+        }
+
+        events.subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                conn.subscription = subscription;
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(TaskEvent item) {
+                ByteBuffer event = ByteBuffer.wrap((Json.event(item) + "\n").getBytes(StandardCharsets.UTF_8));
+                conn.eventInFlight = event;
+                conn.outbox.add(event);
+                pendingWrites.add(conn);
+                selector.wakeup();
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+    }
+
+    private void write(Connection conn) throws IOException {
+        ByteBuffer head;
+        while ((head = conn.outbox.peek()) != null) {
+            writeBuffer.clear();
+            int copied = Math.min(writeBuffer.remaining(), head.remaining());
+            writeBuffer.put(writeBuffer.position(), head, head.position(), copied);
+            writeBuffer.limit(copied);
+
+            int written = conn.channel.write(writeBuffer);
+            head.position(head.position() + written);
+            if (!head.hasRemaining()) {
+                conn.outbox.poll();
+                if (head == conn.eventInFlight) {
+                    conn.eventInFlight = null;
+                    conn.subscription.request(1);
+                }
+            }
+            if (written < copied) {
+                return;
+            }
+        }
+
+        if (conn.isClosing) {
+            conn.close();
+        } else {
+            conn.key.interestOps(conn.getReadOps());
+            // The worker may have queued output after the outbox was found empty.
+            if (!conn.outbox.isEmpty()) {
+                conn.key.interestOps(conn.getReadOps() | SelectionKey.OP_WRITE);
+            }
+        }
+    }
+
+    private static byte[] frame(String response) {
+        byte[] text = response.getBytes(StandardCharsets.UTF_8);
+        byte[] framed = new byte[text.length + RESPONSE_END.length];
+        System.arraycopy(text, 0, framed, 0, text.length);
+        System.arraycopy(RESPONSE_END, 0, framed, text.length, RESPONSE_END.length);
+        return framed;
+    }
+
+    /**
+     * Stops accepting connections, closes all connections and saves the task list.
+     */
+    @Override
+    public void close() throws IOException {
+        selector.close();
+        serverChannel.close();
+        try {
+            selectorThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        events.close();
+        worker.shutdown();
+        try {
+            worker.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        backend.getOutro();
+    }
+
+    /**
+     * State of one client connection.
+     */
+    private class Connection {
+        private final SocketChannel channel;
+        private final SelectionKey key;
+        private final Queue<ByteBuffer> outbox = new ConcurrentLinkedQueue<>();
+        /** Bytes of the line being received, allocated only once a partial line has to be kept. */
+        private ByteArrayOutputStream line;
+        private volatile boolean isClosing;
+        /** Whether the client sent its last command. Only used on the selector thread. */
+        private boolean isInputDone;
+        private volatile Flow.Subscription subscription;
+        /** Event waiting in the outbox; the next one is requested once it is written. */
+        private volatile ByteBuffer eventInFlight;
+
+        private Connection(SocketChannel channel, SelectionKey key) {
+            this.channel = channel;
+            this.key = key;
+        }
+
+        private int appendToLine(byte b) {
+            if (line == null) {
+                line = new ByteArrayOutputStream();
+            }
+            line.write(b);
+            return line.size();
+        }
+
+        private String takeLine() {
+            if (line == null) {
+                return "";
+            }
+            String s = line.toString(StandardCharsets.UTF_8).strip();
+            line = null;
+            return s;
+        }
+
+        private void stopReading() {
+            isInputDone = true;
+            key.interestOps(key.interestOps() & ~SelectionKey.OP_READ);
+        }
+
+        private int getReadOps() {
+            return isInputDone ? 0 : SelectionKey.OP_READ;
+        }
+
+        private void close() {
+            if (subscription != null) {
+                subscription.cancel();
+            }
+            key.cancel();
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // Already closed by the client.
+            }
+        }
+    }
+
+    /**
+     * Starts the line server until the process is stopped.
+     *
+     * @param args optional port followed by optional data file path.
+     * @throws IOException if the server cannot be started.
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        String filePath = args.length > 1 ? args[1] : YapchitBackend.DEFAULT_FILE_PATH;
+
+        YapchitBackend backend = new YapchitBackend(filePath);
+        backend.getMetrics().register("line");
+        YapchitLineServer lineServer = new YapchitLineServer(backend);
+        InetSocketAddress address = lineServer.start(port);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                lineServer.close();
+            } catch (IOException e) {
+                Ui.print(e.getMessage());
+            }
+        }));
+        Ui.print("\tYapchit line server listening on localhost:" + address.getPort());
+    }
+}
@@ -0,0 +1,208 @@
+package yapchit;
+
+import org.junit.jupiter.api.Test;
+import yapchit.yapchitbackend.ColdStore;
+import yapchit.yapchitbackend.YapchitBackend;
+import yapchit.yapchitreplication.AckTracker;
+import yapchit.yapchitreplication.DirectoryFollower;
+import yapchit.yapchitreplication.Durability;
+import yapchit.yapchitreplication.Journal;
+import yapchit.yapchitreplication.JournalRecord;
+import yapchit.yapchitreplication.ReplicatedBackend;
+import yapchit.yapchitreplication.ReplicationServer;
+import yapchit.yapchitreplication.SocketFollower;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Class to test journal shipping between a primary and a standby.
+ */
+public class ReplicationTest {
+
+    /**
+     * Tests that records with line breaks, tabs and backslashes survive encoding.
+     */
+    @Test
+    public void testRecordRoundTrip() {
+        JournalRecord r = new JournalRecord(42, JournalRecord.SNAPSHOT, "todo a\\b0\nevent x\t1\r\n");
+        JournalRecord decoded = JournalRecord.decode(r.encode());
+        assertEquals(42, decoded.getSequence());
+        assertEquals(JournalRecord.SNAPSHOT, decoded.getType());
+        assertEquals(r.getPayload(), decoded.getPayload());
+        assertFalse(r.encode().contains("\n"));
+    }
+
+    /**
+     * Tests that a socket follower applies the primary's changes before they are answered, rejects
+     * changes of its own, and accepts them once promoted.
+     *
+     * @throws IOException if the temporary files cannot be created.
+     */
+    @Test
+    public void testSocketFollowerReplicatesAndPromotes() throws IOException {
+        Path dir = Files.createTempDirectory("yapchit-replication");
+        Files.writeString(dir.resolve("primary.txt"), "todo existing task0\n");
+        Journal journal = new Journal(dir.resolve("primary.txt.journal"));
+        AckTracker acks = new AckTracker();
+        ReplicatedBackend primary = new ReplicatedBackend(dir.resolve("primary.txt").toString(), journal, acks,
+                Durability.ONE);
+        primary.getIntro();
+
+        ReplicatedBackend standby = new ReplicatedBackend(dir.resolve("standby.txt").toString());
+        standby.getIntro();
+
+        try (ReplicationServer server = new ReplicationServer(journal, acks)) {
+            int port = server.start(0).getPort();
+            SocketFollower follower = new SocketFollower(standby, "standby", port);
+            follower.start();
+
+            String response = primary.run("todo read book");
+            assertFalse(response.contains("Not yet confirmed"));
+            assertTrue(standby.run("list").contains("read book"));
+            assertTrue(standby.run("find existing").contains("existing task"));
+            assertTrue(standby.run("todo write essay").contains("read-only"));
+
+            follower.close();
+        }
+
+        standby.promote();
+        assertTrue(standby.run("todo write essay").contains("write essay"));
+        assertEquals(primary.getLastSequence() + 1, standby.getLastSequence());
+    }
+
+    /**
+     * Tests that a follower tailing a shared directory catches up with a restarted primary and reports
+     * its progress in its ack file.
+     *
+     * @throws IOException if the temporary files cannot be created.
+     */
+    @Test
+    public void testDirectoryFollowerCatchesUp() throws IOException {
+        Path shared = Files.createTempDirectory("yapchit-shared");
+        Path local = Files.createTempDirectory("yapchit-standby");
+        String primaryFile = local.resolve("primary.txt").toString();
+        try (Journal journal = new Journal(shared.resolve(DirectoryFollower.JOURNAL_FILE))) {
+            ReplicatedBackend before = new ReplicatedBackend(primaryFile, journal, new AckTracker(), Durability.ASYNC);
+            before.getIntro();
+            before.run("todo read book");
+            before.run("mark 1");
+        }
+
+        Journal journal = new Journal(shared.resolve(DirectoryFollower.JOURNAL_FILE));
+        AckTracker acks = new AckTracker(shared.resolve(DirectoryFollower.ACK_DIRECTORY));
+        ReplicatedBackend primary = new ReplicatedBackend(primaryFile, journal, acks, Durability.ONE);
+        primary.getIntro();
+        assertEquals(3, primary.getLastSequence());
+
+        ReplicatedBackend standby = new ReplicatedBackend(local.resolve("standby.txt").toString());
+        standby.getIntro();
+        DirectoryFollower follower = new DirectoryFollower(standby, "standby", shared);
+        follower.start();
+
+        String response = primary.run("todo write essay");
+        follower.close();
+
+        assertFalse(response.contains("Not yet confirmed"));
+        assertEquals(primary.run("list"), standby.run("list"));
+        assertEquals("4", Files.readString(shared.resolve("acks").resolve("standby.ack")));
+    }
+
+    /**
+     * Tests that durability ALL is not reached without followers, and waits for a follower that went away.
+     *
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    @Test
+    public void testAllWaitsForExpectedFollowers() throws InterruptedException {
+        AckTracker acks = new AckTracker();
+        assertFalse(acks.await(1, Durability.ALL, 20));
+
+        acks.ack("standby", 1);
+        assertTrue(acks.await(1, Durability.ALL, 20));
+        assertFalse(acks.await(2, Durability.ALL, 20));
+
+        AckTracker configured = new AckTracker(null, List.of("standby", "backup"));
+        configured.ack("standby", 1);
+        assertTrue(configured.await(1, Durability.ONE, 20));
+        assertFalse(configured.await(1, Durability.ALL, 20));
+    }
+
+    /**
+     * Tests that a follower replaying the journal later ends up with the same tasks and done dates, and
+     * archives tasks only when the primary's archive command reaches it.
+     *
+     * @throws IOException if the temporary files cannot be created.
+     */
+    @Test
+    public void testReplayDoesNotDependOnDate() throws IOException {
+        Path dir = Files.createTempDirectory("yapchit-replication");
+        Path primaryFile = dir.resolve("primary.txt");
+        Path standbyFile = dir.resolve("standby.txt");
+        Files.writeString(primaryFile, "todo old1@2020-01-01\ntodo open0\n");
+        Files.writeString(standbyFile, "todo stale1@2020-01-01\n");
+        System.setProperty(YapchitBackend.ARCHIVE_AFTER_PROPERTY, "30");
+        try {
+            Journal journal = new Journal(dir.resolve("primary.txt.journal"));
+            ReplicatedBackend primary = new ReplicatedBackend(primaryFile.toString(), journal, new AckTracker(),
+                    Durability.ASYNC);
+            primary.getIntro();
+            primary.run("mark 1");
+
+            List<JournalRecord> records = new ArrayList<>();
+            for (String line : Files.readAllLines(journal.getPath())) {
+                records.add(JournalRecord.decode(line));
+            }
+            assertEquals(3, records.size());
+            assertEquals("archive 1", records.get(1).getPayload());
+            assertEquals("mark 1 /at " + LocalDate.now(), records.get(2).getPayload());
+
+            ReplicatedBackend standby = new ReplicatedBackend(standbyFile.toString());
+            standby.getIntro();
+            assertEquals(1, standby.getTasks().getListSize());
+            for (JournalRecord r : records) {
+                standby.apply(r);
+            }
+
+            assertEquals(Files.readString(primaryFile), Files.readString(standbyFile));
+            assertEquals("todo old1@2020-01-01\n", Files.readString(Path.of(standbyFile + ColdStore.ARCHIVE_SUFFIX)));
+        } finally {
+            System.clearProperty(YapchitBackend.ARCHIVE_AFTER_PROPERTY);
+        }
+    }
+
+    /**
+     * Tests that a change waiting for a follower does not hold up other commands.
+     *
+     * @throws Exception if the temporary files cannot be created or the waiting command fails.
+     */
+    @Test
+    public void testWaitForFollowerDoesNotBlockReads() throws Exception {
+        Path dir = Files.createTempDirectory("yapchit-replication");
+        Journal journal = new Journal(dir.resolve("primary.txt.journal"));
+        AckTracker acks = new AckTracker(null, List.of("standby"));
+        ReplicatedBackend primary = new ReplicatedBackend(dir.resolve("primary.txt").toString(), journal, acks,
+                Durability.ALL);
+        primary.getIntro();
+
+        CompletableFuture<String> change = CompletableFuture.supplyAsync(() -> primary.run("todo read book"));
+        while (journal.getLastSequence() < 2) {
+            Thread.sleep(10);
+        }
+
+        long start = System.nanoTime();
+        assertTrue(primary.run("list").contains("read book"));
+        assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(ReplicatedBackend.ACK_TIMEOUT_MILLIS / 2));
+        assertTrue(change.get().contains("Not yet confirmed"));
+    }
+}
@@ -0,0 +1,112 @@
+package yapchit;
+
+import org.junit.jupiter.api.Test;
+import yapchit.yapchitbackend.YapchitBackend;
+import yapchit.yapchitserver.TenantRegistry;
+import yapchit.yapchitserver.YapchitHttpServer;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Class to test TenantRegistry class.
+ */
+public class TenantRegistryTest {
+
+    /**
+     * Tests that the least recently used tenant is saved and unloaded, and reloaded from file on next use.
+     *
+     * @throws IOException if the temporary directory cannot be created.
+     */
+    @Test
+    public void testLeastRecentlyUsedTenantEvicted() throws IOException {
+        Path dir = Files.createTempDirectory("yapchit-tenants");
+        try (TenantRegistry registry = new TenantRegistry(dir, 2, Duration.ofHours(1))) {
+            registry.run("alice", "todo read book");
+            registry.run("bob", "todo write essay");
+            registry.run("alice", "list");
+            registry.run("carol", "todo call mum");
+
+            assertEquals(2, registry.getLoadedCount());
+            assertEquals(1, registry.getEvictions());
+            assertEquals(1, registry.getHits());
+
+            String bobList = registry.run("bob", "list");
+            assertTrue(bobList.contains("write essay"));
+            assertEquals(4, registry.getMisses());
+        }
+
+        assertTrue(Files.readString(dir.resolve("carol.txt")).contains("call mum"));
+    }
+
+    /**
+     * Tests that tenants unused for longer than the idle time are unloaded.
+     *
+     * @throws IOException if the temporary directory cannot be created.
+     * @throws InterruptedException if interrupted while waiting for the tenant to become idle.
+     */
+    @Test
+    public void testIdleTenantEvicted() throws IOException, InterruptedException {
+        Path dir = Files.createTempDirectory("yapchit-tenants");
+        try (TenantRegistry registry = new TenantRegistry(dir, 10, Duration.ofMillis(1))) {
+            registry.run("alice", "todo read book");
+            Thread.sleep(20);
+            registry.evictIdle();
+            assertEquals(0, registry.getLoadedCount());
+        }
+    }
+
+    /**
+     * Tests that tenant ids which could escape the data directory are rejected.
+     *
+     * @throws IOException if the temporary directory cannot be created.
+     */
+    @Test
+    public void testInvalidTenantIdRejected() throws IOException {
+        Path dir = Files.createTempDirectory("yapchit-tenants");
+        try (TenantRegistry registry = new TenantRegistry(dir, 10, Duration.ofHours(1))) {
+            assertThrows(IllegalArgumentException.class, () -> registry.run("../etc", "list"));
+        }
+    }
+
+    /**
+     * Tests that the HTTP server runs tenants' commands on their own lists and reports the registry's stats.
+     *
+     * @throws IOException if the temporary directory cannot be created or a request fails.
+     * @throws InterruptedException if interrupted while waiting for a response.
+     */
+    @Test
+    public void testTenantsServedOverHttp() throws IOException, InterruptedException {
+        Path dir = Files.createTempDirectory("yapchit-tenants");
+        TenantRegistry registry = new TenantRegistry(dir.resolve("tenants"), 10, Duration.ofHours(1));
+        YapchitHttpServer server = new YapchitHttpServer(new YapchitBackend(dir.resolve("main.txt").toString()),
+                registry);
+        String base = "http://localhost:" + server.start(0).getPort() + "/api/tenants/";
+        HttpClient client = HttpClient.newHttpClient();
+        try {
+            HttpResponse<String> added = client.send(HttpRequest.newBuilder(URI.create(base + "alice/command"))
+                    .POST(HttpRequest.BodyPublishers.ofString("todo read book")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertTrue(added.body().contains("read book"));
+            assertFalse(registry.run("bob", "list").contains("read book"));
+
+            HttpResponse<String> stats = client.send(HttpRequest.newBuilder(URI.create(base + "stats")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals("{\"loaded\":2,\"hits\":0,\"misses\":2,\"evictions\":0}", stats.body());
+        } finally {
+            server.stop();
+        }
+        assertTrue(Files.readString(dir.resolve("tenants").resolve("alice.txt")).contains("read book"));
+    }
+}